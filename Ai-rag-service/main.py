@@ -1,9 +1,11 @@
 from fastapi import FastAPI, HTTPException
 from fastapi.middleware.cors import CORSMiddleware
+from fastapi.responses import StreamingResponse
 from pydantic import BaseModel
 from typing import Optional
+import json
 
-from rag_pipeline import query, index_files, delete_documents
+from rag_pipeline import query, query_stream, index_files, index_inline_documents, delete_documents
 from llm_service import check_ollama_health, list_available_models
 
 
@@ -44,9 +46,19 @@ class ChatResponse(BaseModel):
     error_message: Optional[str] = None
 
 
+class InlineDocument(BaseModel):
+    id: str
+    content: str
+    metadata: Optional[dict] = None
+
+
 class IndexRequest(BaseModel):
-    file_paths: list[str]
+    file_paths: list[str] = []
     collection_name: Optional[str] = "documents"
+    # Documents sent inline (e.g. job postings); re-indexing an id replaces its chunks
+    documents: list[InlineDocument] = []
+    # Ids of inline documents to remove
+    delete_ids: list[str] = []
     chunk_size: Optional[int] = 1000
     chunk_overlap: Optional[int] = 200
 
@@ -118,14 +130,54 @@ async def chat(request: ChatRequest):
 
 
 
+@app.post("/chat/stream")
+def chat_stream(request: ChatRequest):
+    """
+    Ask a question and stream the answer as newline-delimited JSON.
+    
+    Emits one {"type": "token"} line per generated chunk, then a final
+    {"type": "done"} line with the sources (or {"type": "error"}).
+    """
+    events = query_stream(
+        question=request.question,
+        collection_name=request.collection_name,
+        k=request.k,
+        threshold=request.threshold,
+        model=request.model,
+        dynamic_context=request.context
+    )
+    
+    return StreamingResponse(
+        (json.dumps(event) + "\n" for event in events),
+        media_type="application/x-ndjson"
+    )
+
+
 @app.post("/index", response_model=IndexResponse)
 async def index_documents(request: IndexRequest):
     """
     Index documents into the vector store.
     
-    Accepts file paths that exist on the local filesystem.
+    Accepts file paths that exist on the local filesystem, and/or inline
+    documents with ids (upserted) and ids to delete.
     Documents are chunked and embedded for semantic search.
     """
+    if request.documents or request.delete_ids:
+        result = index_inline_documents(
+            documents=[doc.model_dump() for doc in request.documents],
+            delete_ids=request.delete_ids,
+            collection_name=request.collection_name,
+            chunk_size=request.chunk_size,
+            chunk_overlap=request.chunk_overlap
+        )
+        if not request.file_paths or not result["success"]:
+            return IndexResponse(
+                success=result["success"],
+                message=result["message"],
+                indexed_count=result["indexed_count"],
+                files_processed=0
+            )
+    
     result = index_files(
         file_paths=request.file_paths,
         collection_name=request.collection_name,
@@ -2,7 +2,7 @@
 RAG Pipeline - Combines retrieval and LLM generation with strict grounding.
 """
 
-from typing import Optional
+from typing import Generator, Optional
 from langchain_core.documents import Document
 
 from vector_store import (
@@ -173,14 +173,7 @@ def query(
         }
     
     # Extract sources
-    sources = [
-        {
-            "source": doc.metadata.get("source", "Unknown"),
-            "content_preview": doc.page_content[:200] + "..." if len(doc.page_content) > 200 else doc.page_content,
-            "relevance_score": round(1 - (score / 2), 2)  # Convert distance to similarity (0-1)
-        }
-        for doc, score in relevant_docs
-    ]
+    sources = extract_sources(relevant_docs)
     
     return {
         "answer": answer,
@@ -191,6 +184,83 @@ def query(
     }
 
 
+def query_stream(
+    question: str,
+    persist_directory: str = "./chroma_db",
+    collection_name: str = "documents",
+    k: int = 4,
+    threshold: float = SIMILARITY_THRESHOLD,
+    model: str = "mistral",
+    dynamic_context: Optional[str] = None
+) -> Generator[dict, None, None]:
+    """
+    Streaming variant of query().
+    
+    Yields {"type": "token", "content": ...} events as the LLM generates, then a
+    single {"type": "done", ...} event carrying the sources, or {"type": "error", ...}.
+    """
+    if not check_ollama_health():
+        yield {
+            "type": "error",
+            "error_message": "Error: LLM service is not available. Please ensure Ollama is running."
+        }
+        return
+    
+    try:
+        vector_store = load_vector_store(
+            persist_directory=persist_directory,
+            collection_name=collection_name
+        )
+    except Exception as e:
+        yield {
+            "type": "error",
+            "error_message": f"Error: Could not load the knowledge base. {str(e)}"
+        }
+        return
+    
+    docs_with_scores = similarity_search_with_score(
+        query=question,
+        vector_store=vector_store,
+        k=k
+    )
+    relevant_docs = filter_by_relevance(docs_with_scores, threshold)
+    prompt = build_prompt(question, relevant_docs, dynamic_context)
+    
+    try:
+        for chunk in generate_response_stream(
+            prompt=prompt,
+            model=model,
+            system_prompt=SYSTEM_PROMPT,
+            temperature=0.1
+        ):
+            yield {"type": "token", "content": chunk}
+    except Exception as e:
+        yield {
+            "type": "error",
+            "error_message": f"Error: Failed to generate response from LLM. {str(e)}"
+        }
+        return
+    
+    yield {
+        "type": "done",
+        "sources": extract_sources(relevant_docs),
+        "documents_retrieved": len(docs_with_scores),
+        "documents_used": len(relevant_docs)
+    }
+
+
+def extract_sources(relevant_docs: list[tuple[Document, float]]) -> list[dict]:
+    """Summarize the retrieved documents returned alongside an answer."""
+    return [
+        {
+            "source": doc.metadata.get("source", "Unknown"),
+            "content_preview": doc.page_content[:200] + "..." if len(doc.page_content) > 200 else doc.page_content,
+            "relevance_score": round(1 - (score / 2), 2)  # Convert distance to similarity (0-1)
+        }
+        for doc, score in relevant_docs
+    ]
+
+
 def index_files(
     file_paths: list[str],
     persist_directory: str = "./chroma_db",
@@ -263,6 +333,102 @@ def index_files(
         }
 
 
+def _is_missing_collection(error: Exception) -> bool:
+    """Whether get_collection failed because the collection does not exist."""
+    # ValueError before chromadb 0.6, NotFoundError / InvalidCollectionException since
+    return isinstance(error, ValueError) or type(error).__name__ in (
+        "NotFoundError", "InvalidCollectionException"
+    )
+
+
+def index_inline_documents(
+    documents: list[dict],
+    delete_ids: list[str],
+    persist_directory: str = "./chroma_db",
+    collection_name: str = "documents",
+    chunk_size: int = 1000,
+    chunk_overlap: int = 200
+) -> dict:
+    """
+    Upsert documents sent inline and remove deleted ones.
+    
+    Chunks are tagged with a "doc_id" metadata field; re-indexing an id first
+    removes its previous chunks, so repeated updates do not accumulate.
+    
+    Args:
+        documents: List of {"id", "content", "metadata"} dicts
+        delete_ids: Ids of documents to remove
+        persist_directory: ChromaDB persist directory
+        collection_name: Collection name in ChromaDB
+        chunk_size: Size of text chunks
+        chunk_overlap: Overlap between chunks
+        
+    Returns:
+        Dictionary with indexing results
+    """
+    try:
+        import chromadb
+        
+        stale_ids = list(delete_ids) + [doc["id"] for doc in documents]
+        if stale_ids:
+            client = chromadb.PersistentClient(path=persist_directory)
+            try:
+                collection = client.get_collection(collection_name)
+            except Exception as e:
+                if not _is_missing_collection(e):
+                    raise
+                collection = None  # Collection does not exist yet; nothing to remove
+            if collection is not None:
+                # A failed delete fails the request, so the caller retries instead of
+                # leaving stale or duplicate chunks behind
+                collection.delete(where={"doc_id": {"$in": stale_ids}})
+        
+        if not documents:
+            return {
+                "success": True,
+                "message": f"Removed {len(delete_ids)} document(s).",
+                "indexed_count": 0
+            }
+        
+        chunks = chunk_documents(
+            [
+                Document(
+                    page_content=doc["content"],
+                    metadata={**(doc.get("metadata") or {}), "doc_id": doc["id"]}
+                )
+                for doc in documents
+            ],
+            chunk_size=chunk_size,
+            chunk_overlap=chunk_overlap
+        )
+        
+        try:
+            vector_store = load_vector_store(
+                persist_directory=persist_directory,
+                collection_name=collection_name
+            )
+            add_documents(chunks, vector_store)
+        except Exception:
+            create_vector_store(
+                documents=chunks,
+                persist_directory=persist_directory,
+                collection_name=collection_name
+            )
+        
+        return {
+            "success": True,
+            "message": f"Indexed {len(documents)} document(s) into {len(chunks)} chunks, removed {len(delete_ids)}.",
+            "indexed_count": len(chunks)
+        }
+        
+    except Exception as e:
+        return {
+            "success": False,
+            "message": f"Error during indexing: {str(e)}",
+            "indexed_count": 0
+        }
+
+
 def delete_documents(
     file_paths: list[str],
     persist_directory: str = "./chroma_db",
@@ -1,9 +1,15 @@
 package com.jobportal.config;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class RagClientConfig {
@@ -11,10 +17,51 @@ public class RagClientConfig {
     @Value("${rag.service.url:http://localhost:8000}")
     private String ragServiceUrl;
 
+    @Value("${rag.service.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    // Default wait for the RAG service to respond; endpoints override it (rag.chat/index/health.timeout-ms)
+    @Value("${rag.service.response-timeout-ms:120000}")
+    private long responseTimeoutMs;
+
+    // Sized above rag.limiter.max-concurrent so indexing and health probes never starve chat calls
+    @Value("${rag.pool.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${rag.pool.max-pending:100}")
+    private int maxPending;
+
+    @Value("${rag.pool.pending-acquire-timeout-ms:5000}")
+    private long pendingAcquireTimeoutMs;
+
+    // Below uvicorn's 5s keep-alive, so a pooled connection is never reused after the server closed it
+    @Value("${rag.pool.max-idle-time-ms:4000}")
+    private long maxIdleTimeMs;
+
+    @Value("${rag.pool.max-life-time-ms:300000}")
+    private long maxLifeTimeMs;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider ragConnectionProvider() {
+        return ConnectionProvider.builder("rag-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPending)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
+    }
+
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(ConnectionProvider ragConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(ragConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
         return WebClient.builder()
                 .baseUrl(ragServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
 }
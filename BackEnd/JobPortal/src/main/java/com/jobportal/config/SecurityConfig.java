@@ -2,6 +2,7 @@ package com.jobportal.config;
 
 import com.jobportal.security.JwtAuthenticationEntryPoint;
 import com.jobportal.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -42,6 +43,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        // Async dispatches of already-authorized streams (SSE) carry no JWT
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/jobs").permitAll()
@@ -50,8 +53,9 @@ public class SecurityConfig {
                         // Swagger/OpenAPI (if added later)
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
 
-                        // Health check
-                        .requestMatchers("/actuator/**").permitAll()
+                        // Health check is public; metrics and any other actuator endpoint are admin-only
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
 
                         // Static resources (uploads) and file API
                         .requestMatchers("/uploads/**").permitAll()
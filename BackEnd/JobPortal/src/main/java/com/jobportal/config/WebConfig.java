@@ -1,20 +1,34 @@
 package com.jobportal.config;
 
+import com.jobportal.service.BlobStore;
+import com.jobportal.service.FileStorageService;
+import com.jobportal.service.FileStorageService.StoredFile;
+import com.jobportal.service.FileSystemBlobStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.io.IOException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Duration;
 
+@Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
-    @Value("${file.upload-dir}")
-    private String uploadDir;
+    private final FileStorageService fileStorageService;
+    private final BlobStore blobStore;
+
+    @Value("${file.cache-max-age-seconds:31536000}")
+    private long cacheMaxAgeSeconds;
 
     @Bean
     public ObjectMapper objectMapper() {
@@ -26,10 +40,30 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        Path uploadPath = Paths.get(uploadDir);
-        String uploadAbsolutePath = uploadPath.toFile().getAbsolutePath();
+        // Uploads in an object store are served by UploadRedirectController instead
+        if (!(blobStore instanceof FileSystemBlobStore localStore)) {
+            return;
+        }
+        Path uploadRoot = localStore.root();
 
+        // Same caching as /api/files: uploads are never modified, so they can be cached for good
         registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:" + uploadAbsolutePath + "/");
+                .addResourceLocations("file:" + uploadRoot + "/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofSeconds(cacheMaxAgeSeconds))
+                        .cachePrivate()
+                        .immutable())
+                .setEtagGenerator(resource -> etag(uploadRoot, resource));
+    }
+
+    private String etag(Path uploadRoot, Resource resource) {
+        try {
+            Path relativePath = uploadRoot.relativize(resource.getFile().toPath().toAbsolutePath().normalize());
+            return fileStorageService.findFile("/uploads/" + relativePath)
+                    .map(StoredFile::etag)
+                    .orElse(null);
+        } catch (IOException e) {
+            log.debug("No ETag for {}: {}", resource, e.getMessage());
+            return null;
+        }
     }
 }
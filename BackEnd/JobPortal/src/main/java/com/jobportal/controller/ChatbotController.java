@@ -2,20 +2,26 @@ package com.jobportal.controller;
 
 import com.jobportal.dto.chatbot.ChatRequest;
 import com.jobportal.dto.chatbot.ChatResponse;
-import com.jobportal.entity.User;
-import com.jobportal.repository.UserRepository;
+import com.jobportal.dto.chatbot.ChatStreamEvent;
+import com.jobportal.exception.ServiceUnavailableException;
+import com.jobportal.exception.TooManyRequestsException;
+import com.jobportal.security.UserPrincipal;
 import com.jobportal.service.ChatContextService;
 import com.jobportal.service.RagClientService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/chatbot")
@@ -24,60 +30,126 @@ public class ChatbotController {
 
     private static final Logger log = LoggerFactory.getLogger(ChatbotController.class);
     private static final int MAX_QUESTION_LENGTH = 2000;
+    private static final String BUSY_RETRY_AFTER_SECONDS = "5";
 
     private final RagClientService ragClientService;
     private final ChatContextService chatContextService;
-    private final UserRepository userRepository;
 
     public ChatbotController(
             RagClientService ragClientService,
-            ChatContextService chatContextService,
-            UserRepository userRepository) {
+            ChatContextService chatContextService) {
         this.ragClientService = ragClientService;
         this.chatContextService = chatContextService;
-        this.userRepository = userRepository;
     }
 
     @PostMapping("/ask")
-    public ResponseEntity<ChatResponse> ask(@RequestBody ChatRequest request) {
+    public Mono<ResponseEntity<ChatResponse>> ask(@RequestBody ChatRequest request) {
 
+        ChatResponse invalid = validate(request);
+        if (invalid != null) {
+            return Mono.just(ResponseEntity.badRequest().body(invalid));
+        }
+
+        injectUserContext(request);
+
+        // The servlet thread is released while the RAG service generates the answer
+        return ragClientService.chat(request)
+                .map(response -> response.isError()
+                        // Return appropriate HTTP status based on response
+                        ? ResponseEntity.internalServerError().body(response)
+                        : ResponseEntity.ok(response))
+                .onErrorResume(TooManyRequestsException.class, e -> Mono.just(
+                        ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                                .header(HttpHeaders.RETRY_AFTER, BUSY_RETRY_AFTER_SECONDS)
+                                .body(new ChatResponse("Error: " + e.getMessage(),
+                                        List.of(), 0, 0, true, "Too many requests"))))
+                .onErrorResume(ServiceUnavailableException.class, e -> Mono.just(
+                        ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                                .body(new ChatResponse("Error: " + e.getMessage(),
+                                        List.of(), 0, 0, true, "Service unavailable"))));
+    }
+
+    /**
+     * Stream the answer as server-sent events: "token" events as the model generates,
+     * then a "done" event with the sources, or an "error" event. A question the RAG service
+     * cannot take now (limiter saturated, circuit open) gets 429 / 503 with Retry-After and no body.
+     */
+    @PostMapping(value = "/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<ChatStreamEvent>>> askStream(@RequestBody ChatRequest request) {
+
+        ChatResponse invalid = validate(request);
+        if (invalid != null) {
+            return ResponseEntity.badRequest().body(Flux.just(toServerSentEvent(
+                    ChatStreamEvent.error(invalid.getAnswer()))));
+        }
+
+        injectUserContext(request);
+
+        // Rejections by the limiter or the circuit breaker fail the stream before its first event;
+        // nothing has been written yet, so they are answered with a status by the handlers below
+        Flux<ServerSentEvent<ChatStreamEvent>> events = ragClientService.chatStream(request)
+                .map(this::toServerSentEvent);
+
+        return ResponseEntity.ok(events);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Void> busy(TooManyRequestsException e) {
+        log.warn("Chat stream rejected: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, BUSY_RETRY_AFTER_SECONDS)
+                .build();
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Void> unavailable(ServiceUnavailableException e) {
+        log.warn("Chat stream rejected: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .build();
+    }
+
+    private ServerSentEvent<ChatStreamEvent> toServerSentEvent(ChatStreamEvent event) {
+        return ServerSentEvent.builder(event)
+                .event(event.getType())
+                .build();
+    }
+
+    /**
+     * Returns the error response for an invalid question, or null when it is acceptable.
+     */
+    private ChatResponse validate(ChatRequest request) {
         if (request == null || request.getQuestion() == null || request.getQuestion().isBlank()) {
-            return ResponseEntity.badRequest().body(
-                    new ChatResponse("Error: Question cannot be empty.", List.of(), 0, 0, true, "Invalid input"));
+            return new ChatResponse("Error: Question cannot be empty.", List.of(), 0, 0, true, "Invalid input");
         }
 
         if (request.getQuestion().length() > MAX_QUESTION_LENGTH) {
-            return ResponseEntity.badRequest().body(
-                    new ChatResponse(
-                            "Error: Question is too long. Maximum " + MAX_QUESTION_LENGTH + " characters allowed.",
-                            List.of(), 0, 0, true, "Question too long"));
+            return new ChatResponse(
+                    "Error: Question is too long. Maximum " + MAX_QUESTION_LENGTH + " characters allowed.",
+                    List.of(), 0, 0, true, "Question too long");
         }
 
+        return null;
+    }
+
+    private void injectUserContext(ChatRequest request) {
         log.info("Received chat question: {}",
                 request.getQuestion().substring(0, Math.min(100, request.getQuestion().length())));
 
         // Inject dynamic context based on authenticated user
-        String context = buildUserContext();
+        String context = buildUserContext(request.getQuestion());
         if (context != null && !context.isEmpty()) {
             request.setContext(context);
             log.debug("Injected user context ({} characters)", context.length());
         }
-
-        ChatResponse response = ragClientService.chat(request);
-
-        // Return appropriate HTTP status based on response
-        if (response.isError()) {
-            return ResponseEntity.internalServerError().body(response);
-        }
-
-        return ResponseEntity.ok(response);
     }
 
     /**
-     * Build context based on the authenticated user's role.
+     * Build context based on the authenticated user's role and the question.
      * Returns empty string if user is not authenticated.
      */
-    private String buildUserContext() {
+    private String buildUserContext(String question) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             if (authentication == null || !authentication.isAuthenticated()) {
@@ -91,14 +163,13 @@ public class ChatbotController {
                 return "";
             }
 
-            Optional<User> userOpt = userRepository.findByEmail(email);
-            if (userOpt.isEmpty()) {
-                log.warn("Could not find user by email: {}", email);
+            // The principal already carries the user's ID and role; no need to reload the user
+            if (!(authentication.getPrincipal() instanceof UserPrincipal user)) {
+                log.warn("Unexpected principal type for user: {}", email);
                 return "";
             }
 
-            User user = userOpt.get();
-            String context = chatContextService.buildContextForUser(user.getId(), user.getRole());
+            String context = chatContextService.buildContextForUser(user.getId(), user.getRole(), question);
             log.info("Built context for user {} (role: {})", email, user.getRole());
             return context;
 
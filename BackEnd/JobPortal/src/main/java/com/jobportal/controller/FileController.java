@@ -1,99 +1,205 @@
 package com.jobportal.controller;
 
-import lombok.RequiredArgsConstructor;
+import com.jobportal.exception.ResourceNotFoundException;
+import com.jobportal.service.FileStorageService;
+import com.jobportal.service.FileStorageService.StoredFile;
+import com.jobportal.service.ThumbnailService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.net.MalformedURLException;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 
+/**
+ * Serves uploaded files (CVs, avatars) and avatar thumbnails.
+ *
+ * Stored files are never modified: uploads are named after the SHA-256 of their content (one blob
+ * shared by every profile and application with the same bytes) and thumbnails after the original's
+ * hash and size, so a name always means the same bytes. Responses carry a content-hash ETag and a
+ * long-lived immutable Cache-Control, and repeat downloads are answered with 304. Single byte ranges are answered with 206 (PDF viewers fetch pages this way).
+ * File bodies never pass through the heap: Tomcat's sendfile is used when available, otherwise
+ * FileChannel.transferTo into the response. When uploads are kept in an object store, the client
+ * is redirected to a pre-signed URL instead and downloads the bytes from the store.
+ */
 @Slf4j
 @RestController
 @RequestMapping("/api/files")
-@RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class FileController {
 
-    @Value("${file.upload-dir}")
-    private String uploadDir;
+    // Tomcat sendfile request attributes (see org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // Smaller files are cheaper to write directly (same threshold as Tomcat's DefaultServlet)
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private final FileStorageService fileStorageService;
+    private final ThumbnailService thumbnailService;
+    private final CacheControl cacheControl;
+
+    public FileController(
+            FileStorageService fileStorageService,
+            ThumbnailService thumbnailService,
+            @Value("${file.cache-max-age-seconds:31536000}") long cacheMaxAgeSeconds) {
+        this.fileStorageService = fileStorageService;
+        this.thumbnailService = thumbnailService;
+        // Private: CVs are personal and must not be kept by shared caches
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(cacheMaxAgeSeconds))
+                .cachePrivate()
+                .immutable();
+    }
 
     /**
      * Download a file by its path
      * Example: /api/files/download?path=/uploads/cvs/user-id/file.pdf
      */
     @GetMapping("/download")
-    public ResponseEntity<Resource> downloadFile(@RequestParam String path) {
+    public void downloadFile(@RequestParam String path, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         log.info("File download request for path: {}", path);
-        try {
-            // Security check: ensure path starts with /uploads/
-            if (!path.startsWith("/uploads/")) {
-                log.warn("Invalid path - doesn't start with /uploads/: {}", path);
-                return ResponseEntity.badRequest().build();
-            }
-
-            // Remove /uploads/ prefix to get relative path
-            String relativePath = path.substring("/uploads/".length());
-            Path filePath = Paths.get(uploadDir).resolve(relativePath).normalize();
-
-            // Security check: ensure the resolved path is within upload directory
-            if (!filePath.startsWith(Paths.get(uploadDir).normalize())) {
-                return ResponseEntity.badRequest().build();
-            }
+        serve(findFile(path), cacheControl, request, response);
+    }
 
-            Resource resource = new UrlResource(filePath.toUri());
+    /**
+     * View a file in browser (for PDFs, images). With {@code size} (48, 128 or 256), an image
+     * thumbnail; the original is served, without long-lived caching, until the thumbnail is ready.
+     */
+    @GetMapping("/view")
+    public void viewFile(@RequestParam String path, @RequestParam(required = false) Integer size,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (size == null) {
+            downloadFile(path, request, response); // Same as download but with inline disposition
+            return;
+        }
+        StoredFile original = findFile(path);
+        Optional<StoredFile> thumbnail = thumbnailService.findThumbnail(original, size);
+        if (thumbnail.isPresent()) {
+            serve(thumbnail.get(), cacheControl, request, response);
+        } else {
+            serve(original, CacheControl.noCache(), request, response);
+        }
+    }
 
-            if (!resource.exists() || !resource.isReadable()) {
-                log.error("File not found or not readable: {}", path);
-                return ResponseEntity.notFound().build();
-            }
+    private StoredFile findFile(String path) {
+        return fileStorageService.findFile(path)
+                .orElseThrow(() -> new ResourceNotFoundException("File not found: " + path));
+    }
 
-            // Determine content type
-            String contentType = determineContentType(path);
+    private void serve(StoredFile file, CacheControl cacheControl, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Optional<Path> localPath = fileStorageService.localPath(file);
+        if (localPath.isEmpty()) {
+            redirect(file, response);
+            return;
+        }
+        String fileName = file.fileName();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        // Handles If-None-Match / If-Modified-Since and sets ETag and Last-Modified
+        if (new ServletWebRequest(request, response)
+                .checkNotModified(file.etag(), file.lastModified().toEpochMilli())) {
+            return;
+        }
 
-            // Get filename for Content-Disposition header
-            String filename = filePath.getFileName().toString();
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(FileStorageService.contentType(fileName));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName + "\"");
 
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
-                    .body(resource);
+        long start = 0;
+        long length = file.size();
+        HttpRange range = requestedRange(request, file);
+        if (range != null) {
+            start = range.getRangeStart(file.size());
+            long end = range.getRangeEnd(file.size());
+            if (start >= file.size() || end < start) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + file.size());
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            length = end - start + 1;
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + file.size());
+        }
+        response.setContentLengthLong(length);
 
-        } catch (MalformedURLException e) {
-            log.error("Error loading file: {}", path, e);
-            return ResponseEntity.badRequest().build();
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        if (length >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat copies the file to the socket after this method returns
+            request.setAttribute(SENDFILE_FILENAME, localPath.get().toFile().getCanonicalPath());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(localPath.get(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
         }
     }
 
+    // The store answers conditional and range requests itself. Not cached: the URL expires.
+    private void redirect(StoredFile file, HttpServletResponse response) throws IOException {
+        URI url = fileStorageService.presignedUrl(file)
+                .orElseThrow(() -> new IllegalStateException("Blob store has neither local files nor URLs"));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        response.sendRedirect(url.toString());
+    }
+
     /**
-     * View a file in browser (for PDFs, images)
+     * The single byte range to serve, or null for the whole file. Multiple ranges and
+     * ranges whose If-Range no longer matches the file get the whole file (RFC 9110 allows both).
      */
-    @GetMapping("/view")
-    public ResponseEntity<Resource> viewFile(@RequestParam String path) {
-        return downloadFile(path); // Same as download but with inline disposition
+    private HttpRange requestedRange(HttpServletRequest request, StoredFile file) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(file.etag()) && !ifRangeDateMatches(request, file)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
-    private String determineContentType(String path) {
-        String lowerPath = path.toLowerCase();
-        if (lowerPath.endsWith(".pdf")) {
-            return "application/pdf";
-        } else if (lowerPath.endsWith(".jpg") || lowerPath.endsWith(".jpeg")) {
-            return "image/jpeg";
-        } else if (lowerPath.endsWith(".png")) {
-            return "image/png";
-        } else if (lowerPath.endsWith(".webp")) {
-            return "image/webp";
-        } else if (lowerPath.endsWith(".doc")) {
-            return "application/msword";
-        } else if (lowerPath.endsWith(".docx")) {
-            return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+    private boolean ifRangeDateMatches(HttpServletRequest request, StoredFile file) {
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return date / 1000 == file.lastModified().getEpochSecond();
+        } catch (IllegalArgumentException e) {
+            // An entity tag that did not match
+            return false;
         }
-        return "application/octet-stream";
     }
 }
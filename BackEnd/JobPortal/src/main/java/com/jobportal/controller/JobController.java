@@ -29,10 +29,13 @@ public class JobController {
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String experienceLevel,
             @RequestParam(required = false) String sortBy,
-            @RequestParam(defaultValue = "desc") String sortOrder) {
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(required = false) String cursor) {
 
-        JobListResponse response = jobService.getJobs(
-                page, limit, search, location, type, category, experienceLevel, sortBy, sortOrder);
+        // Presence of the cursor parameter (even empty) opts into keyset pagination
+        JobListResponse response = cursor != null
+                ? jobService.getJobsByCursor(cursor, limit, search, location, type, category, experienceLevel)
+                : jobService.getJobs(page, limit, search, location, type, category, experienceLevel, sortBy, sortOrder);
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -1,6 +1,7 @@
 package com.jobportal.controller;
 
 import com.jobportal.dto.common.ApiResponse;
+import com.jobportal.dto.common.ImageVariantsDto;
 import com.jobportal.dto.profile.*;
 import com.jobportal.service.ProfileService;
 import com.jobportal.security.SecurityUtils;
@@ -12,7 +13,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -68,12 +69,14 @@ public class ProfileController {
     }
 
     @PostMapping(value = "/me/avatar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<ApiResponse<Map<String, String>>> uploadAvatar(
+    public ResponseEntity<ApiResponse<Map<String, Object>>> uploadAvatar(
             @RequestParam("avatar") MultipartFile file) {
 
         String avatarUrl = profileService.uploadAvatar(file);
-        return ResponseEntity.ok(
-                ApiResponse.success(Collections.singletonMap("avatarUrl", avatarUrl), "Avatar uploaded successfully"));
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("avatarUrl", avatarUrl);
+        response.put("avatarVariants", ImageVariantsDto.of(avatarUrl));
+        return ResponseEntity.ok(ApiResponse.success(response, "Avatar uploaded successfully"));
     }
 
     @PostMapping(value = "/me/cv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -0,0 +1,40 @@
+package com.jobportal.controller;
+
+import com.jobportal.exception.ResourceNotFoundException;
+import com.jobportal.service.FileStorageService;
+import com.jobportal.service.FileStorageService.StoredFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Serves /uploads/** links when uploads are kept in an object store, by redirecting to a
+ * pre-signed URL of the file. With the filesystem store they are served by WebConfig's resource handler.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "s3")
+public class UploadRedirectController {
+
+    private final FileStorageService fileStorageService;
+
+    @GetMapping("/uploads/**")
+    public void redirect(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getServletPath();
+        StoredFile file = fileStorageService.findFile(path)
+                .orElseThrow(() -> new ResourceNotFoundException("File not found: " + path));
+        URI url = fileStorageService.presignedUrl(file)
+                .orElseThrow(() -> new IllegalStateException("Blob store has no pre-signed URLs"));
+        // Not cached: the URL expires
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        response.sendRedirect(url.toString());
+    }
+}
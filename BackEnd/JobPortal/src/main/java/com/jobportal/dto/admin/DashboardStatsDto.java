@@ -3,6 +3,8 @@ package com.jobportal.dto.admin;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 public class DashboardStatsDto {
@@ -12,4 +14,6 @@ public class DashboardStatsDto {
     private long totalJobs;
     private long activeJobs;
     private long totalApplications;
+    // When the counters were computed; they are refreshed periodically, not per request
+    private LocalDateTime computedAt;
 }
@@ -1,6 +1,7 @@
 package com.jobportal.dto.application;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jobportal.dto.common.ImageVariantsDto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -44,6 +45,7 @@ public class ApplicationDto {
     public static class CompanyInfo {
         private String name;
         private String logo;
+        private ImageVariantsDto logoVariants;
     }
 
     @Data
@@ -56,6 +58,7 @@ public class ApplicationDto {
         private String email;
         private String phone;
         private String avatar;
+        private ImageVariantsDto avatarVariants;
         private String location;
         private String bio;
         private List<String> skills;
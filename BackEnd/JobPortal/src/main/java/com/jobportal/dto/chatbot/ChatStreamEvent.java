@@ -0,0 +1,108 @@
+package com.jobportal.dto.chatbot;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * One line of the RAG service's streamed answer, relayed to the browser as an SSE event.
+ * Type is "token" (content holds the next chunk), "done" (carries the sources) or "error".
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChatStreamEvent {
+
+    public static final String TOKEN = "token";
+    public static final String DONE = "done";
+    public static final String ERROR = "error";
+
+    private String type;
+
+    private String content;
+
+    private List<Source> sources;
+
+    @JsonProperty("documents_retrieved")
+    private Integer documentsRetrieved;
+
+    @JsonProperty("documents_used")
+    private Integer documentsUsed;
+
+    @JsonProperty("error_message")
+    private String errorMessage;
+
+    // Default constructor for JSON deserialization
+    public ChatStreamEvent() {
+    }
+
+    public static ChatStreamEvent token(String content) {
+        ChatStreamEvent event = new ChatStreamEvent();
+        event.setType(TOKEN);
+        event.setContent(content);
+        return event;
+    }
+
+    public static ChatStreamEvent done(List<Source> sources, Integer documentsRetrieved, Integer documentsUsed) {
+        ChatStreamEvent event = new ChatStreamEvent();
+        event.setType(DONE);
+        event.setSources(sources);
+        event.setDocumentsRetrieved(documentsRetrieved);
+        event.setDocumentsUsed(documentsUsed);
+        return event;
+    }
+
+    public static ChatStreamEvent error(String errorMessage) {
+        ChatStreamEvent event = new ChatStreamEvent();
+        event.setType(ERROR);
+        event.setErrorMessage(errorMessage);
+        return event;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public List<Source> getSources() {
+        return sources;
+    }
+
+    public void setSources(List<Source> sources) {
+        this.sources = sources;
+    }
+
+    public Integer getDocumentsRetrieved() {
+        return documentsRetrieved;
+    }
+
+    public void setDocumentsRetrieved(Integer documentsRetrieved) {
+        this.documentsRetrieved = documentsRetrieved;
+    }
+
+    public Integer getDocumentsUsed() {
+        return documentsUsed;
+    }
+
+    public void setDocumentsUsed(Integer documentsUsed) {
+        this.documentsUsed = documentsUsed;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
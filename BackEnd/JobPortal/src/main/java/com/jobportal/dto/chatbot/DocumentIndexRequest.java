@@ -0,0 +1,36 @@
+package com.jobportal.dto.chatbot;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bulk upsert/delete of documents sent inline to the RAG service's /index endpoint.
+ * Re-indexing a document ID replaces its previous chunks.
+ */
+public final class DocumentIndexRequest {
+
+    @JsonProperty("collection_name")
+    private final String collectionName;
+
+    private final List<Document> documents;
+
+    @JsonProperty("delete_ids")
+    private final List<String> deleteIds;
+
+    public DocumentIndexRequest(String collectionName, List<Document> documents, List<String> deleteIds) {
+        this.collectionName = collectionName != null ? collectionName : "documents";
+        this.documents = Collections.unmodifiableList(Objects.requireNonNullElse(documents, List.of()));
+        this.deleteIds = Collections.unmodifiableList(Objects.requireNonNullElse(deleteIds, List.of()));
+    }
+
+    public String getCollectionName() { return collectionName; }
+    public List<Document> getDocuments() { return documents; }
+    public List<String> getDeleteIds() { return deleteIds; }
+
+    public record Document(String id, String content, Map<String, String> metadata) {
+    }
+}
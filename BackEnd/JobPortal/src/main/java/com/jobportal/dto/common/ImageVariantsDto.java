@@ -0,0 +1,46 @@
+package com.jobportal.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Thumbnail URLs of an uploaded image (avatar, company logo), longest side in pixels.
+ * Until a thumbnail has been generated its URL serves the original image.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariantsDto {
+
+    public static final int SMALL = 48;
+    public static final int MEDIUM = 128;
+    public static final int LARGE = 256;
+    public static final List<Integer> SIZES = List.of(SMALL, MEDIUM, LARGE);
+
+    private String small;
+    private String medium;
+    private String large;
+
+    /**
+     * Variants of an uploaded image, or null if there is no image or it is not an upload
+     * (e.g. an external URL).
+     */
+    public static ImageVariantsDto of(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith("/uploads/")) {
+            return null;
+        }
+        String base = "/api/files/view?path=" + URLEncoder.encode(imageUrl, StandardCharsets.UTF_8) + "&size=";
+        return ImageVariantsDto.builder()
+                .small(base + SMALL)
+                .medium(base + MEDIUM)
+                .large(base + LARGE)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.jobportal.dto.common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,14 +10,18 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PaginationResponse {
-    private int page;
+    private Integer page;
     private int limit;
-    private long total;
-    private int totalPages;
+    private Long total;
+    private Integer totalPages;
     private boolean hasNext;
     private boolean hasPrev;
 
+    // Cursor (keyset) mode only: opaque token for the next page, null on the last page
+    private String nextCursor;
+
     public static PaginationResponse of(int page, int limit, long total) {
         int totalPages = (int) Math.ceil((double) total / limit);
         return PaginationResponse.builder()
@@ -28,4 +33,16 @@ public class PaginationResponse {
                 .hasPrev(page > 1)
                 .build();
     }
+
+    /**
+     * Cursor-mode pagination: no page number or total count is computed.
+     */
+    public static PaginationResponse ofCursor(int limit, String nextCursor, boolean hasPrev) {
+        return PaginationResponse.builder()
+                .limit(limit)
+                .hasNext(nextCursor != null)
+                .hasPrev(hasPrev)
+                .nextCursor(nextCursor)
+                .build();
+    }
 }
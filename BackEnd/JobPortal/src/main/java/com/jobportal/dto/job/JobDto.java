@@ -1,6 +1,7 @@
 package com.jobportal.dto.job;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jobportal.dto.common.ImageVariantsDto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,7 +12,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -39,13 +40,14 @@ public class JobDto {
     private LocalDateTime expiresAt;
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     @NoArgsConstructor
     @AllArgsConstructor
     public static class CompanyDto {
         private String id;
         private String name;
         private String logo;
+        private ImageVariantsDto logoVariants;
         private String description;
         private String size;
         private String industry;
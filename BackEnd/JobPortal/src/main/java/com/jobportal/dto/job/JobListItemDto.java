@@ -1,6 +1,7 @@
 package com.jobportal.dto.job;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jobportal.dto.common.ImageVariantsDto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -29,6 +30,9 @@ public class JobListItemDto {
     private Integer applicantsCount;
     private String status;
     private Integer viewsCount;
+    // Only set for an authenticated job seeker
+    private Boolean hasApplied;
+    private Boolean isSaved;
 
     @Data
     @Builder
@@ -38,5 +42,6 @@ public class JobListItemDto {
         private String id;
         private String name;
         private String logo;
+        private ImageVariantsDto logoVariants;
     }
 }
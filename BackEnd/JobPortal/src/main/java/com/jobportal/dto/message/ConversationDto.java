@@ -1,6 +1,7 @@
 package com.jobportal.dto.message;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jobportal.dto.common.ImageVariantsDto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -28,6 +29,7 @@ public class ConversationDto {
         private String id;
         private String name;
         private String avatar;
+        private ImageVariantsDto avatarVariants;
     }
 
     @Data
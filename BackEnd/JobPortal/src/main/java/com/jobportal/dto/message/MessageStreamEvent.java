@@ -0,0 +1,18 @@
+package com.jobportal.dto.message;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MessageStreamEvent {
+    private String conversationId;
+    private MessageDto message;
+    private Long unreadCount;
+}
@@ -1,6 +1,7 @@
 package com.jobportal.dto.profile;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jobportal.dto.common.ImageVariantsDto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,8 +16,10 @@ public class EmployerProfileDto {
     private String id;
     private String fullName;
     private String avatar;
+    private ImageVariantsDto avatarVariants;
     private String companyName;
     private String companyLogo;
+    private ImageVariantsDto companyLogoVariants;
     private String companyType;
     private String industry;
     private String companySize;
@@ -1,6 +1,7 @@
 package com.jobportal.dto.profile;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jobportal.dto.common.ImageVariantsDto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,6 +19,7 @@ public class JobSeekerProfileDto {
     private String id;
     private String fullName;
     private String avatar;
+    private ImageVariantsDto avatarVariants;
     private String phone;
     private String location;
     private String bio;
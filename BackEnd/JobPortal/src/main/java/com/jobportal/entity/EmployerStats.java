@@ -0,0 +1,36 @@
+package com.jobportal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.util.UUID;
+
+/**
+ * Dashboard counters for one employer. Maintained by database triggers on jobs and
+ * applications (see V7__employer_stats.sql), so read-only here.
+ */
+@Entity
+@Table(name = "employer_stats")
+@Immutable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployerStats {
+
+    @Id
+    @Column(name = "employer_id")
+    private UUID employerId;
+
+    @Column(name = "total_jobs", nullable = false)
+    private Integer totalJobs;
+
+    @Column(name = "active_jobs", nullable = false)
+    private Integer activeJobs;
+
+    @Column(name = "total_applicants", nullable = false)
+    private Integer totalApplicants;
+
+    @Column(name = "hired_count", nullable = false)
+    private Integer hiredCount;
+}
@@ -0,0 +1,39 @@
+package com.jobportal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A content-addressed upload. ref_count is maintained by database triggers on the
+ * columns that hold file URLs (see V8__stored_blobs.sql), so read-only here.
+ */
+@Entity
+@Table(name = "stored_blobs")
+@Immutable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredBlob {
+
+    @Id
+    @Column(name = "url")
+    private String url;
+
+    @Column(name = "sha256", nullable = false)
+    private String sha256;
+
+    @Column(name = "size", nullable = false)
+    private Long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
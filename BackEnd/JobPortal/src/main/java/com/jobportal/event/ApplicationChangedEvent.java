@@ -0,0 +1,9 @@
+package com.jobportal.event;
+
+import java.util.UUID;
+
+/**
+ * Published when an application is created or its status changes.
+ */
+public record ApplicationChangedEvent(UUID applicationId, UUID jobId, UUID applicantId, UUID employerId) {
+}
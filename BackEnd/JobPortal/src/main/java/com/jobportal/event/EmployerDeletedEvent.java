@@ -0,0 +1,10 @@
+package com.jobportal.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published before an employer account and all of its jobs are deleted.
+ */
+public record EmployerDeletedEvent(UUID employerId, List<UUID> jobIds) {
+}
@@ -0,0 +1,7 @@
+package com.jobportal.event;
+
+/**
+ * Published when an image (avatar, company logo) has been uploaded.
+ */
+public record ImageUploadedEvent(String imageUrl) {
+}
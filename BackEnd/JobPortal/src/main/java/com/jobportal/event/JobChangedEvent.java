@@ -0,0 +1,9 @@
+package com.jobportal.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a job is created, updated or deleted.
+ */
+public record JobChangedEvent(UUID jobId, UUID employerId) {
+}
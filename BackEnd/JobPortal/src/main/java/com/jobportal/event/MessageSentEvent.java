@@ -0,0 +1,11 @@
+package com.jobportal.event;
+
+import com.jobportal.dto.message.MessageDto;
+
+import java.util.UUID;
+
+/**
+ * Published when a message is stored; delivered to the recipient's stream after commit.
+ */
+public record MessageSentEvent(UUID recipientId, UUID conversationId, MessageDto message) {
+}
@@ -0,0 +1,11 @@
+package com.jobportal.event;
+
+import com.jobportal.entity.UserRole;
+
+import java.util.UUID;
+
+/**
+ * Published when a job seeker or employer profile (including CV) changes.
+ */
+public record ProfileUpdatedEvent(UUID userId, UserRole role) {
+}
@@ -0,0 +1,9 @@
+package com.jobportal.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a job seeker saves or unsaves a job.
+ */
+public record SavedJobsChangedEvent(UUID userId, UUID jobId) {
+}
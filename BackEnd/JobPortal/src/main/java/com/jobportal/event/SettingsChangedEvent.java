@@ -0,0 +1,9 @@
+package com.jobportal.event;
+
+import java.util.List;
+
+/**
+ * Published when an admin changes one or more system settings.
+ */
+public record SettingsChangedEvent(List<String> keys) {
+}
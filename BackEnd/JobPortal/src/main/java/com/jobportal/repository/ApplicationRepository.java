@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +20,11 @@ public interface ApplicationRepository extends JpaRepository<Application, UUID>
     // Find applications by applicant
     Page<Application> findByApplicantId(UUID applicantId, Pageable pageable);
 
+    // Applicant's applications with their job rows fetched in the same query
+    @Query(value = "SELECT a FROM Application a JOIN FETCH a.job WHERE a.applicant.id = :applicantId",
+            countQuery = "SELECT COUNT(a) FROM Application a WHERE a.applicant.id = :applicantId")
+    Page<Application> findByApplicantIdWithJob(@Param("applicantId") UUID applicantId, Pageable pageable);
+
     Page<Application> findByApplicantIdAndStatus(UUID applicantId, ApplicationStatus status, Pageable pageable);
 
     // Find applications by job
@@ -33,6 +39,10 @@ public interface ApplicationRepository extends JpaRepository<Application, UUID>
 
     Optional<Application> findByJobIdAndApplicantId(UUID jobId, UUID applicantId);
 
+    // Which of the given jobs the applicant has applied to (one query for a whole list page)
+    @Query("SELECT a.job.id FROM Application a WHERE a.applicant.id = :applicantId AND a.job.id IN :jobIds")
+    List<UUID> findAppliedJobIds(@Param("applicantId") UUID applicantId, @Param("jobIds") Collection<UUID> jobIds);
+
     // Count applications
     long countByJobId(UUID jobId);
 
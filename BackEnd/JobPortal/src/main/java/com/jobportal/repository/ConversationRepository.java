@@ -1,22 +1,42 @@
 package com.jobportal.repository;
 
 import com.jobportal.entity.Conversation;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ConversationRepository extends JpaRepository<Conversation, UUID> {
 
-    // Find conversations for a user (either as participant1 or participant2)
-    @Query("SELECT c FROM Conversation c WHERE c.participant1.id = :userId OR c.participant2.id = :userId ORDER BY c.lastMessageAt DESC")
-    Page<Conversation> findByParticipant(@Param("userId") UUID userId, Pageable pageable);
+    // Inbox page in one round trip: counterpart profile, last message and unread counter per conversation
+    @Query(value = "SELECT c.id AS id, c.job_id AS jobId, j.title AS jobTitle, " +
+            "u.id AS counterpartId, " +
+            "CASE WHEN u.role = 'JOB_SEEKER' THEN COALESCE(jsp.full_name, 'User') " +
+            "     ELSE COALESCE(ep.company_name || COALESCE(' (' || ep.full_name || ')', ''), ep.full_name, 'User') " +
+            "     END AS counterpartName, " +
+            "CASE WHEN u.role = 'JOB_SEEKER' THEN jsp.avatar_url ELSE ep.avatar_url END AS counterpartAvatar, " +
+            "lm.content AS lastMessageContent, CAST(lm.sent_at AS timestamp) AS lastMessageSentAt, " +
+            "lm.is_read AS lastMessageIsRead, CAST(COALESCE(uc.unread_count, 0) AS bigint) AS unreadCount " +
+            "FROM conversations c " +
+            "JOIN users u ON u.id = CASE WHEN c.participant_1 = :userId THEN c.participant_2 ELSE c.participant_1 END " +
+            "LEFT JOIN job_seeker_profiles jsp ON jsp.user_id = u.id " +
+            "LEFT JOIN employer_profiles ep ON ep.user_id = u.id " +
+            "LEFT JOIN jobs j ON j.id = c.job_id " +
+            "LEFT JOIN LATERAL (SELECT m.content, m.sent_at, m.is_read FROM messages m " +
+            "    WHERE m.conversation_id = c.id ORDER BY m.sent_at DESC LIMIT 1) lm ON TRUE " +
+            "LEFT JOIN unread_counters uc ON uc.user_id = :userId AND uc.conversation_id = c.id " +
+            "WHERE c.participant_1 = :userId OR c.participant_2 = :userId " +
+            "ORDER BY c.last_message_at DESC " +
+            "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<ConversationSummary> findInboxByParticipant(
+            @Param("userId") UUID userId,
+            @Param("limit") int limit,
+            @Param("offset") int offset);
 
     // Find conversation between two users for a specific job
     @Query("SELECT c FROM Conversation c WHERE " +
@@ -0,0 +1,21 @@
+package com.jobportal.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One inbox row: a conversation with its counterpart, last message and unread
+ * count, as returned by {@link ConversationRepository#findInboxByParticipant}.
+ */
+public record ConversationSummary(
+        UUID id,
+        UUID jobId,
+        String jobTitle,
+        UUID counterpartId,
+        String counterpartName,
+        String counterpartAvatar,
+        String lastMessageContent,
+        LocalDateTime lastMessageSentAt,
+        Boolean lastMessageIsRead,
+        Long unreadCount) {
+}
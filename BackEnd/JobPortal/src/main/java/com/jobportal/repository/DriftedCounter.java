@@ -0,0 +1,10 @@
+package com.jobportal.repository;
+
+import java.util.UUID;
+
+/**
+ * An unread counter that disagrees with the messages, as returned by
+ * {@link UnreadCounterRepository#findDrifted}.
+ */
+public record DriftedCounter(UUID userId, UUID conversationId) {
+}
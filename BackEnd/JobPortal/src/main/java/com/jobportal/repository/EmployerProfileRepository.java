@@ -3,8 +3,12 @@ package com.jobportal.repository;
 import com.jobportal.entity.EmployerProfile;
 import com.jobportal.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,6 +19,10 @@ public interface EmployerProfileRepository extends JpaRepository<EmployerProfile
 
     Optional<EmployerProfile> findByUserId(UUID userId);
 
+    // Bulk lookup for list pages (one query per page instead of one per row)
+    @Query("SELECT p FROM EmployerProfile p WHERE p.user.id IN :userIds")
+    List<EmployerProfile> findByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
     boolean existsByUserId(UUID userId);
 
     Optional<EmployerProfile> findByCompanyName(String companyName);
@@ -0,0 +1,11 @@
+package com.jobportal.repository;
+
+import com.jobportal.entity.EmployerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface EmployerStatsRepository extends JpaRepository<EmployerStats, UUID> {
+}
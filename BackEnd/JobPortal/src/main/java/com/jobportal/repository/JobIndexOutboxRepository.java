@@ -0,0 +1,59 @@
+package com.jobportal.repository;
+
+import com.jobportal.entity.JobIndexOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface JobIndexOutboxRepository extends JpaRepository<JobIndexOutboxEntry, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO job_index_outbox (job_id) VALUES (:jobId)", nativeQuery = true)
+    void enqueue(@Param("jobId") UUID jobId);
+
+    // All jobs of an employer (e.g. company name changed)
+    @Modifying
+    @Query(value = "INSERT INTO job_index_outbox (job_id) SELECT id FROM jobs WHERE employer_id = :employerId",
+            nativeQuery = true)
+    void enqueueByEmployerId(@Param("employerId") UUID employerId);
+
+    // Lease up to :limit due entries to this claim token. SKIP LOCKED lets several
+    // instances drain the outbox without blocking on each other's rows.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE job_index_outbox SET claim_token = :token, next_attempt_at = :leaseUntil " +
+            "WHERE id IN (SELECT id FROM job_index_outbox WHERE next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int claim(@Param("token") UUID token,
+            @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil,
+            @Param("limit") int limit);
+
+    List<JobIndexOutboxEntry> findByClaimToken(UUID claimToken);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM JobIndexOutboxEntry e WHERE e.id IN :ids")
+    void deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Failed push: back off and release the lease
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE job_index_outbox SET attempts = attempts + 1, next_attempt_at = :retryAt, " +
+            "claim_token = NULL, last_error = :error WHERE id IN (:ids)", nativeQuery = true)
+    void markFailed(@Param("ids") Collection<Long> ids,
+            @Param("retryAt") LocalDateTime retryAt,
+            @Param("error") String error);
+
+    @Query(value = "SELECT COUNT(*) FROM job_index_outbox", nativeQuery = true)
+    long countPending();
+}
@@ -8,11 +8,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,23 +27,107 @@ public interface JobRepository extends JpaRepository<Job, UUID>, JpaSpecificatio
         // Find active jobs
         Page<Job> findByStatus(JobStatus status, Pageable pageable);
 
-        // Search jobs with filters
+        // Filter jobs without a text query (text search goes through searchJobsFullText)
         @Query("SELECT j FROM Job j WHERE j.status = :status " +
                         "AND LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')) " +
                         "AND (:type IS NULL OR j.type = :type) " +
                         "AND LOWER(j.category) LIKE LOWER(CONCAT('%', :category, '%')) " +
-                        "AND (:experienceLevel IS NULL OR j.experienceLevel = :experienceLevel) " +
-                        "AND (LOWER(j.title) LIKE LOWER(CONCAT('%', :search, '%')) " +
-                        "    OR LOWER(j.description) LIKE LOWER(CONCAT('%', :search, '%')))")
+                        "AND (:experienceLevel IS NULL OR j.experienceLevel = :experienceLevel)")
         Page<Job> searchJobs(
                         @Param("status") JobStatus status,
-                        @Param("search") String search,
                         @Param("location") String location,
                         @Param("type") JobType type,
                         @Param("category") String category,
                         @Param("experienceLevel") ExperienceLevel experienceLevel,
                         Pageable pageable);
 
+        // Full-text search over the weighted search_vector column (see V3__job_search_vector.sql, V11__job_search_vector_function.sql).
+        // Enum filters are passed as their database values, empty string meaning "any".
+        @Query(value = "SELECT j.* FROM jobs j WHERE j.status = :status " +
+                        "AND j.search_vector @@ websearch_to_tsquery('english', :search) " +
+                        "AND LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')) " +
+                        "AND (:type = '' OR j.type = :type) " +
+                        "AND LOWER(j.category) LIKE LOWER(CONCAT('%', :category, '%')) " +
+                        "AND (:experienceLevel = '' OR j.experience_level = :experienceLevel)",
+                        countQuery = "SELECT COUNT(*) FROM jobs j WHERE j.status = :status " +
+                                        "AND j.search_vector @@ websearch_to_tsquery('english', :search) " +
+                                        "AND LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')) " +
+                                        "AND (:type = '' OR j.type = :type) " +
+                                        "AND LOWER(j.category) LIKE LOWER(CONCAT('%', :category, '%')) " +
+                                        "AND (:experienceLevel = '' OR j.experience_level = :experienceLevel)",
+                        nativeQuery = true)
+        Page<Job> searchJobsFullText(
+                        @Param("status") String status,
+                        @Param("search") String search,
+                        @Param("location") String location,
+                        @Param("type") String type,
+                        @Param("category") String category,
+                        @Param("experienceLevel") String experienceLevel,
+                        Pageable pageable);
+
+        // Same as searchJobsFullText, ordered by ts_rank_cd relevance (pageable must be unsorted)
+        @Query(value = "SELECT j.* FROM jobs j WHERE j.status = :status " +
+                        "AND j.search_vector @@ websearch_to_tsquery('english', :search) " +
+                        "AND LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')) " +
+                        "AND (:type = '' OR j.type = :type) " +
+                        "AND LOWER(j.category) LIKE LOWER(CONCAT('%', :category, '%')) " +
+                        "AND (:experienceLevel = '' OR j.experience_level = :experienceLevel) " +
+                        "ORDER BY ts_rank_cd(j.search_vector, websearch_to_tsquery('english', :search)) DESC, " +
+                        "j.posted_at DESC",
+                        countQuery = "SELECT COUNT(*) FROM jobs j WHERE j.status = :status " +
+                                        "AND j.search_vector @@ websearch_to_tsquery('english', :search) " +
+                                        "AND LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')) " +
+                                        "AND (:type = '' OR j.type = :type) " +
+                                        "AND LOWER(j.category) LIKE LOWER(CONCAT('%', :category, '%')) " +
+                                        "AND (:experienceLevel = '' OR j.experience_level = :experienceLevel)",
+                        nativeQuery = true)
+        Page<Job> searchJobsByRelevance(
+                        @Param("status") String status,
+                        @Param("search") String search,
+                        @Param("location") String location,
+                        @Param("type") String type,
+                        @Param("category") String category,
+                        @Param("experienceLevel") String experienceLevel,
+                        Pageable pageable);
+
+        // Filters shared by the two keyset feed queries below
+        String FEED_FILTERS = "AND j.posted_at IS NOT NULL " +
+                        "AND (:search = '' OR j.search_vector @@ websearch_to_tsquery('english', :search)) " +
+                        "AND LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')) " +
+                        "AND (:type = '' OR j.type = :type) " +
+                        "AND LOWER(j.category) LIKE LOWER(CONCAT('%', :category, '%')) " +
+                        "AND (:experienceLevel = '' OR j.experience_level = :experienceLevel) " +
+                        "ORDER BY j.posted_at DESC, j.id DESC " +
+                        "LIMIT :limit";
+
+        // First keyset page of the public feed, newest first.
+        // No COUNT query is issued; callers fetch limit + 1 rows to detect a next page.
+        @Query(value = "SELECT j.* FROM jobs j WHERE j.status = :status " + FEED_FILTERS, nativeQuery = true)
+        List<Job> findFeedFirstPage(
+                        @Param("status") String status,
+                        @Param("search") String search,
+                        @Param("location") String location,
+                        @Param("type") String type,
+                        @Param("category") String category,
+                        @Param("experienceLevel") String experienceLevel,
+                        @Param("limit") int limit);
+
+        // Next keyset page: seeks past (posted_at, id) of the last row seen on idx_jobs_posted_at_id.
+        // A separate query so the seek is never behind an OR a generic plan cannot use.
+        @Query(value = "SELECT j.* FROM jobs j WHERE j.status = :status " +
+                        "AND (j.posted_at, j.id) < (:postedAt, :id) " + FEED_FILTERS,
+                        nativeQuery = true)
+        List<Job> findFeedPageAfter(
+                        @Param("status") String status,
+                        @Param("postedAt") LocalDateTime postedAt,
+                        @Param("id") UUID id,
+                        @Param("search") String search,
+                        @Param("location") String location,
+                        @Param("type") String type,
+                        @Param("category") String category,
+                        @Param("experienceLevel") String experienceLevel,
+                        @Param("limit") int limit);
+
         // Count jobs by employer
         long countByEmployerId(UUID employerId);
 
@@ -52,15 +136,17 @@ public interface JobRepository extends JpaRepository<Job, UUID>, JpaSpecificatio
         // Count jobs by status (for admin dashboard)
         long countByStatus(JobStatus status);
 
-        // Increment view count
-        @Modifying
-        @Query("UPDATE Job j SET j.viewsCount = j.viewsCount + 1 WHERE j.id = :jobId")
-        void incrementViewCount(@Param("jobId") UUID jobId);
+        // [status, count] pairs, one query for all statuses
+        @Query("SELECT j.status, COUNT(j) FROM Job j GROUP BY j.status")
+        List<Object[]> countGroupedByStatus();
 
         // Get employer stats
         @Query("SELECT SUM(j.applicantsCount) FROM Job j WHERE j.employer.id = :employerId")
         Long getTotalApplicantsByEmployer(@Param("employerId") UUID employerId);
 
+        @Query("SELECT j.id FROM Job j WHERE j.employer.id = :employerId")
+        List<UUID> findIdsByEmployerId(@Param("employerId") UUID employerId);
+
         // Delete jobs by employer
         void deleteByEmployerId(UUID employerId);
 }
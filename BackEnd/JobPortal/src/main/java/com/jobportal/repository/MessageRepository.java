@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,16 +22,18 @@ public interface MessageRepository extends JpaRepository<Message, UUID> {
     // Get last message in conversation
     Optional<Message> findFirstByConversationIdOrderBySentAtDesc(UUID conversationId);
 
-    // Count unread messages in conversation for a user
-    @Query("SELECT COUNT(m) FROM Message m WHERE m.conversation.id = :conversationId " +
-            "AND m.sender.id != :userId AND m.isRead = false")
-    long countUnreadInConversation(@Param("conversationId") UUID conversationId, @Param("userId") UUID userId);
-
-    // Count total unread messages for a user
-    @Query("SELECT COUNT(m) FROM Message m WHERE " +
-            "(m.conversation.participant1.id = :userId OR m.conversation.participant2.id = :userId) " +
-            "AND m.sender.id != :userId AND m.isRead = false")
-    long countTotalUnread(@Param("userId") UUID userId);
+    // Messages received by a user after a given message (stream replay for Last-Event-ID)
+    @Query(value = "SELECT m.* FROM messages m JOIN conversations c ON c.id = m.conversation_id " +
+            "WHERE (c.participant_1 = :userId OR c.participant_2 = :userId) " +
+            "AND m.sender_id <> :userId " +
+            "AND m.sent_at > (SELECT last.sent_at FROM messages last WHERE last.id = :afterMessageId) " +
+            "ORDER BY m.sent_at ASC LIMIT :limit", nativeQuery = true)
+    List<Message> findReceivedAfter(
+            @Param("userId") UUID userId,
+            @Param("afterMessageId") UUID afterMessageId,
+            @Param("limit") int limit);
+
+    // Unread counts are maintained in unread_counters (see UnreadCounterRepository)
 
     // Mark messages as read
     @Modifying
@@ -4,8 +4,11 @@ import com.jobportal.entity.SavedJob;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,9 +20,21 @@ public interface SavedJobRepository extends JpaRepository<SavedJob, UUID> {
 
     List<SavedJob> findByUserId(UUID userId);
 
+    // Saved jobs with their job rows fetched in the same query
+    @Query("SELECT s FROM SavedJob s JOIN FETCH s.job WHERE s.user.id = :userId ORDER BY s.savedAt DESC")
+    List<SavedJob> findByUserIdWithJob(@Param("userId") UUID userId);
+
+    @Query(value = "SELECT s FROM SavedJob s JOIN FETCH s.job WHERE s.user.id = :userId",
+            countQuery = "SELECT COUNT(s) FROM SavedJob s WHERE s.user.id = :userId")
+    Page<SavedJob> findByUserIdWithJob(@Param("userId") UUID userId, Pageable pageable);
+
     Optional<SavedJob> findByUserIdAndJobId(UUID userId, UUID jobId);
 
     boolean existsByUserIdAndJobId(UUID userId, UUID jobId);
 
+    // Which of the given jobs the user has saved (one query for a whole list page)
+    @Query("SELECT s.job.id FROM SavedJob s WHERE s.user.id = :userId AND s.job.id IN :jobIds")
+    List<UUID> findSavedJobIds(@Param("userId") UUID userId, @Param("jobIds") Collection<UUID> jobIds);
+
     void deleteByUserIdAndJobId(UUID userId, UUID jobId);
 }
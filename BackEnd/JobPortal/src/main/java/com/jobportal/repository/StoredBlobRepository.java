@@ -0,0 +1,36 @@
+package com.jobportal.repository;
+
+import com.jobportal.entity.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    // Insert, or touch an existing row, and commit at once. The caller's reference is counted when
+    // its own transaction commits; until then the fresh updated_at keeps the sweep away, and if that
+    // transaction rolls back the blob is left unreferenced and swept after the grace period.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO stored_blobs (url, sha256, size) VALUES (:url, :sha256, :size) " +
+            "ON CONFLICT (url) DO UPDATE SET updated_at = CURRENT_TIMESTAMP", nativeQuery = true)
+    void register(@Param("url") String url, @Param("sha256") String sha256, @Param("size") long size);
+
+    // Unreferenced blobs, locked for deletion. SKIP LOCKED passes over blobs being re-uploaded.
+    @Query(value = "SELECT url FROM stored_blobs WHERE ref_count <= 0 AND updated_at < :cutoff " +
+            "ORDER BY updated_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<String> lockUnreferenced(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM StoredBlob b WHERE b.url IN :urls")
+    void deleteByUrlIn(@Param("urls") Collection<String> urls);
+}
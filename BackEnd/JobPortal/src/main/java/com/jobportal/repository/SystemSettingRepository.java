@@ -2,6 +2,7 @@ package com.jobportal.repository;
 
 import com.jobportal.entity.SystemSetting;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +17,13 @@ public interface SystemSettingRepository extends JpaRepository<SystemSetting, UU
     List<SystemSetting> findAllByOrderByKeyAsc();
 
     boolean existsByKey(String key);
+
+    // Hash of every row's content: any insert, delete or update changes it, and unlike a row count
+    // or update timestamp it cannot repeat an earlier value while the content differs.
+    // NULL columns hash as chr(1), so a change to or from NULL (or from '' to NULL) moves it too.
+    @Query(value = "SELECT md5(COALESCE(string_agg(setting_key || chr(31) || COALESCE(setting_value, chr(1)) || " +
+            "chr(31) || COALESCE(description, chr(1)) || chr(31) || COALESCE(setting_type, chr(1)), " +
+            "chr(30) ORDER BY setting_key), '')) " +
+            "FROM system_settings", nativeQuery = true)
+    String findVersion();
 }
@@ -0,0 +1,77 @@
+package com.jobportal.repository;
+
+import com.jobportal.entity.UnreadCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UnreadCounterRepository extends JpaRepository<UnreadCounter, UnreadCounter.Key> {
+
+    // Total unread for a user (range scan on the primary key prefix)
+    @Query(value = "SELECT COALESCE(SUM(unread_count), 0) FROM unread_counters WHERE user_id = :userId",
+            nativeQuery = true)
+    long sumByUserId(@Param("userId") UUID userId);
+
+    @Query(value = "SELECT COALESCE(MAX(unread_count), 0) FROM unread_counters " +
+            "WHERE user_id = :userId AND conversation_id = :conversationId", nativeQuery = true)
+    long findCount(@Param("userId") UUID userId, @Param("conversationId") UUID conversationId);
+
+    // New message for the recipient
+    @Modifying
+    @Query(value = "INSERT INTO unread_counters (user_id, conversation_id, unread_count) " +
+            "VALUES (:userId, :conversationId, 1) " +
+            "ON CONFLICT (user_id, conversation_id) DO UPDATE SET unread_count = unread_counters.unread_count + 1",
+            nativeQuery = true)
+    void increment(@Param("userId") UUID userId, @Param("conversationId") UUID conversationId);
+
+    // Conversation read by the user
+    @Modifying
+    @Query(value = "UPDATE unread_counters SET unread_count = 0 " +
+            "WHERE user_id = :userId AND conversation_id = :conversationId AND unread_count <> 0",
+            nativeQuery = true)
+    void reset(@Param("userId") UUID userId, @Param("conversationId") UUID conversationId);
+
+    // Reconciliation: counters that differ from the actual unread messages, including missing ones
+    @Query(value = "SELECT COALESCE(a.user_id, uc.user_id) AS userId, " +
+            "       COALESCE(a.conversation_id, uc.conversation_id) AS conversationId " +
+            "FROM (SELECT CASE WHEN m.sender_id = c.participant_1 THEN c.participant_2 ELSE c.participant_1 END " +
+            "             AS user_id, m.conversation_id, COUNT(*) AS actual " +
+            "      FROM messages m JOIN conversations c ON c.id = m.conversation_id " +
+            "      WHERE m.is_read = FALSE GROUP BY 1, 2) a " +
+            "FULL JOIN unread_counters uc ON uc.user_id = a.user_id AND uc.conversation_id = a.conversation_id " +
+            "WHERE COALESCE(a.actual, 0) <> COALESCE(uc.unread_count, 0)",
+            nativeQuery = true)
+    List<DriftedCounter> findDrifted();
+
+    // Reconciliation: waits for writers still marking these messages read (they lock messages, then the counter)
+    @Query(value = "SELECT m.id FROM messages m WHERE m.conversation_id = :conversationId " +
+            "AND m.sender_id <> :userId AND m.is_read = FALSE FOR SHARE", nativeQuery = true)
+    List<UUID> lockUnreadMessages(@Param("userId") UUID userId, @Param("conversationId") UUID conversationId);
+
+    @Modifying
+    @Query(value = "INSERT INTO unread_counters (user_id, conversation_id, unread_count) " +
+            "VALUES (:userId, :conversationId, 0) ON CONFLICT (user_id, conversation_id) DO NOTHING",
+            nativeQuery = true)
+    void insertIfMissing(@Param("userId") UUID userId, @Param("conversationId") UUID conversationId);
+
+    @Query(value = "SELECT unread_count FROM unread_counters " +
+            "WHERE user_id = :userId AND conversation_id = :conversationId FOR UPDATE", nativeQuery = true)
+    long lockCount(@Param("userId") UUID userId, @Param("conversationId") UUID conversationId);
+
+    @Query(value = "SELECT COUNT(*) FROM messages m WHERE m.conversation_id = :conversationId " +
+            "AND m.sender_id <> :userId AND m.is_read = FALSE", nativeQuery = true)
+    long countUnreadMessages(@Param("userId") UUID userId, @Param("conversationId") UUID conversationId);
+
+    @Modifying
+    @Query(value = "UPDATE unread_counters SET unread_count = :count " +
+            "WHERE user_id = :userId AND conversation_id = :conversationId", nativeQuery = true)
+    void setCount(@Param("userId") UUID userId,
+            @Param("conversationId") UUID conversationId,
+            @Param("count") long count);
+}
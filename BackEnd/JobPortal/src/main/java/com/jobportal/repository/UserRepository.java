@@ -5,8 +5,11 @@ import com.jobportal.entity.UserRole;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,8 +22,16 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByEmailAndRole(String email, UserRole role);
 
+    // Lightweight status lookup for token authentication (no profile associations loaded)
+    @Query("SELECT u.isVerified FROM User u WHERE u.id = :id")
+    Optional<Boolean> findVerifiedById(@Param("id") UUID id);
+
     // Admin methods
     long countByRole(UserRole role);
 
+    // [role, count] pairs, one query for all roles
+    @Query("SELECT u.role, COUNT(u) FROM User u GROUP BY u.role")
+    List<Object[]> countGroupedByRole();
+
     Page<User> findByRole(UserRole role, Pageable pageable);
 }
@@ -1,11 +1,14 @@
 package com.jobportal.security;
 
+import com.jobportal.entity.UserRole;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +18,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -22,16 +26,23 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String STREAM_PATH = "/api/messages/stream";
+
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
+    private final UserAccessCache userAccessCache;
+
+    // Build the principal from token claims instead of loading the user on every request
+    @Value("${security.jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
-        // Skip filter for public file endpoints and uploads
+        // Skip filter for public file endpoints and uploads (logout needs the caller's identity)
         return path.startsWith("/api/files/") || 
                path.startsWith("/uploads/") ||
-               path.startsWith("/api/auth/");
+               (path.startsWith("/api/auth/") && !path.equals("/api/auth/logout"));
     }
 
     @Override
@@ -42,10 +53,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = getJwtFromRequest(request);
 
             if (StringUtils.hasText(jwt) && !"undefined".equals(jwt) && !"null".equals(jwt)) {
-                // Validate token and ensure it's an access token (not refresh token)
-                if (jwtTokenProvider.validateToken(jwt) && jwtTokenProvider.isAccessToken(jwt)) {
-                    UUID userId = jwtTokenProvider.getUserIdFromToken(jwt);
-                    UserDetails userDetails = customUserDetailsService.loadUserById(userId);
+                // Validate token and ensure it's an access token (not refresh token), parsing it once
+                Optional<Claims> claims = jwtTokenProvider.parseAccessToken(jwt);
+                if (claims.isPresent()) {
+                    UserDetails userDetails = statelessPrincipal
+                            ? buildPrincipal(claims.get())
+                            : customUserDetailsService.loadUserById(UUID.fromString(claims.get().getSubject()));
+
+                    if (userDetails == null) {
+                        // Deleted user or token revoked by logout
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
 
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
@@ -61,11 +80,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserPrincipal buildPrincipal(Claims claims) {
+        UUID userId = UUID.fromString(claims.getSubject());
+        Optional<Boolean> verified = userAccessCache.checkAccess(userId, claims.getIssuedAt());
+        if (verified.isEmpty()) {
+            return null;
+        }
+
+        return UserPrincipal.fromClaims(
+                userId,
+                claims.get("email", String.class),
+                UserRole.valueOf(claims.get("role", String.class)),
+                verified.get());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
         }
+        // Browser EventSource cannot set headers, so the message stream also accepts a query parameter
+        if (STREAM_PATH.equals(request.getRequestURI())) {
+            return request.getParameter("access_token");
+        }
         return null;
     }
 }
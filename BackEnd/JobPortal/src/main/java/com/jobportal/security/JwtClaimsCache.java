@@ -0,0 +1,76 @@
+package com.jobportal.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of already-verified access token claims, keyed by a SHA-256
+ * hash of the token. Entries are dropped once the token's exp has passed.
+ */
+class JwtClaimsCache {
+
+    private final int maxSize;
+    private final Map<String, Claims> entries = new ConcurrentHashMap<>();
+
+    JwtClaimsCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    Claims get(String token) {
+        String key = hash(token);
+        Claims claims = entries.get(key);
+        if (claims == null) {
+            return null;
+        }
+        if (isExpired(claims, System.currentTimeMillis())) {
+            entries.remove(key, claims);
+            return null;
+        }
+        return claims;
+    }
+
+    void put(String token, Claims claims) {
+        if (claims.getExpiration() == null || maxSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evictExpired();
+            if (entries.size() >= maxSize) {
+                // Still full of live tokens: skip caching rather than grow unbounded
+                return;
+            }
+        }
+        entries.put(hash(token), claims);
+    }
+
+    void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(claims -> isExpired(claims, now));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(Claims claims, long now) {
+        Date expiration = claims.getExpiration();
+        return expiration == null || expiration.getTime() <= now;
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -5,11 +5,13 @@ import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -25,11 +27,21 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int claimsCacheMaxSize;
+
     private SecretKey key;
+    private JwtParser parser;
+    private JwtClaimsCache claimsCache;
 
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        // JwtParser is immutable and thread-safe; build it once
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        this.claimsCache = new JwtClaimsCache(claimsCacheMaxSize);
     }
 
     public String generateAccessToken(UUID userId, String email, String role) {
@@ -60,42 +72,59 @@ public class JwtTokenProvider {
     }
 
     public UUID getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
 
         return UUID.fromString(claims.getSubject());
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
 
         return claims.get("email", String.class);
     }
 
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
 
         return claims.get("role", String.class);
     }
 
     public boolean validateToken(String token) {
+        return parseValidClaims(token) != null;
+    }
+
+    /**
+     * Parse and verify an access token once, returning its claims.
+     * Verified claims are cached until the token's expiration, so repeated
+     * requests with the same token skip signature verification.
+     * Returns empty for invalid, expired or refresh tokens.
+     */
+    public Optional<Claims> parseAccessToken(String token) {
+        Claims cached = claimsCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Claims claims = parseValidClaims(token);
+        if (claims == null || "refresh".equals(claims.get("type", String.class))) {
+            return Optional.empty();
+        }
+
+        claimsCache.put(token, claims);
+        return Optional.of(claims);
+    }
+
+    /**
+     * Drop cached claims of expired tokens.
+     */
+    @Scheduled(fixedDelayString = "${jwt.claims-cache.cleanup-interval-ms:60000}")
+    public void evictExpiredClaims() {
+        claimsCache.evictExpired();
+    }
+
+    private Claims parseValidClaims(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch (MalformedJwtException ex) {
             log.error("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
@@ -107,7 +136,7 @@ public class JwtTokenProvider {
         } catch (Exception ex) {
             log.error("JWT validation failed", ex);
         }
-        return false;
+        return null;
     }
 
     /**
@@ -115,11 +144,7 @@ public class JwtTokenProvider {
      */
     public boolean isAccessToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = parser.parseSignedClaims(token).getPayload();
             // Access tokens have email claim, refresh tokens have type=refresh
             String type = claims.get("type", String.class);
             return type == null || !"refresh".equals(type);
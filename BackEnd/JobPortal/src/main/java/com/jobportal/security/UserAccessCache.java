@@ -0,0 +1,101 @@
+package com.jobportal.security;
+
+import com.jobportal.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory account status used when authenticating from JWT claims alone.
+ * Tracks whether a user still exists and is verified (reloaded from the
+ * database after a short TTL), plus tokens revoked by logout.
+ */
+@Slf4j
+@Component
+public class UserAccessCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final long accessTokenExpiration;
+
+    private final Map<UUID, AccessState> states = new ConcurrentHashMap<>();
+    // userId -> epoch millis (whole seconds) before which issued access tokens are rejected
+    private final Map<UUID, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    public UserAccessCache(UserRepository userRepository,
+            @Value("${security.user-access-cache.ttl-ms:60000}") long ttlMillis,
+            @Value("${jwt.access-token-expiration}") long accessTokenExpiration) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlMillis;
+        this.accessTokenExpiration = accessTokenExpiration;
+    }
+
+    /**
+     * Check whether a token for this user, issued at {@code issuedAt}, may still be used.
+     * Returns the user's verification status when access is allowed, empty otherwise.
+     */
+    public Optional<Boolean> checkAccess(UUID userId, Date issuedAt) {
+        Long revoked = revokedBefore.get(userId);
+        if (revoked != null && (issuedAt == null || issuedAt.getTime() < revoked)) {
+            return Optional.empty();
+        }
+
+        long now = System.currentTimeMillis();
+        AccessState state = states.get(userId);
+        if (state == null || now - state.loadedAt() > ttlMillis) {
+            state = load(userId, now);
+        }
+
+        return state.active() ? Optional.of(state.verified()) : Optional.empty();
+    }
+
+    /**
+     * Forget the cached status so the next request reloads it (e.g. verification toggled).
+     */
+    public void invalidate(UUID userId) {
+        states.remove(userId);
+    }
+
+    /**
+     * Reject every token of a deleted user without waiting for the TTL.
+     */
+    public void revokeUser(UUID userId) {
+        states.put(userId, new AccessState(false, false, System.currentTimeMillis()));
+    }
+
+    /**
+     * Reject access tokens issued before now (logout). Tokens carry iat in whole
+     * seconds, so the cutoff is truncated to the current second.
+     */
+    public void revokeTokens(UUID userId) {
+        long cutoff = (System.currentTimeMillis() / 1000) * 1000;
+        revokedBefore.merge(userId, cutoff, Math::max);
+        states.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${security.user-access-cache.cleanup-interval-ms:60000}")
+    public void evictStale() {
+        long now = System.currentTimeMillis();
+        states.values().removeIf(state -> now - state.loadedAt() > ttlMillis);
+        // Once the access-token lifetime has passed, every revoked token has expired anyway
+        revokedBefore.values().removeIf(cutoff -> now - cutoff > accessTokenExpiration);
+    }
+
+    private AccessState load(UUID userId, long now) {
+        AccessState state = userRepository.findVerifiedById(userId)
+                .map(verified -> new AccessState(true, Boolean.TRUE.equals(verified), now))
+                .orElseGet(() -> new AccessState(false, false, now));
+        states.put(userId, state);
+        return state;
+    }
+
+    private record AccessState(boolean active, boolean verified, long loadedAt) {
+    }
+}
@@ -39,6 +39,20 @@ public class UserPrincipal implements UserDetails {
                 .build();
     }
 
+    /**
+     * Build a principal from verified access-token claims, without loading the user.
+     * The password is not available in this mode.
+     */
+    public static UserPrincipal fromClaims(UUID id, String email, UserRole role, boolean isVerified) {
+        return UserPrincipal.builder()
+                .id(id)
+                .email(email)
+                .role(role)
+                .isVerified(isVerified)
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_" + role.name())))
+                .build();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
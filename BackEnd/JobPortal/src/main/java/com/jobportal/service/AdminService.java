@@ -2,10 +2,14 @@ package com.jobportal.service;
 
 import com.jobportal.dto.admin.*;
 import com.jobportal.entity.*;
+import com.jobportal.event.EmployerDeletedEvent;
+import com.jobportal.event.JobChangedEvent;
 import com.jobportal.exception.ResourceNotFoundException;
 import com.jobportal.repository.*;
+import com.jobportal.security.UserAccessCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -13,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -28,25 +33,25 @@ public class AdminService {
     private final EmployerProfileRepository employerProfileRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CompanyInfoLoader companyInfoLoader;
+    private final UserAccessCache userAccessCache;
+    private final PlatformStatsService platformStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get dashboard statistics
      */
     public DashboardStatsDto getDashboardStats() {
-        long totalUsers = userRepository.count();
-        long totalJobSeekers = userRepository.countByRole(UserRole.JOB_SEEKER);
-        long totalEmployers = userRepository.countByRole(UserRole.EMPLOYER);
-        long totalJobs = jobRepository.count();
-        long activeJobs = jobRepository.countByStatus(JobStatus.ACTIVE);
-        long totalApplications = applicationRepository.count();
+        PlatformStatsService.Snapshot stats = platformStatsService.getSnapshot();
 
         return DashboardStatsDto.builder()
-                .totalUsers(totalUsers)
-                .totalJobSeekers(totalJobSeekers)
-                .totalEmployers(totalEmployers)
-                .totalJobs(totalJobs)
-                .activeJobs(activeJobs)
-                .totalApplications(totalApplications)
+                .totalUsers(stats.totalUsers())
+                .totalJobSeekers(stats.totalJobSeekers())
+                .totalEmployers(stats.totalEmployers())
+                .totalJobs(stats.totalJobs())
+                .activeJobs(stats.activeJobs())
+                .totalApplications(stats.totalApplications())
+                .computedAt(stats.computedAt())
                 .build();
     }
 
@@ -97,6 +102,8 @@ public class AdminService {
 
         // 2. Delete role-specific data (jobs or applications)
         if (user.getRole() == UserRole.EMPLOYER) {
+            // Published while the jobs still exist, so their removal from the RAG index is queued
+            eventPublisher.publishEvent(new EmployerDeletedEvent(userId, jobRepository.findIdsByEmployerId(userId)));
             // Delete all jobs posted by this employer (applications cascade from jobs)
             jobRepository.deleteByEmployerId(userId);
         } else if (user.getRole() == UserRole.JOB_SEEKER) {
@@ -105,6 +112,7 @@ public class AdminService {
         }
 
         userRepository.delete(user);
+        userAccessCache.revokeUser(userId);
         log.info("Admin deleted user: {}", userId);
     }
 
@@ -123,6 +131,7 @@ public class AdminService {
 
         user.setIsVerified(!user.getIsVerified());
         userRepository.save(user);
+        userAccessCache.invalidate(userId);
 
         log.info("Admin toggled verification for user {}: now {}", userId, user.getIsVerified());
         return mapToUserDetailDto(user);
@@ -144,7 +153,8 @@ public class AdminService {
             jobs = jobRepository.findAll(pageable);
         }
 
-        return jobs.map(this::mapToJobListDto);
+        Map<UUID, EmployerProfile> profiles = companyInfoLoader.loadProfiles(jobs.getContent());
+        return jobs.map(job -> mapToJobListDto(job, profiles.get(job.getEmployer().getId())));
     }
 
     /**
@@ -178,6 +188,7 @@ public class AdminService {
                 .orElseThrow(() -> new ResourceNotFoundException("Job", "id", jobId.toString()));
 
         jobRepository.delete(job);
+        eventPublisher.publishEvent(new JobChangedEvent(jobId, job.getEmployer().getId()));
         log.info("Admin deleted job: {}", jobId);
     }
 
@@ -239,10 +250,8 @@ public class AdminService {
         return builder.build();
     }
 
-    private JobListDto mapToJobListDto(Job job) {
-        String companyName = employerProfileRepository.findByUserId(job.getEmployer().getId())
-                .map(EmployerProfile::getCompanyName)
-                .orElse("Unknown Company");
+    private JobListDto mapToJobListDto(Job job, EmployerProfile profile) {
+        String companyName = profile != null ? profile.getCompanyName() : "Unknown Company";
 
         return JobListDto.builder()
                 .id(job.getId().toString())
@@ -251,7 +260,8 @@ public class AdminService {
                 .location(job.getLocation())
                 .status(job.getStatus().name())
                 .createdAt(job.getCreatedAt())
-                .applicationCount(job.getApplications() != null ? job.getApplications().size() : 0)
+                // Trigger-maintained counter; avoids initializing the applications collection per row
+                .applicationCount(job.getApplicantsCount() != null ? job.getApplicantsCount() : 0)
                 .build();
     }
 
@@ -1,8 +1,10 @@
 package com.jobportal.service;
 
 import com.jobportal.dto.application.*;
+import com.jobportal.dto.common.ImageVariantsDto;
 import com.jobportal.dto.common.PaginationResponse;
 import com.jobportal.entity.*;
+import com.jobportal.event.ApplicationChangedEvent;
 import com.jobportal.exception.BadRequestException;
 import com.jobportal.exception.ConflictException;
 import com.jobportal.exception.ForbiddenException;
@@ -11,6 +13,7 @@ import com.jobportal.repository.*;
 import com.jobportal.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -33,6 +36,7 @@ public class ApplicationService {
     private final JobSeekerProfileRepository jobSeekerProfileRepository;
     private final EmployerProfileRepository employerProfileRepository;
     private final SecurityUtils securityUtils;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ApplicationDto applyJob(ApplyJobRequest request) {
@@ -93,6 +97,9 @@ public class ApplicationService {
         job.setApplicantsCount(job.getApplicantsCount() + 1);
         jobRepository.save(job);
 
+        eventPublisher.publishEvent(
+                new ApplicationChangedEvent(application.getId(), job.getId(), applicantId, job.getEmployer().getId()));
+
         return mapToApplicationDto(application);
     }
 
@@ -190,6 +197,11 @@ public class ApplicationService {
         }
 
         application = applicationRepository.save(application);
+
+        eventPublisher.publishEvent(
+                new ApplicationChangedEvent(application.getId(), application.getJob().getId(),
+                        application.getApplicant().getId(), currentUserId));
+
         return mapToApplicationDto(application);
     }
 
@@ -202,6 +214,7 @@ public class ApplicationService {
             companyInfo = ApplicationDto.CompanyInfo.builder()
                     .name(employerProfile.getCompanyName())
                     .logo(employerProfile.getCompanyLogo())
+                    .logoVariants(ImageVariantsDto.of(employerProfile.getCompanyLogo()))
                     .build();
         }
 
@@ -225,6 +238,7 @@ public class ApplicationService {
                         .email(application.getApplicant().getEmail())
                         .phone(applicantProfile.getPhone())
                         .avatar(applicantProfile.getAvatarUrl())
+                        .avatarVariants(ImageVariantsDto.of(applicantProfile.getAvatarUrl()))
                         .location(applicantProfile.getLocation())
                         .bio(applicantProfile.getBio())
                         .skills(applicantProfile.getSkills())
@@ -1,6 +1,7 @@
 package com.jobportal.service;
 
 import com.jobportal.dto.auth.*;
+import com.jobportal.dto.common.ImageVariantsDto;
 import com.jobportal.dto.profile.EmployerProfileDto;
 import com.jobportal.dto.profile.JobSeekerProfileDto;
 import com.jobportal.entity.*;
@@ -9,6 +10,7 @@ import com.jobportal.exception.ConflictException;
 import com.jobportal.exception.UnauthorizedException;
 import com.jobportal.repository.*;
 import com.jobportal.security.JwtTokenProvider;
+import com.jobportal.security.UserAccessCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -42,6 +44,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final UserAccessCache userAccessCache;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -205,8 +208,14 @@ public class AuthService {
 
     @Transactional
     public void logout(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+
         // Revoke all refresh tokens for user
         refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+        // Reject access tokens issued so far
+        userAccessCache.revokeTokens(userId);
     }
 
     @Transactional
@@ -279,6 +288,7 @@ public class AuthService {
                 .id(profile.getId().toString())
                 .fullName(profile.getFullName())
                 .avatar(profile.getAvatarUrl())
+                .avatarVariants(ImageVariantsDto.of(profile.getAvatarUrl()))
                 .phone(profile.getPhone())
                 .location(profile.getLocation())
                 .bio(profile.getBio())
@@ -293,8 +303,10 @@ public class AuthService {
                 .id(profile.getId().toString())
                 .fullName(profile.getFullName())
                 .avatar(profile.getAvatarUrl())
+                .avatarVariants(ImageVariantsDto.of(profile.getAvatarUrl()))
                 .companyName(profile.getCompanyName())
                 .companyLogo(profile.getCompanyLogo())
+                .companyLogoVariants(ImageVariantsDto.of(profile.getCompanyLogo()))
                 .companyType(profile.getCompanyType())
                 .industry(profile.getIndustry())
                 .companySize(profile.getCompanySize())
@@ -0,0 +1,64 @@
+package com.jobportal.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Where uploaded file bytes are kept. Selected with {@code file.storage.type}:
+ * {@link FileSystemBlobStore} (default) or {@link S3BlobStore}.
+ *
+ * Keys are paths relative to the upload root, i.e. the part of a file URL after /uploads/
+ * ("blobs/ab/cd/<sha256>.pdf"). Objects are written once and never modified.
+ */
+public interface BlobStore {
+
+    /**
+     * Size and modification time of an object, or empty if it does not exist.
+     */
+    Optional<BlobMetadata> stat(String key) throws IOException;
+
+    /**
+     * Store the content of a local file under the key, replacing any existing object.
+     * The source file may be moved away; callers must not use it afterwards.
+     */
+    void put(String key, Path source, String contentType) throws IOException;
+
+    /**
+     * Store a small in-memory content (thumbnails) under the key.
+     */
+    void put(String key, byte[] content, String contentType) throws IOException;
+
+    /**
+     * Read an object. Throws {@link java.nio.file.NoSuchFileException} if it does not exist.
+     */
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Delete an object; deleting a missing object is not an error.
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * The object as a file on this machine, for stores that keep one (served with sendfile).
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    /**
+     * A time-limited URL clients can download the object from directly, for stores that support it.
+     */
+    default Optional<URI> presignedGetUrl(String key) {
+        return Optional.empty();
+    }
+
+    /**
+     * @param etag the store's own quoted entity tag, or null if it has none
+     */
+    record BlobMetadata(long size, Instant lastModified, String etag) {
+    }
+}
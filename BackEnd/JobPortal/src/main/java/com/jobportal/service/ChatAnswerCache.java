@@ -0,0 +1,196 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.chatbot.ChatRequest;
+import com.jobportal.dto.chatbot.ChatResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of chatbot answers in front of the RAG service. Entries are keyed by the
+ * normalized question, the retrieval/model parameters and a hash of the injected
+ * context, expire after a TTL and are evicted least-recently-used beyond the size limit.
+ *
+ * When near-duplicate matching is enabled, questions are also indexed by a word
+ * fingerprint (their sorted {@link TextKeywords}), so
+ * "How do I upload my CV?" and "how can I upload a CV" share an answer. Questions with
+ * fewer than two keywords ("Why?", "Is it remote?") say too little to match on
+ * and are cached by their exact text only.
+ */
+@Slf4j
+@Service
+public class ChatAnswerCache {
+
+    private static final int MIN_FINGERPRINT_KEYWORDS = 2;
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final boolean nearDuplicates;
+
+    // Access-ordered map: iteration order is least-recently-used first
+    private final Map<String, CachedAnswer> entries;
+
+    private final Counter hits;
+    private final Counter nearHits;
+    private final Counter misses;
+
+    public ChatAnswerCache(
+            MeterRegistry meterRegistry,
+            @Value("${chatbot.answer-cache.ttl-ms:3600000}") long ttlMillis,
+            @Value("${chatbot.answer-cache.max-entries:1000}") int maxEntries,
+            @Value("${chatbot.answer-cache.near-duplicates:true}") boolean nearDuplicates) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.nearDuplicates = nearDuplicates;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAnswer> eldest) {
+                return size() > ChatAnswerCache.this.maxEntries;
+            }
+        };
+
+        this.hits = Counter.builder("chatbot.answer.cache")
+                .tag("result", "hit")
+                .description("Chatbot answers served from cache")
+                .register(meterRegistry);
+        this.nearHits = Counter.builder("chatbot.answer.cache")
+                .tag("result", "near_hit")
+                .description("Chatbot answers served from cache for a near-duplicate question")
+                .register(meterRegistry);
+        this.misses = Counter.builder("chatbot.answer.cache")
+                .tag("result", "miss")
+                .description("Chatbot questions sent to the RAG service")
+                .register(meterRegistry);
+        Gauge.builder("chatbot.answer.cache.size", this, ChatAnswerCache::size)
+                .description("Cached chatbot answer entries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Look up a cached answer for this request (exact question first, then its fingerprint).
+     */
+    public Optional<ChatResponse> get(ChatRequest request) {
+        if (maxEntries <= 0) {
+            return Optional.empty();
+        }
+
+        String scope = scope(request);
+        ChatResponse answer = lookup(exactKey(scope, request.getQuestion()));
+        if (answer != null) {
+            hits.increment();
+            return Optional.of(answer);
+        }
+
+        String fingerprintKey = fingerprintKey(scope, request.getQuestion());
+        if (fingerprintKey != null) {
+            answer = lookup(fingerprintKey);
+            if (answer != null) {
+                nearHits.increment();
+                return Optional.of(answer);
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Remember a successful answer. Error responses are never cached.
+     */
+    public void put(ChatRequest request, ChatResponse response) {
+        if (maxEntries <= 0 || response == null || response.isError()) {
+            return;
+        }
+
+        String scope = scope(request);
+        CachedAnswer entry = new CachedAnswer(response, System.currentTimeMillis());
+        String fingerprintKey = fingerprintKey(scope, request.getQuestion());
+        synchronized (entries) {
+            entries.put(exactKey(scope, request.getQuestion()), entry);
+            if (fingerprintKey != null) {
+                entries.put(fingerprintKey, entry);
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        log.info("Chatbot answer cache cleared");
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private ChatResponse lookup(String key) {
+        synchronized (entries) {
+            CachedAnswer entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - entry.storedAt() > ttlMillis) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.response();
+        }
+    }
+
+    // Everything except the question that changes the answer
+    private String scope(ChatRequest request) {
+        return request.getCollectionName() + '|' + request.getModel() + '|' + request.getK() + '|'
+                + request.getThreshold() + '|' + hash(request.getContext());
+    }
+
+    private String exactKey(String scope, String question) {
+        return "q|" + scope + '|' + normalize(question);
+    }
+
+    // Null when near-duplicate matching is off or the question has too few keywords
+    private String fingerprintKey(String scope, String question) {
+        if (!nearDuplicates) {
+            return null;
+        }
+        Set<String> keywords = TextKeywords.keywords(question);
+        if (keywords.size() < MIN_FINGERPRINT_KEYWORDS) {
+            return null;
+        }
+        return "f|" + scope + '|' + keywords.stream().sorted().collect(Collectors.joining(" "));
+    }
+
+    private static String normalize(String question) {
+        return TextKeywords.normalize(question);
+    }
+
+    private static String hash(String context) {
+        if (context == null || context.isEmpty()) {
+            return "-";
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(context.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record CachedAnswer(ChatResponse response, long storedAt) {
+    }
+}
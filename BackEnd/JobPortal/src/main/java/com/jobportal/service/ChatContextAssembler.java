@@ -0,0 +1,196 @@
+package com.jobportal.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Assembles the chatbot context for one question within a token budget.
+ *
+ * Every section entry is scored against the question's keywords: a match on the
+ * section's topics ("applications", "saved", ...) makes all of its entries candidates,
+ * a match on the entry's own words adds to that. Candidates are taken greedily by
+ * score until the budget is spent, and only sections that received something are
+ * emitted, in their original order. A question that matches nothing gets the
+ * sections in priority order, as far as the budget allows.
+ */
+@Slf4j
+@Service
+public class ChatContextAssembler {
+
+    private static final String HEADER = "=== APPLICATION DATA CONTEXT ===\n\n";
+    private static final String FOOTER = "\n=== END OF CONTEXT ===\n";
+
+    // Rough estimate for English text with the models we run; no tokenizer round trip
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int TOPIC_WEIGHT = 3;
+    private static final int KEYWORD_WEIGHT = 2;
+
+    // Entry index of a candidate standing for a section without entries
+    private static final int NO_ENTRY = -1;
+
+    private final int tokenBudget;
+    private final DistributionSummary contextTokens;
+    private final DistributionSummary contextSections;
+
+    public ChatContextAssembler(
+            MeterRegistry meterRegistry,
+            @Value("${chatbot.context.token-budget:800}") int tokenBudget) {
+        this.tokenBudget = tokenBudget;
+        this.contextTokens = DistributionSummary.builder("chatbot.context.tokens")
+                .baseUnit("tokens")
+                .description("Estimated size of the context injected into chatbot questions")
+                .register(meterRegistry);
+        this.contextSections = DistributionSummary.builder("chatbot.context.sections")
+                .description("Context sections injected into chatbot questions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Pick the sections and entries relevant to the question and render them.
+     *
+     * @return the context, or an empty string when nothing fits
+     */
+    public String assemble(String question, List<ContextSection> sections) {
+        Set<String> keywords = TextKeywords.keywords(question);
+        List<Candidate> candidates = score(keywords, sections);
+        if (candidates.isEmpty()) {
+            candidates = fallback(sections);
+        }
+        // Highest score first; ties keep section priority and entry recency
+        candidates.sort(Comparator.comparingInt(Candidate::score).reversed()
+                .thenComparingInt(Candidate::section)
+                .thenComparingInt(Candidate::entry));
+
+        boolean[] opened = new boolean[sections.size()];
+        boolean[][] chosen = new boolean[sections.size()][];
+        for (int i = 0; i < sections.size(); i++) {
+            chosen[i] = new boolean[sections.get(i).entries().size()];
+        }
+
+        int used = tokens(HEADER) + tokens(FOOTER);
+        for (Candidate candidate : candidates) {
+            ContextSection section = sections.get(candidate.section());
+            int cost = candidate.entry() == NO_ENTRY
+                    ? 0
+                    : tokens(section.entries().get(candidate.entry()).text()) + 1;
+            if (!opened[candidate.section()]) {
+                cost += headingTokens(section);
+            }
+            // A smaller candidate further down may still fit, so keep going
+            if (used + cost > tokenBudget) {
+                continue;
+            }
+            used += cost;
+            opened[candidate.section()] = true;
+            if (candidate.entry() != NO_ENTRY) {
+                chosen[candidate.section()][candidate.entry()] = true;
+            }
+        }
+
+        String context = render(sections, opened, chosen);
+        int sectionCount = 0;
+        for (boolean open : opened) {
+            sectionCount += open ? 1 : 0;
+        }
+        contextTokens.record(tokens(context));
+        contextSections.record(sectionCount);
+        log.debug("Assembled chatbot context: {} of {} sections, ~{} tokens (budget {})",
+                sectionCount, sections.size(), tokens(context), tokenBudget);
+        return context;
+    }
+
+    private List<Candidate> score(Set<String> keywords, List<ContextSection> sections) {
+        List<Candidate> candidates = new ArrayList<>();
+        if (keywords.isEmpty()) {
+            return candidates;
+        }
+        for (int s = 0; s < sections.size(); s++) {
+            ContextSection section = sections.get(s);
+            int sectionScore = TOPIC_WEIGHT * overlap(keywords, section.topics());
+            if (section.entries().isEmpty()) {
+                if (sectionScore > 0) {
+                    candidates.add(new Candidate(s, NO_ENTRY, sectionScore));
+                }
+                continue;
+            }
+            for (int e = 0; e < section.entries().size(); e++) {
+                int score = sectionScore
+                        + KEYWORD_WEIGHT * overlap(keywords, section.entries().get(e).keywords());
+                if (score > 0) {
+                    candidates.add(new Candidate(s, e, score));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private List<Candidate> fallback(List<ContextSection> sections) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (int s = 0; s < sections.size(); s++) {
+            int entries = sections.get(s).entries().size();
+            if (entries == 0) {
+                candidates.add(new Candidate(s, NO_ENTRY, 0));
+            }
+            for (int e = 0; e < entries; e++) {
+                candidates.add(new Candidate(s, e, 0));
+            }
+        }
+        return candidates;
+    }
+
+    private String render(List<ContextSection> sections, boolean[] opened, boolean[][] chosen) {
+        StringBuilder sb = new StringBuilder();
+        for (int s = 0; s < sections.size(); s++) {
+            if (!opened[s]) {
+                continue;
+            }
+            ContextSection section = sections.get(s);
+            sb.append(section.title()).append("\n");
+            section.summary().forEach(line -> sb.append(line).append("\n"));
+            for (int e = 0; e < chosen[s].length; e++) {
+                if (chosen[s][e]) {
+                    sb.append(section.entries().get(e).text()).append("\n");
+                }
+            }
+            sb.append("\n");
+        }
+        if (sb.isEmpty()) {
+            return "";
+        }
+        return HEADER + sb + FOOTER;
+    }
+
+    private static int overlap(Set<String> keywords, Set<String> words) {
+        int count = 0;
+        for (String keyword : keywords) {
+            if (words.contains(keyword)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Title, summary lines and the blank line closing the section
+    private static int headingTokens(ContextSection section) {
+        int tokens = tokens(section.title()) + 2;
+        for (String line : section.summary()) {
+            tokens += tokens(line) + 1;
+        }
+        return tokens;
+    }
+
+    private static int tokens(String text) {
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    private record Candidate(int section, int entry, int score) {
+    }
+}
@@ -1,16 +1,30 @@
 package com.jobportal.service;
 
 import com.jobportal.entity.*;
+import com.jobportal.event.ApplicationChangedEvent;
+import com.jobportal.event.EmployerDeletedEvent;
+import com.jobportal.event.JobChangedEvent;
+import com.jobportal.event.ProfileUpdatedEvent;
+import com.jobportal.event.SavedJobsChangedEvent;
 import com.jobportal.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -18,6 +32,12 @@ import java.util.stream.Collectors;
  * question.
  * This context is injected into the RAG pipeline to provide real-time
  * application data.
+ *
+ * Per-user sections are cached and dropped when the user's data changes (domain
+ * events below); the "available jobs" section is shared by all job seekers and
+ * cached once. A TTL bounds staleness from changes made by other users (e.g. a
+ * saved job's title being edited). Which of the sections reach the LLM, and how much
+ * of each, is decided per question by {@link ChatContextAssembler}.
  */
 @Service
 public class ChatContextService {
@@ -25,167 +45,345 @@ public class ChatContextService {
     private static final Logger log = LoggerFactory.getLogger(ChatContextService.class);
     private static final int MAX_JOBS_IN_CONTEXT = 20;
     private static final int MAX_APPLICATIONS_IN_CONTEXT = 15;
+    private static final int MAX_SAVED_JOBS_IN_CONTEXT = 15;
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
+
+    // Question words that make a whole section relevant (see ChatContextAssembler)
+    private static final Set<String> SEEKER_PROFILE_TOPICS = TextKeywords.keywords(
+            "profile skills skill experience cv resume location name qualifications background");
+    private static final Set<String> AVAILABLE_JOB_TOPICS = TextKeywords.keywords(
+            "jobs job openings positions roles vacancies available hiring work remote salary pay "
+                    + "contract internship recommend match suitable find search apply");
+    private static final Set<String> APPLICATION_TOPICS = TextKeywords.keywords(
+            "applications application applied apply status progress interview hired rejected "
+                    + "pending reviewed shortlisted response");
+    private static final Set<String> SAVED_JOB_TOPICS = TextKeywords.keywords(
+            "saved save bookmarked bookmark favorites favourite later shortlist");
+    private static final Set<String> COMPANY_PROFILE_TOPICS = TextKeywords.keywords(
+            "company profile industry size location employer business");
+    private static final Set<String> POSTED_JOB_TOPICS = TextKeywords.keywords(
+            "jobs job posted posting postings listings listing openings active closed draft "
+                    + "vacancies performance total");
+    private static final Set<String> RECEIVED_APPLICATION_TOPICS = TextKeywords.keywords(
+            "applications application applicants applicant candidates candidate received review "
+                    + "reviewed pending shortlisted shortlist interview hire hired latest recent");
+    private static final Set<String> PLATFORM_TOPICS = TextKeywords.keywords(
+            "statistics stats platform total count number many jobs applications active draft closed overview");
 
     private final JobRepository jobRepository;
     private final ApplicationRepository applicationRepository;
     private final JobSeekerProfileRepository jobSeekerProfileRepository;
     private final EmployerProfileRepository employerProfileRepository;
     private final SavedJobRepository savedJobRepository;
+    private final CompanyInfoLoader companyInfoLoader;
+    private final ChatContextAssembler contextAssembler;
+    private final PlatformStatsService platformStatsService;
+
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final Map<UUID, UserContext> userContexts = new ConcurrentHashMap<>();
+    private final AtomicReference<SharedSection> availableJobs = new AtomicReference<>();
+    // Bumped on every invalidation, before the entry is dropped. A build started before a bump
+    // is not cached; one put just as the bump happens is taken out again (see below).
+    private final AtomicLong userGeneration = new AtomicLong();
+    private final AtomicLong jobsGeneration = new AtomicLong();
 
     public ChatContextService(
             JobRepository jobRepository,
             ApplicationRepository applicationRepository,
             JobSeekerProfileRepository jobSeekerProfileRepository,
             EmployerProfileRepository employerProfileRepository,
-            SavedJobRepository savedJobRepository) {
+            SavedJobRepository savedJobRepository,
+            CompanyInfoLoader companyInfoLoader,
+            ChatContextAssembler contextAssembler,
+            PlatformStatsService platformStatsService,
+            @Value("${chatbot.context-cache.ttl-ms:300000}") long ttlMillis,
+            @Value("${chatbot.context-cache.max-entries:5000}") int maxEntries) {
         this.jobRepository = jobRepository;
         this.applicationRepository = applicationRepository;
         this.jobSeekerProfileRepository = jobSeekerProfileRepository;
         this.employerProfileRepository = employerProfileRepository;
         this.savedJobRepository = savedJobRepository;
+        this.companyInfoLoader = companyInfoLoader;
+        this.contextAssembler = contextAssembler;
+        this.platformStatsService = platformStatsService;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
     }
 
     /**
-     * Build context for a user based on their role.
+     * Build context for a user based on their role, trimmed to what is relevant to the question.
      *
-     * @param userId The authenticated user's ID
-     * @param role   The user's role (JOB_SEEKER or EMPLOYER)
+     * @param userId   The authenticated user's ID
+     * @param role     The user's role (JOB_SEEKER or EMPLOYER)
+     * @param question The question being asked, used to select sections
      * @return Formatted context string for the LLM
      */
-    public String buildContextForUser(UUID userId, UserRole role) {
+    public String buildContextForUser(UUID userId, UserRole role, String question) {
         if (role == null || userId == null) {
             return "";
         }
 
-        StringBuilder context = new StringBuilder();
-        context.append("=== APPLICATION DATA CONTEXT ===\n\n");
-
+        List<ContextSection> sections = new ArrayList<>();
         switch (role) {
-            case JOB_SEEKER:
-                context.append(buildJobSeekerContext(userId));
+            case JOB_SEEKER: {
+                UserContext user = getUserContext(userId, role);
+                // Profile first, then the shared jobs section, then the user's activity
+                sections.addAll(user.sections().subList(0, user.leadingSections()));
+                ContextSection jobs = getAvailableJobsSection();
+                if (jobs != null) {
+                    sections.add(jobs);
+                }
+                sections.addAll(user.sections().subList(user.leadingSections(), user.sections().size()));
                 break;
+            }
             case EMPLOYER:
-                context.append(buildEmployerContext(userId));
+                sections.addAll(getUserContext(userId, role).sections());
                 break;
             case ADMIN:
-                context.append(buildAdminContext());
+                sections.add(buildAdminSection());
                 break;
             default:
                 return "";
         }
 
-        context.append("\n=== END OF CONTEXT ===\n");
-        return context.toString();
+        return contextAssembler.assemble(question, sections);
+    }
+
+    // Cache invalidation. Listeners run after commit so a rebuild sees the new data.
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplicationChanged(ApplicationChangedEvent event) {
+        invalidateUser(event.applicantId());
+        invalidateUser(event.employerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSavedJobsChanged(SavedJobsChangedEvent event) {
+        invalidateUser(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileUpdated(ProfileUpdatedEvent event) {
+        invalidateUser(event.userId());
+        if (event.role() == UserRole.EMPLOYER) {
+            // Company names appear in the shared jobs section
+            invalidateAvailableJobs();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        invalidateUser(event.employerId());
+        invalidateAvailableJobs();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployerDeleted(EmployerDeletedEvent event) {
+        invalidateUser(event.employerId());
+        invalidateAvailableJobs();
+    }
+
+    @Scheduled(fixedDelayString = "${chatbot.context-cache.cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        userContexts.values().removeIf(entry -> now - entry.builtAt() > ttlMillis);
+    }
+
+    private void invalidateUser(UUID userId) {
+        if (userId != null) {
+            userGeneration.incrementAndGet();
+            userContexts.remove(userId);
+        }
+    }
+
+    private void invalidateAvailableJobs() {
+        jobsGeneration.incrementAndGet();
+        availableJobs.set(null);
+    }
+
+    private UserContext getUserContext(UUID userId, UserRole role) {
+        long now = System.currentTimeMillis();
+        UserContext cached = userContexts.get(userId);
+        if (cached != null && cached.role() == role && now - cached.builtAt() <= ttlMillis) {
+            return cached;
+        }
+
+        long generation = userGeneration.get();
+        UserContext built = role == UserRole.EMPLOYER
+                ? buildEmployerContext(userId, now)
+                : buildJobSeekerContext(userId, now);
+
+        if (userGeneration.get() == generation) {
+            if (userContexts.size() >= maxEntries) {
+                evictExpired();
+            }
+            // Still full of live entries: skip caching rather than grow unbounded
+            if (userContexts.size() < maxEntries) {
+                userContexts.put(userId, built);
+                // An invalidation between the check and the put may have removed nothing
+                if (userGeneration.get() != generation) {
+                    userContexts.remove(userId, built);
+                }
+            }
+        }
+        log.debug("Built chatbot context for user {}", userId);
+        return built;
+    }
+
+    private ContextSection getAvailableJobsSection() {
+        long now = System.currentTimeMillis();
+        SharedSection cached = availableJobs.get();
+        if (cached != null && now - cached.builtAt() <= ttlMillis) {
+            return cached.section();
+        }
+
+        long generation = jobsGeneration.get();
+        ContextSection section = buildAvailableJobsSection();
+        if (jobsGeneration.get() == generation) {
+            SharedSection built = new SharedSection(section, now);
+            availableJobs.set(built);
+            if (jobsGeneration.get() != generation) {
+                availableJobs.compareAndSet(built, null);
+            }
+        }
+        return section;
     }
 
     /**
-     * Build context for a job seeker.
+     * Build the job seeker's own sections: profile, then applications and saved jobs.
      */
-    private String buildJobSeekerContext(UUID userId) {
-        StringBuilder sb = new StringBuilder();
+    private UserContext buildJobSeekerContext(UUID userId, long now) {
+        List<ContextSection> sections = new ArrayList<>();
 
         // User profile
         jobSeekerProfileRepository.findByUserId(userId).ifPresent(profile -> {
-            sb.append("YOUR PROFILE:\n");
-            sb.append("- Name: ").append(profile.getFullName()).append("\n");
+            List<String> lines = new ArrayList<>();
+            lines.add("- Name: " + profile.getFullName());
             if (profile.getLocation() != null) {
-                sb.append("- Location: ").append(profile.getLocation()).append("\n");
+                lines.add("- Location: " + profile.getLocation());
             }
             if (profile.getSkills() != null && !profile.getSkills().isEmpty()) {
-                sb.append("- Skills: ").append(String.join(", ", profile.getSkills())).append("\n");
+                lines.add("- Skills: " + String.join(", ", profile.getSkills()));
             }
             if (profile.getExperience() != null) {
-                sb.append("- Experience: ").append(profile.getExperience()).append("\n");
+                lines.add("- Experience: " + profile.getExperience());
             }
             if (profile.getCvFileUrl() != null) {
-                sb.append("- CV uploaded: Yes\n");
+                lines.add("- CV uploaded: Yes");
             } else {
-                sb.append("- CV uploaded: No (you need to upload a CV to apply for jobs)\n");
+                lines.add("- CV uploaded: No (you need to upload a CV to apply for jobs)");
             }
-            sb.append("\n");
+            sections.add(ContextSection.of("YOUR PROFILE:", List.of(), lines, SEEKER_PROFILE_TOPICS));
         });
+        int leadingSections = sections.size();
 
-        // Available jobs
-        var activeJobs = jobRepository.findByStatus(
-                JobStatus.ACTIVE,
-                PageRequest.of(0, MAX_JOBS_IN_CONTEXT, Sort.by(Sort.Direction.DESC, "postedAt")));
-
-        if (!activeJobs.isEmpty()) {
-            sb.append("AVAILABLE JOBS (").append(activeJobs.getTotalElements()).append(" total):\n");
-            int index = 1;
-            for (Job job : activeJobs.getContent()) {
-                sb.append(index++).append(". ")
-                        .append(job.getTitle())
-                        .append(" at ").append(getCompanyName(job))
-                        .append(" - ").append(job.getLocation())
-                        .append(" (").append(formatJobType(job.getType())).append(")");
-
-                if (job.getSalaryMin() != null && job.getSalaryMax() != null) {
-                    sb.append(" - $").append(job.getSalaryMin().intValue())
-                            .append("-$").append(job.getSalaryMax().intValue());
-                }
-                sb.append("\n");
-            }
-            sb.append("\n");
-        }
-
-        // User's applications
-        var applications = applicationRepository.findByApplicantId(
+        // User's applications and saved jobs, with jobs fetched in the same query
+        var applications = applicationRepository.findByApplicantIdWithJob(
                 userId,
                 PageRequest.of(0, MAX_APPLICATIONS_IN_CONTEXT, Sort.by(Sort.Direction.DESC, "appliedAt")));
+        var savedJobs = savedJobRepository.findByUserIdWithJob(
+                userId,
+                PageRequest.of(0, MAX_SAVED_JOBS_IN_CONTEXT, Sort.by(Sort.Direction.DESC, "savedAt")));
+
+        // Company names for both lists in one query
+        List<Job> jobs = new ArrayList<>();
+        applications.forEach(app -> jobs.add(app.getJob()));
+        savedJobs.forEach(saved -> jobs.add(saved.getJob()));
+        Map<UUID, EmployerProfile> profiles = companyInfoLoader.loadProfiles(jobs);
 
         if (!applications.isEmpty()) {
-            sb.append("YOUR APPLICATIONS (").append(applications.getTotalElements()).append(" total):\n");
+            List<String> lines = new ArrayList<>();
             for (Application app : applications.getContent()) {
-                sb.append("- ").append(app.getJob().getTitle())
-                        .append(" at ").append(getCompanyName(app.getJob()))
+                StringBuilder line = new StringBuilder("- ").append(app.getJob().getTitle())
+                        .append(" at ").append(getCompanyName(app.getJob(), profiles))
                         .append(" - Status: ").append(formatStatus(app.getStatus()));
 
                 if (app.getAppliedAt() != null) {
-                    sb.append(" (Applied: ").append(app.getAppliedAt().format(DATE_FORMAT)).append(")");
+                    line.append(" (Applied: ").append(app.getAppliedAt().format(DATE_FORMAT)).append(")");
                 }
-                sb.append("\n");
+                lines.add(line.toString());
             }
-            sb.append("\n");
+            sections.add(ContextSection.of(
+                    "YOUR APPLICATIONS (" + applications.getTotalElements() + " total):",
+                    List.of(), lines, APPLICATION_TOPICS));
         } else {
-            sb.append("YOUR APPLICATIONS: You haven't applied to any jobs yet.\n\n");
+            sections.add(ContextSection.note(
+                    "YOUR APPLICATIONS: You haven't applied to any jobs yet.", APPLICATION_TOPICS));
         }
 
         // Saved jobs
-        var savedJobs = savedJobRepository.findByUserId(userId);
         if (!savedJobs.isEmpty()) {
-            sb.append("YOUR SAVED JOBS (").append(savedJobs.size()).append("):\n");
-            for (SavedJob saved : savedJobs) {
-                sb.append("- ").append(saved.getJob().getTitle())
-                        .append(" at ").append(getCompanyName(saved.getJob()))
-                        .append("\n");
+            List<String> lines = savedJobs.getContent().stream()
+                    .map(saved -> "- " + saved.getJob().getTitle()
+                            + " at " + getCompanyName(saved.getJob(), profiles))
+                    .toList();
+            sections.add(ContextSection.of(
+                    "YOUR SAVED JOBS (" + savedJobs.getTotalElements() + "):",
+                    List.of(), lines, SAVED_JOB_TOPICS));
+        } else {
+            // Only emitted for questions about saved jobs
+            sections.add(ContextSection.note("YOUR SAVED JOBS: You haven't saved any jobs yet.", SAVED_JOB_TOPICS));
+        }
+
+        return new UserContext(UserRole.JOB_SEEKER, List.copyOf(sections), leadingSections, now);
+    }
+
+    /**
+     * Build the "available jobs" section shared by every job seeker, or null when there are none.
+     */
+    private ContextSection buildAvailableJobsSection() {
+        var activeJobs = jobRepository.findByStatus(
+                JobStatus.ACTIVE,
+                PageRequest.of(0, MAX_JOBS_IN_CONTEXT, Sort.by(Sort.Direction.DESC, "postedAt")));
+
+        if (activeJobs.isEmpty()) {
+            return null;
+        }
+
+        Map<UUID, EmployerProfile> profiles = companyInfoLoader.loadProfiles(activeJobs.getContent());
+        List<String> lines = new ArrayList<>();
+        for (Job job : activeJobs.getContent()) {
+            StringBuilder line = new StringBuilder("- ")
+                    .append(job.getTitle())
+                    .append(" at ").append(getCompanyName(job, profiles))
+                    .append(" - ").append(job.getLocation())
+                    .append(" (").append(formatJobType(job.getType())).append(")");
+
+            if (job.getSalaryMin() != null && job.getSalaryMax() != null) {
+                line.append(" - $").append(job.getSalaryMin().intValue())
+                        .append("-$").append(job.getSalaryMax().intValue());
             }
+            lines.add(line.toString());
         }
 
-        return sb.toString();
+        return ContextSection.of(
+                "AVAILABLE JOBS (" + activeJobs.getTotalElements() + " total):",
+                List.of(), lines, AVAILABLE_JOB_TOPICS);
     }
 
     /**
      * Build context for an employer.
      */
-    private String buildEmployerContext(UUID userId) {
-        StringBuilder sb = new StringBuilder();
+    private UserContext buildEmployerContext(UUID userId, long now) {
+        List<ContextSection> sections = new ArrayList<>();
 
         // Company profile
         employerProfileRepository.findByUserId(userId).ifPresent(profile -> {
-            sb.append("YOUR COMPANY PROFILE:\n");
-            sb.append("- Company: ").append(profile.getCompanyName()).append("\n");
+            List<String> lines = new ArrayList<>();
+            lines.add("- Company: " + profile.getCompanyName());
             if (profile.getIndustry() != null) {
-                sb.append("- Industry: ").append(profile.getIndustry()).append("\n");
+                lines.add("- Industry: " + profile.getIndustry());
             }
             if (profile.getCompanySize() != null) {
-                sb.append("- Size: ").append(profile.getCompanySize()).append("\n");
+                lines.add("- Size: " + profile.getCompanySize());
             }
             if (profile.getLocation() != null) {
-                sb.append("- Location: ").append(profile.getLocation()).append("\n");
+                lines.add("- Location: " + profile.getLocation());
             }
-            sb.append("\n");
+            sections.add(ContextSection.of("YOUR COMPANY PROFILE:", List.of(), lines, COMPANY_PROFILE_TOPICS));
         });
 
         // Employer's jobs
@@ -194,23 +392,27 @@ public class ChatContextService {
                 PageRequest.of(0, MAX_JOBS_IN_CONTEXT, Sort.by(Sort.Direction.DESC, "createdAt")));
 
         if (!jobs.isEmpty()) {
-            sb.append("YOUR POSTED JOBS (").append(jobs.getTotalElements()).append(" total):\n");
+            List<String> lines = new ArrayList<>();
             int totalApplications = 0;
             for (Job job : jobs.getContent()) {
                 int appCount = job.getApplicantsCount() != null ? job.getApplicantsCount() : 0;
                 totalApplications += appCount;
-                sb.append("- ").append(job.getTitle())
+                StringBuilder line = new StringBuilder("- ").append(job.getTitle())
                         .append(" (").append(job.getStatus()).append(")")
                         .append(" - ").append(appCount).append(" applications");
 
                 if (job.getPostedAt() != null) {
-                    sb.append(" - Posted: ").append(job.getPostedAt().format(DATE_FORMAT));
+                    line.append(" - Posted: ").append(job.getPostedAt().format(DATE_FORMAT));
                 }
-                sb.append("\n");
+                lines.add(line.toString());
             }
-            sb.append("\nTotal applications received: ").append(totalApplications).append("\n\n");
+            sections.add(ContextSection.of(
+                    "YOUR POSTED JOBS (" + jobs.getTotalElements() + " total):",
+                    List.of("Total applications received: " + totalApplications),
+                    lines, POSTED_JOB_TOPICS));
         } else {
-            sb.append("YOUR POSTED JOBS: You haven't posted any jobs yet.\n\n");
+            sections.add(ContextSection.note(
+                    "YOUR POSTED JOBS: You haven't posted any jobs yet.", POSTED_JOB_TOPICS));
         }
 
         // Recent applications for employer's jobs
@@ -219,8 +421,6 @@ public class ChatContextService {
                 PageRequest.of(0, MAX_APPLICATIONS_IN_CONTEXT, Sort.by(Sort.Direction.DESC, "appliedAt")));
 
         if (!applications.isEmpty()) {
-            sb.append("RECENT APPLICATIONS TO YOUR JOBS:\n");
-
             // Group by status
             long pending = applications.getContent().stream()
                     .filter(a -> a.getStatus() == ApplicationStatus.PENDING).count();
@@ -231,62 +431,51 @@ public class ChatContextService {
             long hired = applications.getContent().stream()
                     .filter(a -> a.getStatus() == ApplicationStatus.HIRED).count();
 
-            sb.append("Summary: ")
-                    .append(pending).append(" pending, ")
-                    .append(reviewed).append(" reviewed, ")
-                    .append(shortlisted).append(" shortlisted, ")
-                    .append(hired).append(" hired\n\n");
+            String summary = "Summary: " + pending + " pending, " + reviewed + " reviewed, "
+                    + shortlisted + " shortlisted, " + hired + " hired";
 
-            sb.append("Latest applicants:\n");
+            List<String> lines = new ArrayList<>();
             for (Application app : applications.getContent().stream().limit(10).collect(Collectors.toList())) {
                 String applicantName = getApplicantName(app);
-                sb.append("- ").append(applicantName)
+                StringBuilder line = new StringBuilder("- ").append(applicantName)
                         .append(" applied for ").append(app.getJob().getTitle())
                         .append(" - ").append(formatStatus(app.getStatus()));
 
                 if (app.getAppliedAt() != null) {
-                    sb.append(" (").append(app.getAppliedAt().format(DATE_FORMAT)).append(")");
+                    line.append(" (").append(app.getAppliedAt().format(DATE_FORMAT)).append(")");
                 }
-                sb.append("\n");
+                lines.add(line.toString());
             }
+            sections.add(ContextSection.of(
+                    "RECENT APPLICATIONS TO YOUR JOBS:",
+                    List.of(summary, "Latest applicants:"), lines, RECEIVED_APPLICATION_TOPICS));
         }
 
-        return sb.toString();
+        return new UserContext(UserRole.EMPLOYER, List.copyOf(sections), sections.size(), now);
     }
 
     /**
-     * Build context for an admin.
+     * Build context for an admin from the periodically refreshed platform counters.
      */
-    private String buildAdminContext() {
-        StringBuilder sb = new StringBuilder();
-
-        sb.append("PLATFORM STATISTICS:\n");
-
-        // Job statistics
-        long activeJobs = jobRepository.countByStatus(JobStatus.ACTIVE);
-        long draftJobs = jobRepository.countByStatus(JobStatus.DRAFT);
-        long closedJobs = jobRepository.countByStatus(JobStatus.CLOSED);
-        long totalJobs = jobRepository.count();
-
-        sb.append("- Total Jobs: ").append(totalJobs).append("\n");
-        sb.append("  - Active: ").append(activeJobs).append("\n");
-        sb.append("  - Draft: ").append(draftJobs).append("\n");
-        sb.append("  - Closed: ").append(closedJobs).append("\n");
-
-        // Application statistics
-        long totalApplications = applicationRepository.count();
-        sb.append("- Total Applications: ").append(totalApplications).append("\n");
-
-        sb.append("\n");
-
-        return sb.toString();
+    private ContextSection buildAdminSection() {
+        PlatformStatsService.Snapshot stats = platformStatsService.getSnapshot();
+
+        List<String> lines = List.of(
+                "- Total Jobs: " + stats.totalJobs(),
+                "- Active Jobs: " + stats.activeJobs(),
+                "- Draft Jobs: " + stats.draftJobs(),
+                "- Closed Jobs: " + stats.closedJobs(),
+                "- Total Applications: " + stats.totalApplications());
+        return ContextSection.of("PLATFORM STATISTICS:",
+                List.of("As of " + stats.computedAt().format(TIME_FORMAT)), lines, PLATFORM_TOPICS);
     }
 
     // Helper methods
 
-    private String getCompanyName(Job job) {
-        if (job.getEmployer() != null && job.getEmployer().getEmployerProfile() != null) {
-            return job.getEmployer().getEmployerProfile().getCompanyName();
+    private String getCompanyName(Job job, Map<UUID, EmployerProfile> profiles) {
+        EmployerProfile profile = job.getEmployer() != null ? profiles.get(job.getEmployer().getId()) : null;
+        if (profile != null) {
+            return profile.getCompanyName();
         }
         return "Unknown Company";
     }
@@ -322,4 +511,11 @@ public class ChatContextService {
             case REJECTED -> "Rejected";
         };
     }
+
+    // Role-specific sections of one user's context; the first leadingSections precede the shared jobs section
+    private record UserContext(UserRole role, List<ContextSection> sections, int leadingSections, long builtAt) {
+    }
+
+    private record SharedSection(ContextSection section, long builtAt) {
+    }
 }
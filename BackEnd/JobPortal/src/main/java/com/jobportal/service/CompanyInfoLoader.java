@@ -0,0 +1,65 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.common.ImageVariantsDto;
+import com.jobportal.dto.job.JobListItemDto;
+import com.jobportal.entity.EmployerProfile;
+import com.jobportal.entity.Job;
+import com.jobportal.repository.EmployerProfileRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves employer profiles for a page of jobs with a single IN query,
+ * instead of one findByUser lookup per row.
+ */
+@Service
+@RequiredArgsConstructor
+public class CompanyInfoLoader {
+
+    private final EmployerProfileRepository employerProfileRepository;
+
+    /**
+     * Load the employer profiles of the given jobs, keyed by employer user ID.
+     */
+    public Map<UUID, EmployerProfile> loadProfiles(Collection<Job> jobs) {
+        // getEmployer().getId() reads the proxy identifier without initializing it
+        Set<UUID> employerIds = jobs.stream()
+                .map(job -> job.getEmployer().getId())
+                .collect(Collectors.toSet());
+
+        return loadProfilesByEmployerIds(employerIds);
+    }
+
+    /**
+     * Load employer profiles keyed by employer user ID.
+     */
+    public Map<UUID, EmployerProfile> loadProfilesByEmployerIds(Collection<UUID> employerIds) {
+        if (employerIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return employerProfileRepository.findByUserIdIn(employerIds).stream()
+                .collect(Collectors.toMap(profile -> profile.getUser().getId(), Function.identity()));
+    }
+
+    public static JobListItemDto.CompanyInfo toCompanyInfo(EmployerProfile profile) {
+        if (profile == null) {
+            return null;
+        }
+
+        return JobListItemDto.CompanyInfo.builder()
+                .id(profile.getId().toString())
+                .name(profile.getCompanyName())
+                .logo(profile.getCompanyLogo())
+                .logoVariants(ImageVariantsDto.of(profile.getCompanyLogo()))
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.jobportal.service;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One titled block of chatbot context. Entries are scored individually against the
+ * question; the title and summary lines are emitted once, ahead of the chosen entries.
+ *
+ * @param title   heading line, e.g. "YOUR APPLICATIONS (3 total):"
+ * @param summary lines that only make sense with the section (totals, status counts)
+ * @param entries one line per item, most important (most recent) first
+ * @param topics  keywords that make the whole section relevant to a question
+ */
+record ContextSection(String title, List<String> summary, List<Entry> entries, Set<String> topics) {
+
+    static ContextSection of(String title, List<String> summary, List<String> lines, Set<String> topics) {
+        List<Entry> entries = lines.stream()
+                .map(line -> new Entry(line, TextKeywords.keywords(line)))
+                .toList();
+        return new ContextSection(title, List.copyOf(summary), entries, topics);
+    }
+
+    /**
+     * Section without entries, e.g. "YOUR APPLICATIONS: You haven't applied to any jobs yet."
+     */
+    static ContextSection note(String title, Set<String> topics) {
+        return new ContextSection(title, List.of(), List.of(), topics);
+    }
+
+    // Keywords are extracted once when the section is built (and cached), not per question
+    record Entry(String text, Set<String> keywords) {
+    }
+}
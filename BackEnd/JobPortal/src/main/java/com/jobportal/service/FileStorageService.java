@@ -1,74 +1,345 @@
 package com.jobportal.service;
 
+import com.jobportal.dto.common.ImageVariantsDto;
+import com.jobportal.exception.BadRequestException;
+import com.jobportal.repository.StoredBlobRepository;
+import com.jobportal.service.BlobStore.BlobMetadata;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Stores uploads content-addressed and shared between references, in the configured {@link BlobStore}.
+ * Which blobs are still referenced is tracked in stored_blobs by database triggers.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class FileStorageService {
 
-    @Value("${file.upload-dir}")
-    private String uploadDir;
+    private static final String URL_PREFIX = "/uploads/";
+    private static final String BLOB_DIR = "blobs";
+    private static final String THUMBNAIL_DIR = "thumbs";
+    private static final int SWEEP_BATCH_SIZE = 500;
 
-    public String storeFile(MultipartFile file, String subDirectory) {
+    private final StoredBlobRepository blobRepository;
+    private final BlobStore blobStore;
+
+    // Where uploads are staged while they are hashed; outside file.upload-dir, which is served
+    @Value("${file.temp-dir}")
+    private String tempDir;
+
+    @Value("${file.max-size-bytes:10485760}")
+    private long maxFileSize;
+
+    @Value("${file.blob-sweep.grace-ms:3600000}")
+    private long sweepGraceMillis;
+
+    @Value("${file.etag-cache.max-entries:10000}")
+    private int etagCacheMaxEntries;
+
+    // Content hashes by key, valid while the file's size and modification time are unchanged
+    private final Map<String, CachedEtag> etags = new ConcurrentHashMap<>();
+
+    /**
+     * Store an upload under its content hash (/uploads/blobs/ab/cd/<sha256>.<ext>) and return its URL.
+     * Identical content is stored once. The file is hashed while it is streamed to a local temp file,
+     * then handed to the blob store. The blob is registered in its own committed transaction
+     * first, so a file stored for a reference that is then rolled back is still swept.
+     */
+    public String storeFile(MultipartFile file) {
+        Path temp = null;
         try {
-            // Create directory if it doesn't exist
-            Path uploadPath = Paths.get(uploadDir, subDirectory);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
+            Path stagingDir = Files.createDirectories(Paths.get(tempDir).toAbsolutePath().normalize());
+            temp = Files.createTempFile(stagingDir, "upload-", ".part");
 
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String extension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                extension = originalFilename.substring(originalFilename.lastIndexOf("."));
+            MessageDigest digest = sha256Digest();
+            long size = 0;
+            try (InputStream in = file.getInputStream(); OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxFileSize) {
+                        throw new BadRequestException("File size must be less than " + maxFileSize / (1024 * 1024) + "MB");
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
             }
-            String newFilename = UUID.randomUUID().toString() + extension;
 
-            // Store file
-            Path filePath = uploadPath.resolve(newFilename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String key = BLOB_DIR + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/"
+                    + hash + extension(file.getOriginalFilename());
+            String url = URL_PREFIX + key;
 
-            // Return relative URL (in production, this would be a full URL to a CDN or file
-            // server)
-            return "/uploads/" + subDirectory + "/" + newFilename;
+            // Register before storing, so a concurrent sweep of this blob has finished (or skips it)
+            blobRepository.register(url, hash, size);
+            if (blobStore.stat(key).isPresent()) {
+                log.debug("Upload deduplicated: {}", url);
+            } else {
+                blobStore.put(key, temp, contentType(key));
+            }
+            return url;
         } catch (IOException e) {
             log.error("Failed to store file", e);
             throw new RuntimeException("Failed to store file: " + e.getMessage());
+        } finally {
+            deleteQuietly(temp);
         }
     }
 
+    /**
+     * Delete an uploaded file. Blobs are not deleted here: they may be shared, and are
+     * removed by the sweep once no profile or application references them.
+     */
     public void deleteFile(String fileUrl) {
+        if (fileUrl == null || !fileUrl.startsWith(URL_PREFIX) || fileUrl.startsWith(URL_PREFIX + BLOB_DIR + "/")) {
+            return;
+        }
         try {
-            if (fileUrl != null && fileUrl.startsWith("/uploads/")) {
-                Path filePath = Paths.get(uploadDir, fileUrl.substring("/uploads/".length()));
-                Files.deleteIfExists(filePath);
-            }
+            blobStore.delete(key(fileUrl));
         } catch (IOException e) {
             log.error("Failed to delete file: {}", fileUrl, e);
         }
     }
 
-    public byte[] loadFile(String fileUrl) {
+    /**
+     * Remove blobs that have been unreferenced for longer than the grace period.
+     */
+    @Scheduled(fixedDelayString = "${file.blob-sweep.interval-ms:600000}",
+            initialDelayString = "${file.blob-sweep.interval-ms:600000}")
+    @Transactional
+    public void sweepUnreferencedBlobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(sweepGraceMillis));
+        List<String> urls = blobRepository.lockUnreferenced(cutoff, SWEEP_BATCH_SIZE);
+        if (urls.isEmpty()) {
+            return;
+        }
+
+        List<String> deleted = new ArrayList<>();
+        for (String url : urls) {
+            try {
+                String key = key(url);
+                String hash = blobHash(key);
+                if (hash != null) {
+                    for (int size : ImageVariantsDto.SIZES) {
+                        blobStore.delete(thumbnailKey(hash, key, size));
+                    }
+                }
+                blobStore.delete(key);
+                deleted.add(url);
+            } catch (IOException e) {
+                log.warn("Failed to delete unreferenced blob {}: {}", url, e.getMessage());
+            }
+        }
+        blobRepository.deleteByUrlIn(deleted);
+        log.info("Removed {} unreferenced blob(s)", deleted.size());
+    }
+
+    /**
+     * Look up a stored file by its URL (/uploads/...) without reading its content.
+     * Empty if the file does not exist or is not readable.
+     */
+    public Optional<StoredFile> findFile(String fileUrl) {
+        String key = key(fileUrl);
         try {
-            if (fileUrl != null && fileUrl.startsWith("/uploads/")) {
-                Path filePath = Paths.get(uploadDir, fileUrl.substring("/uploads/".length()));
-                return Files.readAllBytes(filePath);
+            Optional<BlobMetadata> metadata = blobStore.stat(key);
+            if (metadata.isEmpty()) {
+                log.debug("File not found: {}", fileUrl);
+                return Optional.empty();
             }
-            return null;
+            return Optional.of(new StoredFile(key, metadata.get().size(), metadata.get().lastModified(),
+                    etag(key, metadata.get())));
         } catch (IOException e) {
-            log.error("Failed to load file: {}", fileUrl, e);
+            log.warn("Failed to look up file {}: {}", fileUrl, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Strong ETag of a stored file: its content hash. Blob names are their SHA-256; other files use
+     * the store's own ETag if it has one, else their SHA-256 computed once per file version.
+     */
+    private String etag(String key, BlobMetadata metadata) throws IOException {
+        String hash = blobHash(key);
+        if (hash != null) {
+            return "\"" + hash + "\"";
+        }
+        if (metadata.etag() != null) {
+            return metadata.etag();
+        }
+
+        long modified = metadata.lastModified().toEpochMilli();
+        CachedEtag cached = etags.get(key);
+        if (cached != null && cached.size() == metadata.size() && cached.modified() == modified) {
+            return cached.etag();
+        }
+        String etag = "\"" + sha256(key) + "\"";
+        if (etags.size() < etagCacheMaxEntries) {
+            etags.put(key, new CachedEtag(etag, metadata.size(), modified));
+        }
+        return etag;
+    }
+
+    /**
+     * Read a stored file's content.
+     */
+    public InputStream open(StoredFile file) throws IOException {
+        return blobStore.open(file.key());
+    }
+
+    /**
+     * The stored file on this machine's disk, when the blob store keeps one.
+     */
+    public Optional<Path> localPath(StoredFile file) {
+        return blobStore.localPath(file.key());
+    }
+
+    /**
+     * A time-limited URL the client can download the file from directly, when the blob store supports it.
+     */
+    public Optional<URI> presignedUrl(StoredFile file) {
+        return blobStore.presignedGetUrl(file.key());
+    }
+
+    /**
+     * URL of a thumbnail of an uploaded image: /uploads/thumbs/ab/cd/<hash of the original>-<size>.<ext>.
+     * Thumbnails of JPEG images are JPEG, all others PNG.
+     */
+    public String thumbnailUrl(StoredFile original, int size) {
+        return URL_PREFIX + thumbnailKey(original.etag().replace("\"", ""), original.key(), size);
+    }
+
+    public void storeThumbnail(String thumbnailUrl, byte[] content) throws IOException {
+        String key = key(thumbnailUrl);
+        blobStore.put(key, content, contentType(key));
+    }
+
+    /**
+     * Content type of a stored file, from its extension.
+     */
+    public static String contentType(String fileName) {
+        String lowerPath = fileName.toLowerCase();
+        if (lowerPath.endsWith(".pdf")) {
+            return "application/pdf";
+        } else if (lowerPath.endsWith(".jpg") || lowerPath.endsWith(".jpeg")) {
+            return "image/jpeg";
+        } else if (lowerPath.endsWith(".png")) {
+            return "image/png";
+        } else if (lowerPath.endsWith(".webp")) {
+            return "image/webp";
+        } else if (lowerPath.endsWith(".doc")) {
+            return "application/msword";
+        } else if (lowerPath.endsWith(".docx")) {
+            return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+        }
+        return "application/octet-stream";
+    }
+
+    // The blob store key of a /uploads/... URL, rejecting paths that escape the upload root
+    private static String key(String fileUrl) {
+        if (fileUrl == null || !fileUrl.startsWith(URL_PREFIX)) {
+            throw new BadRequestException("Invalid file path");
+        }
+        Path relative = Paths.get(fileUrl.substring(URL_PREFIX.length())).normalize();
+        if (relative.isAbsolute() || relative.startsWith("..") || relative.toString().isEmpty()) {
+            throw new BadRequestException("Invalid file path");
+        }
+        return relative.toString().replace('\\', '/');
+    }
+
+    private static String thumbnailKey(String hash, String originalKey, int size) {
+        String name = originalKey.toLowerCase();
+        String extension = name.endsWith(".jpg") || name.endsWith(".jpeg") ? ".jpg" : ".png";
+        return THUMBNAIL_DIR + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/"
+                + hash + "-" + size + extension;
+    }
+
+    private static String blobHash(String key) {
+        if (!key.startsWith(BLOB_DIR + "/")) {
             return null;
         }
+        String name = key.substring(key.lastIndexOf('/') + 1);
+        int dot = name.indexOf('.');
+        String hash = dot >= 0 ? name.substring(0, dot) : name;
+        return hash.length() == 64 ? hash : null;
+    }
+
+    // Lower-case extension of the original name (".pdf"), or "" if missing or unusual
+    private static String extension(String originalFilename) {
+        if (originalFilename == null || !originalFilename.contains(".")) {
+            return "";
+        }
+        String extension = originalFilename.substring(originalFilename.lastIndexOf('.') + 1).toLowerCase();
+        return extension.matches("[a-z0-9]{1,10}") ? "." + extension : "";
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Failed to delete temp file {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String sha256(String key) throws IOException {
+        MessageDigest digest = sha256Digest();
+        try (InputStream in = blobStore.open(key)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * A stored file with the metadata needed for conditional and range requests.
+     *
+     * @param key path relative to the upload root (the URL without /uploads/)
+     */
+    public record StoredFile(String key, long size, Instant lastModified, String etag) {
+
+        public String fileName() {
+            return key.substring(key.lastIndexOf('/') + 1);
+        }
+    }
+
+    private record CachedEtag(String etag, long size, long modified) {
     }
 }
@@ -0,0 +1,205 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.job.JobDto;
+import com.jobportal.entity.UserRole;
+import com.jobportal.event.ApplicationChangedEvent;
+import com.jobportal.event.EmployerDeletedEvent;
+import com.jobportal.event.JobChangedEvent;
+import com.jobportal.event.ProfileUpdatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of rendered job details keyed by job ID.
+ *
+ * Loads are single-flight: concurrent misses for the same job wait for one load
+ * instead of each querying the database. Entries are dropped after commit when the
+ * job, its applications or its employer's company profile change, and expire after a
+ * TTL since view counts are flushed in the background. Per-user flags (hasApplied,
+ * isSaved) are not part of the cached DTO. Every caller gets its own copy of the job,
+ * so changing a returned DTO never reaches other requests.
+ */
+@Slf4j
+@Service
+public class JobDetailCache {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final Map<UUID, CachedJob> entries = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<JobDto>> inFlight = new ConcurrentHashMap<>();
+    // Bumped on every invalidation, before entries are dropped; a load started before a bump
+    // is not cached, and one stored just as the bump happens is taken out again (see store)
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter coalesced;
+    private final Counter misses;
+
+    public JobDetailCache(
+            MeterRegistry meterRegistry,
+            @Value("${jobs.detail-cache.ttl-ms:60000}") long ttlMillis,
+            @Value("${jobs.detail-cache.max-entries:2000}") int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+
+        this.hits = Counter.builder("jobs.detail.cache")
+                .tag("result", "hit")
+                .description("Job details served from cache")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("jobs.detail.cache")
+                .tag("result", "coalesced")
+                .description("Job detail misses that waited for another request's load")
+                .register(meterRegistry);
+        this.misses = Counter.builder("jobs.detail.cache")
+                .tag("result", "miss")
+                .description("Job details loaded from the database")
+                .register(meterRegistry);
+        Gauge.builder("jobs.detail.cache.size", entries, Map::size)
+                .description("Cached job detail entries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached job, or load it once for all concurrent callers.
+     * Exceptions thrown by the loader (e.g. job not found) reach every waiting caller.
+     */
+    public JobDto get(UUID jobId, Supplier<JobDto> loader) {
+        long now = System.currentTimeMillis();
+        CachedJob cached = entries.get(jobId);
+        if (cached != null && now - cached.loadedAt() <= ttlMillis) {
+            hits.increment();
+            return copy(cached.job());
+        }
+
+        CompletableFuture<JobDto> flight = new CompletableFuture<>();
+        CompletableFuture<JobDto> leader = inFlight.putIfAbsent(jobId, flight);
+        if (leader != null) {
+            coalesced.increment();
+            return copy(await(leader));
+        }
+
+        misses.increment();
+        try {
+            long startGeneration = generation.get();
+            JobDto job = loader.get();
+            if (generation.get() == startGeneration) {
+                store(jobId, job, now, startGeneration);
+            }
+            flight.complete(job);
+            return copy(job);
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(jobId, flight);
+        }
+    }
+
+    // Invalidation. Listeners run after commit so the next load sees the new data.
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        invalidate(event.jobId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployerDeleted(EmployerDeletedEvent event) {
+        event.jobIds().forEach(this::invalidate);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplicationChanged(ApplicationChangedEvent event) {
+        // The applicant count is part of the job details
+        invalidate(event.jobId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileUpdated(ProfileUpdatedEvent event) {
+        if (event.role() == UserRole.EMPLOYER && event.userId() != null) {
+            // Company name, logo and description are embedded in every job of this employer
+            String employerId = event.userId().toString();
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> employerId.equals(entry.job().getEmployerId()));
+            inFlight.clear();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.detail-cache.cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> now - entry.loadedAt() > ttlMillis);
+    }
+
+    private void invalidate(UUID jobId) {
+        if (jobId != null) {
+            generation.incrementAndGet();
+            entries.remove(jobId);
+            // Later readers must not join a load that may have read the old row
+            inFlight.remove(jobId);
+        }
+    }
+
+    private void store(UUID jobId, JobDto job, long loadedAt, long loadGeneration) {
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+        }
+        // Still full of live entries: skip caching rather than grow unbounded
+        if (entries.size() < maxEntries) {
+            CachedJob entry = new CachedJob(job, loadedAt);
+            entries.put(jobId, entry);
+            // An invalidation between the caller's check and the put may have removed nothing
+            if (generation.get() != loadGeneration) {
+                entries.remove(jobId, entry);
+            }
+        }
+    }
+
+    // The cached instance never leaves the cache: JobDto and its parts are mutable
+    private static JobDto copy(JobDto job) {
+        JobDto.CompanyDto company = job.getCompany();
+        return job.toBuilder()
+                .requirements(copy(job.getRequirements()))
+                .skills(copy(job.getSkills()))
+                .benefits(copy(job.getBenefits()))
+                .company(company == null ? null : company.toBuilder()
+                        .logoVariants(company.getLogoVariants() == null ? null
+                                : company.getLogoVariants().toBuilder().build())
+                        .build())
+                .build();
+    }
+
+    private static List<String> copy(List<String> values) {
+        return values == null ? null : new ArrayList<>(values);
+    }
+
+    private static JobDto await(CompletableFuture<JobDto> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record CachedJob(JobDto job, long loadedAt) {
+    }
+}
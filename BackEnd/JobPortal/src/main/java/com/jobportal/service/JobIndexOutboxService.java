@@ -0,0 +1,221 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.chatbot.DocumentIndexRequest;
+import com.jobportal.dto.chatbot.IndexResponse;
+import com.jobportal.entity.EmployerProfile;
+import com.jobportal.entity.Job;
+import com.jobportal.entity.JobIndexOutboxEntry;
+import com.jobportal.entity.JobStatus;
+import com.jobportal.entity.UserRole;
+import com.jobportal.event.EmployerDeletedEvent;
+import com.jobportal.event.JobChangedEvent;
+import com.jobportal.event.ProfileUpdatedEvent;
+import com.jobportal.repository.JobIndexOutboxRepository;
+import com.jobportal.repository.JobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the RAG index in step with the jobs table through a transactional outbox.
+ *
+ * Job changes are recorded in job_index_outbox in the same transaction as the change
+ * itself. A background batcher leases due entries, coalesces them per job and pushes
+ * one bulk request to the RAG service: active jobs are (re)indexed, anything else
+ * (closed, draft, deleted) is removed. Failed batches are retried with exponential backoff.
+ */
+@Slf4j
+@Service
+public class JobIndexOutboxService {
+
+    private static final String DOCUMENT_PREFIX = "job:";
+
+    private final JobIndexOutboxRepository outboxRepository;
+    private final JobRepository jobRepository;
+    private final CompanyInfoLoader companyInfoLoader;
+    private final RagClientService ragClientService;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration retryBaseDelay;
+    private final Duration retryMaxDelay;
+    private final String collectionName;
+
+    public JobIndexOutboxService(
+            JobIndexOutboxRepository outboxRepository,
+            JobRepository jobRepository,
+            CompanyInfoLoader companyInfoLoader,
+            RagClientService ragClientService,
+            @Value("${rag.index-outbox.enabled:true}") boolean enabled,
+            @Value("${rag.index-outbox.batch-size:100}") int batchSize,
+            @Value("${rag.index-outbox.lease-ms:120000}") long leaseMs,
+            @Value("${rag.index-outbox.retry-base-delay-ms:5000}") long retryBaseDelayMs,
+            @Value("${rag.index-outbox.retry-max-delay-ms:600000}") long retryMaxDelayMs,
+            @Value("${rag.index-outbox.collection:documents}") String collectionName) {
+        this.outboxRepository = outboxRepository;
+        this.jobRepository = jobRepository;
+        this.companyInfoLoader = companyInfoLoader;
+        this.ragClientService = ragClientService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.retryBaseDelay = Duration.ofMillis(retryBaseDelayMs);
+        this.retryMaxDelay = Duration.ofMillis(retryMaxDelayMs);
+        this.collectionName = collectionName;
+    }
+
+    @EventListener
+    @Transactional
+    public void onJobChanged(JobChangedEvent event) {
+        outboxRepository.enqueue(event.jobId());
+    }
+
+    @EventListener
+    @Transactional
+    public void onEmployerDeleted(EmployerDeletedEvent event) {
+        // One set-based insert; the push finds the jobs gone and removes their documents
+        outboxRepository.enqueueByEmployerId(event.employerId());
+    }
+
+    @EventListener
+    @Transactional
+    public void onProfileUpdated(ProfileUpdatedEvent event) {
+        if (event.role() == UserRole.EMPLOYER) {
+            // The company name is part of every job document of this employer
+            outboxRepository.enqueueByEmployerId(event.userId());
+        }
+    }
+
+    /**
+     * Push one batch of pending job changes to the RAG index.
+     */
+    @Scheduled(fixedDelayString = "${rag.index-outbox.poll-interval-ms:5000}",
+            initialDelayString = "${rag.index-outbox.initial-delay-ms:30000}")
+    public void processOutbox() {
+        if (!enabled) {
+            return;
+        }
+
+        UUID token = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        if (outboxRepository.claim(token, now, now.plus(lease), batchSize) == 0) {
+            return;
+        }
+
+        List<JobIndexOutboxEntry> entries = outboxRepository.findByClaimToken(token);
+        List<Long> ids = entries.stream().map(JobIndexOutboxEntry::getId).toList();
+
+        String error;
+        try {
+            DocumentIndexRequest request = buildRequest(entries);
+            IndexResponse response = ragClientService.indexDocuments(request);
+            if (response.isSuccess()) {
+                outboxRepository.deleteByIdIn(ids);
+                log.info("Pushed {} job change(s) to the RAG index ({} indexed, {} removed)",
+                        entries.size(), request.getDocuments().size(), request.getDeleteIds().size());
+                return;
+            }
+            error = response.getMessage();
+        } catch (Exception e) {
+            error = e.getMessage();
+        }
+
+        int attempts = entries.stream().mapToInt(JobIndexOutboxEntry::getAttempts).max().orElse(0);
+        Duration delay = backoff(attempts);
+        outboxRepository.markFailed(ids, LocalDateTime.now().plus(delay), error);
+        log.warn("RAG index push of {} job change(s) failed (attempt {}), retrying in {}s: {}",
+                entries.size(), attempts + 1, delay.toSeconds(), error);
+    }
+
+    public long getPendingCount() {
+        return outboxRepository.countPending();
+    }
+
+    private DocumentIndexRequest buildRequest(List<JobIndexOutboxEntry> entries) {
+        // Several changes to the same job collapse into one upsert or delete
+        Set<UUID> jobIds = entries.stream()
+                .map(JobIndexOutboxEntry::getJobId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<UUID, Job> jobs = jobRepository.findAllById(jobIds).stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+        List<Job> activeJobs = jobs.values().stream()
+                .filter(job -> job.getStatus() == JobStatus.ACTIVE)
+                .toList();
+        Map<UUID, EmployerProfile> profiles = companyInfoLoader.loadProfiles(activeJobs);
+
+        List<DocumentIndexRequest.Document> documents = new ArrayList<>();
+        List<String> deleteIds = new ArrayList<>();
+        for (UUID jobId : jobIds) {
+            Job job = jobs.get(jobId);
+            if (job != null && job.getStatus() == JobStatus.ACTIVE) {
+                documents.add(toDocument(job, profiles.get(job.getEmployer().getId())));
+            } else {
+                deleteIds.add(DOCUMENT_PREFIX + jobId);
+            }
+        }
+
+        return new DocumentIndexRequest(collectionName, documents, deleteIds);
+    }
+
+    private DocumentIndexRequest.Document toDocument(Job job, EmployerProfile profile) {
+        String company = profile != null ? profile.getCompanyName() : "Unknown Company";
+
+        StringBuilder text = new StringBuilder();
+        text.append("Job: ").append(job.getTitle()).append(" at ").append(company).append("\n");
+        text.append("Location: ").append(job.getLocation()).append("\n");
+        if (job.getType() != null) {
+            text.append("Type: ").append(job.getType().getValue()).append("\n");
+        }
+        text.append("Category: ").append(job.getCategory()).append("\n");
+        if (job.getExperienceLevel() != null) {
+            text.append("Experience level: ").append(job.getExperienceLevel().getValue()).append("\n");
+        }
+        if (job.getSalaryMin() != null && job.getSalaryMax() != null) {
+            text.append("Salary: ").append(job.getSalaryMin().intValue())
+                    .append("-").append(job.getSalaryMax().intValue())
+                    .append(" ").append(job.getSalaryCurrency()).append("\n");
+        }
+        appendList(text, "Skills", job.getSkills());
+        appendList(text, "Requirements", job.getRequirements());
+        appendList(text, "Benefits", job.getBenefits());
+        text.append("\n").append(job.getDescription());
+
+        Map<String, String> metadata = Map.of(
+                "source", DOCUMENT_PREFIX + job.getId(),
+                "job_id", job.getId().toString(),
+                "title", job.getTitle(),
+                "company", company);
+
+        return new DocumentIndexRequest.Document(DOCUMENT_PREFIX + job.getId(), text.toString(), metadata);
+    }
+
+    private void appendList(StringBuilder text, String label, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            text.append(label).append(": ").append(String.join(", ", values)).append("\n");
+        }
+    }
+
+    // retryBaseDelay * 2^attempts, capped at retryMaxDelay
+    private Duration backoff(int attempts) {
+        long factor = 1L << Math.min(attempts, 20);
+        Duration delay = retryBaseDelay.multipliedBy(factor);
+        return delay.compareTo(retryMaxDelay) > 0 ? retryMaxDelay : delay;
+    }
+}
@@ -1,18 +1,23 @@
 package com.jobportal.service;
 
+import com.jobportal.dto.common.ImageVariantsDto;
 import com.jobportal.dto.common.PaginationResponse;
 import com.jobportal.dto.job.*;
 import com.jobportal.entity.*;
+import com.jobportal.event.JobChangedEvent;
+import com.jobportal.exception.BadRequestException;
 import com.jobportal.exception.ForbiddenException;
 import com.jobportal.exception.ResourceNotFoundException;
 import com.jobportal.repository.ApplicationRepository;
 import com.jobportal.repository.EmployerProfileRepository;
+import com.jobportal.repository.EmployerStatsRepository;
 import com.jobportal.repository.JobRepository;
 import com.jobportal.repository.SavedJobRepository;
 import com.jobportal.repository.UserRepository;
 import com.jobportal.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -20,7 +25,13 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,14 +43,22 @@ public class JobService {
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
     private final EmployerProfileRepository employerProfileRepository;
+    private final EmployerStatsRepository employerStatsRepository;
     private final SavedJobRepository savedJobRepository;
     private final ApplicationRepository applicationRepository;
     private final SecurityUtils securityUtils;
+    private final CompanyInfoLoader companyInfoLoader;
+    private final JobViewCounter jobViewCounter;
+    private final JobDetailCache jobDetailCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public JobListResponse getJobs(int page, int limit, String search, String location, String type,
             String category, String experienceLevel, String sortBy, String sortOrder) {
 
+        boolean fullText = search != null && !search.isBlank();
+        boolean byRelevance = fullText && "relevance".equalsIgnoreCase(sortBy);
+
         // Prepare pagination and sorting
         Sort sort = Sort.by(Sort.Direction.DESC, "postedAt");
         if (sortBy != null && !sortBy.isEmpty()) {
@@ -54,43 +73,53 @@ public class JobService {
         }
 
         int pageIndex = (page > 0) ? page - 1 : 0;
-        Pageable pageable = PageRequest.of(pageIndex, limit, sort);
 
         // Parse enums if present
-        JobType jobType = null;
-        if (type != null && !type.isEmpty()) {
-            try {
-                jobType = JobType.fromValue(type);
-            } catch (Exception ignored) {
-            }
-        }
-
-        ExperienceLevel expLevel = null;
-        if (experienceLevel != null && !experienceLevel.isEmpty()) {
-            try {
-                expLevel = ExperienceLevel.fromValue(experienceLevel);
-            } catch (Exception ignored) {
-            }
-        }
+        JobType jobType = parseJobType(type);
+        ExperienceLevel expLevel = parseExperienceLevel(experienceLevel);
 
         // Sanitize string parameters to avoid null binding issues in Hibernate
-        String safeSearch = search != null ? search : "";
         String safeLocation = location != null ? location : "";
         String safeCategory = category != null ? category : "";
 
         // Execute search
-        Page<Job> jobsPage = jobRepository.searchJobs(
-                JobStatus.ACTIVE,
-                safeSearch,
-                safeLocation,
-                jobType,
-                safeCategory,
-                expLevel,
-                pageable);
-
-        List<JobListItemDto> jobDtos = jobsPage.getContent().stream()
-                .map(this::mapToJobListItemDto)
-                .collect(Collectors.toList());
+        Page<Job> jobsPage;
+        if (fullText) {
+            // Native queries bind enums by their database value and sort on column names
+            String typeValue = jobType != null ? jobType.getValue() : "";
+            String expLevelValue = expLevel != null ? expLevel.getValue() : "";
+
+            if (byRelevance) {
+                jobsPage = jobRepository.searchJobsByRelevance(
+                        JobStatus.ACTIVE.getValue(),
+                        search.trim(),
+                        safeLocation,
+                        typeValue,
+                        safeCategory,
+                        expLevelValue,
+                        PageRequest.of(pageIndex, limit));
+            } else {
+                jobsPage = jobRepository.searchJobsFullText(
+                        JobStatus.ACTIVE.getValue(),
+                        search.trim(),
+                        safeLocation,
+                        typeValue,
+                        safeCategory,
+                        expLevelValue,
+                        PageRequest.of(pageIndex, limit, toColumnSort(sort)));
+            }
+        } else {
+            jobsPage = jobRepository.searchJobs(
+                    JobStatus.ACTIVE,
+                    safeLocation,
+                    jobType,
+                    safeCategory,
+                    expLevel,
+                    PageRequest.of(pageIndex, limit, sort));
+        }
+
+        List<JobListItemDto> jobDtos = mapToJobListItemDtos(jobsPage.getContent());
+        addUserFlags(jobDtos);
 
         return JobListResponse.builder()
                 .jobs(jobDtos)
@@ -98,13 +127,59 @@ public class JobService {
                 .build();
     }
 
-    @Transactional
+    /**
+     * Keyset-paginated public feed, newest first. The cursor is the opaque token returned
+     * as {@code nextCursor} by the previous page (null or empty for the first page).
+     */
+    @Transactional(readOnly = true)
+    public JobListResponse getJobsByCursor(String cursor, int limit, String search, String location, String type,
+            String category, String experienceLevel) {
+
+        int pageSize = Math.max(limit, 1);
+        boolean firstPage = cursor == null || cursor.isBlank();
+
+        JobType jobType = parseJobType(type);
+        ExperienceLevel expLevel = parseExperienceLevel(experienceLevel);
+        String status = JobStatus.ACTIVE.getValue();
+        String searchTerm = search != null ? search.trim() : "";
+        String locationFilter = location != null ? location : "";
+        String typeFilter = jobType != null ? jobType.getValue() : "";
+        String categoryFilter = category != null ? category : "";
+        String experienceFilter = expLevel != null ? expLevel.getValue() : "";
+
+        // Fetch one extra row to know whether another page exists
+        List<Job> jobs;
+        if (firstPage) {
+            jobs = jobRepository.findFeedFirstPage(status, searchTerm, locationFilter, typeFilter,
+                    categoryFilter, experienceFilter, pageSize + 1);
+        } else {
+            String[] parts = decodeCursor(cursor);
+            jobs = jobRepository.findFeedPageAfter(status, LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]),
+                    searchTerm, locationFilter, typeFilter, categoryFilter, experienceFilter, pageSize + 1);
+        }
+
+        String nextCursor = null;
+        if (jobs.size() > pageSize) {
+            jobs = jobs.subList(0, pageSize);
+            Job last = jobs.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getPostedAt(), last.getId());
+        }
+
+        List<JobListItemDto> jobDtos = mapToJobListItemDtos(jobs);
+        addUserFlags(jobDtos);
+
+        return JobListResponse.builder()
+                .jobs(jobDtos)
+                .pagination(PaginationResponse.ofCursor(pageSize, nextCursor, !firstPage))
+                .build();
+    }
+
+    // Not transactional: requests coalesced on one cache load must not each hold a connection while waiting
     public JobDetailResponse getJob(UUID id) {
-        Job job = jobRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Job", "id", id));
+        JobDto job = jobDetailCache.get(id, () -> loadJobDto(id));
 
-        // Increment view count
-        jobRepository.incrementViewCount(id);
+        // Buffered view count, flushed to the database in batches
+        jobViewCounter.record(id);
 
         // Check if user has applied or saved (if authenticated)
         boolean hasApplied = false;
@@ -117,12 +192,18 @@ public class JobService {
         }
 
         return JobDetailResponse.builder()
-                .job(mapToJobDto(job))
+                .job(job)
                 .hasApplied(hasApplied)
                 .isSaved(isSaved)
                 .build();
     }
 
+    private JobDto loadJobDto(UUID id) {
+        Job job = jobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Job", "id", id));
+        return mapToJobDto(job);
+    }
+
     @Transactional
     public JobDto createJob(CreateJobRequest request) {
         UUID employerId = securityUtils.getCurrentUserId();
@@ -167,6 +248,7 @@ public class JobService {
                 .build();
 
         job = jobRepository.save(job);
+        eventPublisher.publishEvent(new JobChangedEvent(job.getId(), employerId));
 
         return mapToJobDto(job);
     }
@@ -225,6 +307,7 @@ public class JobService {
             job.setExpiresAt(request.getExpiresAt());
 
         job = jobRepository.save(job);
+        eventPublisher.publishEvent(new JobChangedEvent(job.getId(), currentUserId));
 
         return mapToJobDto(job);
     }
@@ -241,6 +324,7 @@ public class JobService {
         }
 
         jobRepository.delete(job);
+        eventPublisher.publishEvent(new JobChangedEvent(id, currentUserId));
     }
 
     @Transactional(readOnly = true)
@@ -256,22 +340,22 @@ public class JobService {
             jobsPage = jobRepository.findByEmployerId(employerId, pageable);
         }
 
-        List<JobListItemDto> jobDtos = jobsPage.getContent().stream()
-                .map(this::mapToJobListItemDto)
-                .collect(Collectors.toList());
-
-        // Calculate stats
-        long totalJobs = jobRepository.countByEmployerId(employerId);
-        long activeJobs = jobRepository.countByEmployerIdAndStatus(employerId, JobStatus.ACTIVE);
-        Long totalApplicants = jobRepository.getTotalApplicantsByEmployer(employerId);
-        long hiredCount = applicationRepository.countHiredByEmployer(employerId);
-
-        EmployerJobsResponse.EmployerJobStats stats = EmployerJobsResponse.EmployerJobStats.builder()
-                .totalJobs(totalJobs)
-                .activeJobs(activeJobs)
-                .totalApplicants(totalApplicants != null ? totalApplicants : 0)
-                .hiredCount(hiredCount)
-                .build();
+        List<JobListItemDto> jobDtos = mapToJobListItemDtos(jobsPage.getContent());
+
+        // Stats are kept current by triggers; no row yet means the employer has no jobs
+        EmployerJobsResponse.EmployerJobStats stats = employerStatsRepository.findById(employerId)
+                .map(row -> EmployerJobsResponse.EmployerJobStats.builder()
+                        .totalJobs(row.getTotalJobs().longValue())
+                        .activeJobs(row.getActiveJobs().longValue())
+                        .totalApplicants(row.getTotalApplicants().longValue())
+                        .hiredCount(row.getHiredCount().longValue())
+                        .build())
+                .orElseGet(() -> EmployerJobsResponse.EmployerJobStats.builder()
+                        .totalJobs(0L)
+                        .activeJobs(0L)
+                        .totalApplicants(0L)
+                        .hiredCount(0L)
+                        .build());
 
         return EmployerJobsResponse.builder()
                 .jobs(jobDtos)
@@ -280,6 +364,77 @@ public class JobService {
                 .build();
     }
 
+    /**
+     * Set hasApplied/isSaved on a page of jobs for the current job seeker, with one
+     * query per flag for the whole page. Anonymous and non-seeker callers get no flags.
+     */
+    private void addUserFlags(List<JobListItemDto> jobDtos) {
+        UUID currentUserId = securityUtils.getCurrentUserId();
+        if (jobDtos.isEmpty() || currentUserId == null || !securityUtils.isJobSeeker()) {
+            return;
+        }
+
+        List<UUID> jobIds = jobDtos.stream().map(dto -> UUID.fromString(dto.getId())).toList();
+        Set<UUID> applied = new HashSet<>(applicationRepository.findAppliedJobIds(currentUserId, jobIds));
+        Set<UUID> saved = new HashSet<>(savedJobRepository.findSavedJobIds(currentUserId, jobIds));
+
+        for (int i = 0; i < jobDtos.size(); i++) {
+            jobDtos.get(i).setHasApplied(applied.contains(jobIds.get(i)));
+            jobDtos.get(i).setIsSaved(saved.contains(jobIds.get(i)));
+        }
+    }
+
+    private JobType parseJobType(String type) {
+        if (type != null && !type.isEmpty()) {
+            try {
+                return JobType.fromValue(type);
+            } catch (Exception ignored) {
+            }
+        }
+        return null;
+    }
+
+    private ExperienceLevel parseExperienceLevel(String experienceLevel) {
+        if (experienceLevel != null && !experienceLevel.isEmpty()) {
+            try {
+                return ExperienceLevel.fromValue(experienceLevel);
+            } catch (Exception ignored) {
+            }
+        }
+        return null;
+    }
+
+    private String encodeCursor(LocalDateTime postedAt, UUID id) {
+        String raw = postedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            // Validate both parts before they reach the query
+            LocalDateTime.parse(parts[0]);
+            UUID.fromString(parts[1]);
+            return parts;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+
+    private Sort toColumnSort(Sort sort) {
+        return Sort.by(sort.stream()
+                .map(order -> new Sort.Order(order.getDirection(), switch (order.getProperty()) {
+                    case "salaryMax" -> "salary_max";
+                    case "postedAt" -> "posted_at";
+                    default -> order.getProperty();
+                }))
+                .collect(Collectors.toList()));
+    }
+
     private JobDto mapToJobDto(Job job) {
         EmployerProfile profile = employerProfileRepository.findByUser(job.getEmployer()).orElse(null);
 
@@ -289,6 +444,7 @@ public class JobService {
                     .id(profile.getId().toString())
                     .name(profile.getCompanyName())
                     .logo(profile.getCompanyLogo())
+                    .logoVariants(ImageVariantsDto.of(profile.getCompanyLogo()))
                     .description(profile.getDescription())
                     .size(profile.getCompanySize())
                     .industry(profile.getIndustry())
@@ -321,22 +477,19 @@ public class JobService {
                 .build();
     }
 
-    private JobListItemDto mapToJobListItemDto(Job job) {
-        EmployerProfile profile = employerProfileRepository.findByUser(job.getEmployer()).orElse(null);
+    private List<JobListItemDto> mapToJobListItemDtos(List<Job> jobs) {
+        Map<UUID, EmployerProfile> profiles = companyInfoLoader.loadProfiles(jobs);
 
-        JobListItemDto.CompanyInfo companyInfo = null;
-        if (profile != null) {
-            companyInfo = JobListItemDto.CompanyInfo.builder()
-                    .id(profile.getId().toString())
-                    .name(profile.getCompanyName())
-                    .logo(profile.getCompanyLogo())
-                    .build();
-        }
+        return jobs.stream()
+                .map(job -> mapToJobListItemDto(job, profiles.get(job.getEmployer().getId())))
+                .collect(Collectors.toList());
+    }
 
+    private JobListItemDto mapToJobListItemDto(Job job, EmployerProfile profile) {
         return JobListItemDto.builder()
                 .id(job.getId().toString())
                 .title(job.getTitle())
-                .company(companyInfo)
+                .company(CompanyInfoLoader.toCompanyInfo(profile))
                 .location(job.getLocation())
                 .type(job.getType().getValue())
                 .category(job.getCategory())
@@ -0,0 +1,170 @@
+package com.jobportal.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for job view counts.
+ * Views are recorded in memory (one LongAdder per job) and applied to the
+ * jobs table in batches by a scheduled flush, instead of one UPDATE per view.
+ * Recording never blocks the request and never loses a view: a full buffer is flushed
+ * early in the background. Keys are jobs that exist, so the buffer stays bounded by the
+ * number of jobs viewed until that flush has run.
+ */
+@Slf4j
+@Service
+public class JobViewCounter {
+
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxBufferSize;
+    private final Map<UUID, LongAdder> pending = new ConcurrentHashMap<>();
+    // Adders drained by the last flush, re-read once to pick up in-flight increments
+    private final Map<UUID, LongAdder> retired = new HashMap<>();
+
+    private final ExecutorService earlyFlusher;
+    private final AtomicBoolean earlyFlushQueued = new AtomicBoolean();
+
+    public JobViewCounter(JdbcTemplate jdbcTemplate,
+            @Value("${jobs.view-count.max-buffer-size:10000}") int maxBufferSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxBufferSize = maxBufferSize;
+        this.earlyFlusher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-view-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Record one view of a job.
+     */
+    public void record(UUID jobId) {
+        LongAdder adder = pending.get(jobId);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(jobId, id -> new LongAdder());
+            if (pending.size() >= maxBufferSize) {
+                requestEarlyFlush();
+            }
+        }
+        adder.increment();
+    }
+
+    /**
+     * Apply buffered deltas with batched UPDATE ... FROM (VALUES ...) statements.
+     */
+    @Scheduled(fixedDelayString = "${jobs.view-count.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<UUID, Long> deltas = new HashMap<>();
+
+        // Increments that raced with the previous drain landed on the retired adders
+        for (Map.Entry<UUID, LongAdder> entry : retired.entrySet()) {
+            long late = entry.getValue().sum();
+            if (late > 0) {
+                deltas.merge(entry.getKey(), late, Long::sum);
+            }
+        }
+        retired.clear();
+
+        for (UUID jobId : pending.keySet()) {
+            LongAdder adder = pending.remove(jobId);
+            if (adder != null) {
+                retired.put(jobId, adder);
+                long delta = adder.sumThenReset();
+                if (delta > 0) {
+                    deltas.merge(jobId, delta, Long::sum);
+                }
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((jobId, delta) -> rows.add(new Object[] { jobId, delta }));
+
+        for (int from = 0; from < rows.size(); from += FLUSH_CHUNK_SIZE) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, rows.size()));
+            try {
+                applyDeltas(chunk);
+            } catch (RuntimeException e) {
+                int lost = requeue(chunk);
+                log.warn("Failed to flush {} job view counts, re-queued {}: {}",
+                        chunk.size(), chunk.size() - lost, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        earlyFlusher.shutdownNow();
+        flush();
+        log.info("Job view counter drained on shutdown");
+    }
+
+    // Merges into jobs already buffered; new keys only while the buffer has room, so repeated
+    // failures cannot grow it past maxBufferSize. Returns the number of jobs whose views were lost.
+    private int requeue(List<Object[]> chunk) {
+        int lost = 0;
+        for (Object[] row : chunk) {
+            UUID jobId = (UUID) row[0];
+            LongAdder adder = pending.get(jobId);
+            if (adder == null && pending.size() < maxBufferSize) {
+                adder = pending.computeIfAbsent(jobId, id -> new LongAdder());
+            }
+            if (adder != null) {
+                adder.add((Long) row[1]);
+            } else {
+                lost++;
+            }
+        }
+        return lost;
+    }
+
+    // At most one early flush is queued at a time; it runs on its own thread, not the caller's
+    private void requestEarlyFlush() {
+        if (!earlyFlushQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            earlyFlusher.execute(() -> {
+                try {
+                    flush();
+                } finally {
+                    earlyFlushQueued.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the final drain applies what is buffered
+            earlyFlushQueued.set(false);
+        }
+    }
+
+    private void applyDeltas(List<Object[]> chunk) {
+        StringBuilder sql = new StringBuilder(
+                "UPDATE jobs j SET views_count = COALESCE(j.views_count, 0) + v.delta FROM (VALUES ");
+        List<Object> params = new ArrayList<>(chunk.size() * 2);
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(CAST(? AS uuid), CAST(? AS integer))");
+            params.add(chunk.get(i)[0]);
+            params.add(chunk.get(i)[1]);
+        }
+        sql.append(") AS v(id, delta) WHERE j.id = v.id");
+
+        jdbcTemplate.update(sql.toString(), params.toArray());
+    }
+}
@@ -1,8 +1,10 @@
 package com.jobportal.service;
 
+import com.jobportal.dto.common.ImageVariantsDto;
 import com.jobportal.dto.common.PaginationResponse;
 import com.jobportal.dto.message.*;
 import com.jobportal.entity.*;
+import com.jobportal.event.MessageSentEvent;
 import com.jobportal.exception.BadRequestException;
 import com.jobportal.exception.ForbiddenException;
 import com.jobportal.exception.ResourceNotFoundException;
@@ -10,14 +12,17 @@ import com.jobportal.repository.*;
 import com.jobportal.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,11 +35,17 @@ public class MessageService {
 
     private final ConversationRepository conversationRepository;
     private final MessageRepository messageRepository;
+    private final UnreadCounterRepository unreadCounterRepository;
     private final UserRepository userRepository;
     private final ApplicationRepository applicationRepository;
     private final JobSeekerProfileRepository jobSeekerProfileRepository;
     private final EmployerProfileRepository employerProfileRepository;
     private final SecurityUtils securityUtils;
+    private final MessageStreamHub messageStreamHub;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Upper bound on messages replayed to a reconnecting stream
+    private static final int STREAM_REPLAY_LIMIT = 100;
 
     @Transactional
     public ConversationDto startConversation(StartConversationRequest request) {
@@ -126,12 +137,11 @@ public class MessageService {
     @Transactional(readOnly = true)
     public ConversationListResponse getConversations(int page, int limit) {
         UUID userId = securityUtils.getCurrentUserId();
-        Pageable pageable = PageRequest.of(page - 1, limit);
-
-        Page<Conversation> conversationsPage = conversationRepository.findByParticipant(userId, pageable);
+        int offset = Math.max(page - 1, 0) * limit;
 
-        List<ConversationDto> conversationDtos = conversationsPage.getContent().stream()
-                .map(conv -> mapToConversationDto(conv, userId))
+        List<ConversationDto> conversationDtos = conversationRepository.findInboxByParticipant(userId, limit, offset)
+                .stream()
+                .map(this::mapToConversationDto)
                 .collect(Collectors.toList());
 
         return ConversationListResponse.builder()
@@ -154,6 +164,7 @@ public class MessageService {
 
         // Mark messages as read
         messageRepository.markAsRead(conversationId, userId);
+        unreadCounterRepository.reset(userId, conversationId);
 
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "sentAt"));
         Page<Message> messagesPage = messageRepository.findByConversationIdOrderBySentAtDesc(conversationId, pageable);
@@ -191,12 +202,41 @@ public class MessageService {
         }
 
         messageRepository.markAsRead(conversationId, userId);
+        unreadCounterRepository.reset(userId, conversationId);
     }
 
     @Transactional(readOnly = true)
     public long getTotalUnreadCount() {
         UUID userId = securityUtils.getCurrentUserId();
-        return messageRepository.countTotalUnread(userId);
+        return unreadCounterRepository.sumByUserId(userId);
+    }
+
+    /**
+     * Open the current user's message stream. When the client reconnects with a
+     * Last-Event-ID (a message ID), messages received since then are replayed first.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter openStream(String lastEventId) {
+        UUID userId = securityUtils.getCurrentUserId();
+
+        List<SseEmitter.SseEventBuilder> backlog = new ArrayList<>();
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            UUID afterMessageId;
+            try {
+                afterMessageId = UUID.fromString(lastEventId.trim());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid Last-Event-ID");
+            }
+
+            for (Message message : messageRepository.findReceivedAfter(userId, afterMessageId, STREAM_REPLAY_LIMIT)) {
+                backlog.add(MessageStreamHub.messageEvent(MessageStreamEvent.builder()
+                        .conversationId(message.getConversation().getId().toString())
+                        .message(mapToMessageDto(message))
+                        .build()));
+            }
+        }
+
+        return messageStreamHub.subscribe(userId, backlog);
     }
 
     private Message createMessage(Conversation conversation, User sender, String content) {
@@ -208,7 +248,19 @@ public class MessageService {
                 .isRead(false)
                 .build();
 
-        return messageRepository.save(message);
+        message = messageRepository.save(message);
+
+        // Keep the recipient's unread counter in step with the new message
+        User recipient = conversation.getParticipant1().getId().equals(sender.getId())
+                ? conversation.getParticipant2()
+                : conversation.getParticipant1();
+        unreadCounterRepository.increment(recipient.getId(), conversation.getId());
+
+        // Pushed to the recipient's open streams once the transaction commits
+        eventPublisher.publishEvent(
+                new MessageSentEvent(recipient.getId(), conversation.getId(), mapToMessageDto(message)));
+
+        return message;
     }
 
     private ConversationDto mapToConversationDto(Conversation conversation, UUID currentUserId) {
@@ -241,7 +293,7 @@ public class MessageService {
         }
 
         // Get unread count
-        long unreadCount = messageRepository.countUnreadInConversation(conversation.getId(), currentUserId);
+        long unreadCount = unreadCounterRepository.findCount(currentUserId, conversation.getId());
 
         return ConversationDto.builder()
                 .id(conversation.getId().toString())
@@ -252,6 +304,38 @@ public class MessageService {
                 .build();
     }
 
+    private ConversationDto mapToConversationDto(ConversationSummary summary) {
+        ConversationDto.JobInfo jobInfo = null;
+        if (summary.jobId() != null) {
+            jobInfo = ConversationDto.JobInfo.builder()
+                    .id(summary.jobId().toString())
+                    .title(summary.jobTitle())
+                    .build();
+        }
+
+        ConversationDto.LastMessageInfo lastMessageInfo = null;
+        if (summary.lastMessageSentAt() != null) {
+            lastMessageInfo = ConversationDto.LastMessageInfo.builder()
+                    .content(summary.lastMessageContent())
+                    .sentAt(summary.lastMessageSentAt())
+                    .isRead(summary.lastMessageIsRead())
+                    .build();
+        }
+
+        return ConversationDto.builder()
+                .id(summary.id().toString())
+                .participant(ConversationDto.ParticipantInfo.builder()
+                        .id(summary.counterpartId().toString())
+                        .name(summary.counterpartName())
+                        .avatar(summary.counterpartAvatar())
+                        .avatarVariants(ImageVariantsDto.of(summary.counterpartAvatar()))
+                        .build())
+                .job(jobInfo)
+                .lastMessage(lastMessageInfo)
+                .unreadCount(summary.unreadCount() != null ? summary.unreadCount().intValue() : 0)
+                .build();
+    }
+
     private ConversationDto.ParticipantInfo getParticipantInfo(User user) {
         String name = "User";
         String avatar = null;
@@ -274,6 +358,7 @@ public class MessageService {
                 .id(user.getId().toString())
                 .name(name)
                 .avatar(avatar)
+                .avatarVariants(ImageVariantsDto.of(avatar))
                 .build();
     }
 
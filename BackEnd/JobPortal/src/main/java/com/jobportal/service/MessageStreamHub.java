@@ -0,0 +1,199 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.message.MessageStreamEvent;
+import com.jobportal.event.MessageSentEvent;
+import com.jobportal.repository.UnreadCounterRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-process fan-out of message events to server-sent event streams, keyed by recipient user ID.
+ * Each subscriber has a bounded queue drained by a small sender pool, so a slow client never
+ * blocks the request that sent the message; a subscriber whose queue overflows is evicted
+ * and reconnects with Last-Event-ID to replay what it missed.
+ */
+@Slf4j
+@Service
+public class MessageStreamHub {
+
+    private final UnreadCounterRepository unreadCounterRepository;
+    private final int queueCapacity;
+    private final int maxStreamsPerUser;
+    private final long streamTimeout;
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+
+    public MessageStreamHub(UnreadCounterRepository unreadCounterRepository,
+            @Value("${messages.stream.queue-capacity:100}") int queueCapacity,
+            @Value("${messages.stream.max-per-user:5}") int maxStreamsPerUser,
+            @Value("${messages.stream.timeout-ms:1800000}") long streamTimeout,
+            @Value("${messages.stream.sender-threads:4}") int senderThreads) {
+        this.unreadCounterRepository = unreadCounterRepository;
+        this.queueCapacity = queueCapacity;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.streamTimeout = streamTimeout;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "message-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Open a stream for a user. Events in {@code backlog} (replay) are queued before live events.
+     */
+    public SseEmitter subscribe(UUID userId, List<SseEmitter.SseEventBuilder> backlog) {
+        SseEmitter emitter = new SseEmitter(streamTimeout);
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(queueCapacity));
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+
+        AtomicReference<Subscriber> oldest = new AtomicReference<>();
+        subscribers.compute(userId, (id, userStreams) -> {
+            Set<Subscriber> streams = userStreams != null ? userStreams : new CopyOnWriteArraySet<>();
+            if (streams.size() >= maxStreamsPerUser) {
+                // Too many tabs/devices: drop the oldest stream
+                streams.stream().findFirst().ifPresent(oldest::set);
+            }
+            streams.add(subscriber);
+            return streams;
+        });
+        if (oldest.get() != null) {
+            evict(oldest.get(), "stream limit reached");
+        }
+
+        enqueue(subscriber, SseEmitter.event().comment("connected"));
+        for (SseEmitter.SseEventBuilder event : backlog) {
+            enqueue(subscriber, event);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onMessageSent(MessageSentEvent event) {
+        Set<Subscriber> userStreams = subscribers.get(event.recipientId());
+        if (userStreams == null || userStreams.isEmpty()) {
+            return;
+        }
+
+        MessageStreamEvent payload = MessageStreamEvent.builder()
+                .conversationId(event.conversationId().toString())
+                .message(event.message())
+                .unreadCount(unreadCounterRepository.sumByUserId(event.recipientId()))
+                .build();
+
+        for (Subscriber subscriber : userStreams) {
+            enqueue(subscriber, messageEvent(payload));
+        }
+    }
+
+    public static SseEmitter.SseEventBuilder messageEvent(MessageStreamEvent payload) {
+        return SseEmitter.event()
+                .id(payload.getMessage().getId())
+                .name("message")
+                .data(payload, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Keep idle connections alive through proxies and detect dead clients.
+     */
+    @Scheduled(fixedDelayString = "${messages.stream.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(userStreams -> userStreams
+                .forEach(subscriber -> enqueue(subscriber, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(userStreams -> userStreams.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+        sender.shutdownNow();
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            evict(subscriber, "slow consumer");
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Message stream for user {} closed: {}", subscriber.userId, ex.getMessage());
+            remove(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        // An event may have been queued after the last poll but before the flag was cleared
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void evict(Subscriber subscriber, String reason) {
+        log.info("Evicting message stream for user {}: {}", subscriber.userId, reason);
+        remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, userStreams) -> {
+            userStreams.remove(subscriber);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+        subscriber.queue.clear();
+    }
+
+    private static final class Subscriber {
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(UUID userId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> queue) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.JobStatus;
+import com.jobportal.entity.UserRole;
+import com.jobportal.repository.ApplicationRepository;
+import com.jobportal.repository.JobRepository;
+import com.jobportal.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Platform-wide counters (users, jobs, applications) for the admin dashboard and the
+ * admin chatbot context.
+ *
+ * Full-table counts are linear in PostgreSQL, so they are computed on a schedule
+ * (three grouped queries) and served from memory. Readers get the time of the last
+ * refresh along with the numbers.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlatformStatsService {
+
+    private final UserRepository userRepository;
+    private final JobRepository jobRepository;
+    private final ApplicationRepository applicationRepository;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Latest counters. Computed on the spot only if no refresh has completed yet.
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${platform-stats.refresh-interval-ms:60000}")
+    public synchronized Snapshot refresh() {
+        long started = System.currentTimeMillis();
+
+        Map<UserRole, Long> users = new EnumMap<>(UserRole.class);
+        for (Object[] row : userRepository.countGroupedByRole()) {
+            users.put((UserRole) row[0], (Long) row[1]);
+        }
+        Map<JobStatus, Long> jobs = new EnumMap<>(JobStatus.class);
+        long totalJobs = 0;
+        for (Object[] row : jobRepository.countGroupedByStatus()) {
+            totalJobs += (Long) row[1];
+            if (row[0] != null) {
+                jobs.put((JobStatus) row[0], (Long) row[1]);
+            }
+        }
+
+        Snapshot computed = new Snapshot(
+                users.values().stream().mapToLong(Long::longValue).sum(),
+                users.getOrDefault(UserRole.JOB_SEEKER, 0L),
+                users.getOrDefault(UserRole.EMPLOYER, 0L),
+                totalJobs,
+                jobs.getOrDefault(JobStatus.ACTIVE, 0L),
+                jobs.getOrDefault(JobStatus.DRAFT, 0L),
+                jobs.getOrDefault(JobStatus.CLOSED, 0L),
+                applicationRepository.count(),
+                LocalDateTime.now());
+        snapshot = computed;
+
+        log.debug("Platform stats refreshed in {} ms", System.currentTimeMillis() - started);
+        return computed;
+    }
+
+    /**
+     * Counters as of {@code computedAt}.
+     */
+    public record Snapshot(
+            long totalUsers,
+            long totalJobSeekers,
+            long totalEmployers,
+            long totalJobs,
+            long activeJobs,
+            long draftJobs,
+            long closedJobs,
+            long totalApplications,
+            LocalDateTime computedAt) {
+    }
+}
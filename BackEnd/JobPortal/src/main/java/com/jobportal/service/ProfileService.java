@@ -1,13 +1,17 @@
 package com.jobportal.service;
 
+import com.jobportal.dto.common.ImageVariantsDto;
 import com.jobportal.dto.profile.*;
 import com.jobportal.entity.*;
+import com.jobportal.event.ImageUploadedEvent;
+import com.jobportal.event.ProfileUpdatedEvent;
 import com.jobportal.exception.BadRequestException;
 import com.jobportal.exception.ResourceNotFoundException;
 import com.jobportal.repository.*;
 import com.jobportal.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -24,6 +28,7 @@ public class ProfileService {
     private final EmployerProfileRepository employerProfileRepository;
     private final SecurityUtils securityUtils;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public ProfileResponse getCurrentUserProfile() {
@@ -79,6 +84,7 @@ public class ProfileService {
         }
 
         profile = jobSeekerProfileRepository.save(profile);
+        eventPublisher.publishEvent(new ProfileUpdatedEvent(userId, UserRole.JOB_SEEKER));
         return mapToJobSeekerProfileDto(profile);
     }
 
@@ -118,6 +124,7 @@ public class ProfileService {
         }
 
         profile = employerProfileRepository.save(profile);
+        eventPublisher.publishEvent(new ProfileUpdatedEvent(userId, UserRole.EMPLOYER));
         return mapToEmployerProfileDto(profile);
     }
 
@@ -131,7 +138,7 @@ public class ProfileService {
         validateImageFile(file);
 
         // Store file
-        String avatarUrl = fileStorageService.storeFile(file, "avatars/" + userId);
+        String avatarUrl = fileStorageService.storeFile(file);
 
         // Update profile
         if (user.getRole() == UserRole.JOB_SEEKER) {
@@ -145,6 +152,7 @@ public class ProfileService {
             profile.setAvatarUrl(avatarUrl);
             employerProfileRepository.save(profile);
         }
+        eventPublisher.publishEvent(new ImageUploadedEvent(avatarUrl));
 
         return avatarUrl;
     }
@@ -160,7 +168,7 @@ public class ProfileService {
         validatePdfFile(file);
 
         // Store file
-        String cvUrl = fileStorageService.storeFile(file, "cvs/" + userId);
+        String cvUrl = fileStorageService.storeFile(file);
 
         // Update profile
         profile.setCvFileName(file.getOriginalFilename());
@@ -169,6 +177,7 @@ public class ProfileService {
         profile.setCvUploadedAt(java.time.LocalDateTime.now());
 
         jobSeekerProfileRepository.save(profile);
+        eventPublisher.publishEvent(new ProfileUpdatedEvent(userId, UserRole.JOB_SEEKER));
 
         return JobSeekerProfileDto.CvDto.builder()
                 .fileName(profile.getCvFileName())
@@ -195,6 +204,7 @@ public class ProfileService {
         profile.setCvUploadedAt(null);
 
         jobSeekerProfileRepository.save(profile);
+        eventPublisher.publishEvent(new ProfileUpdatedEvent(userId, UserRole.JOB_SEEKER));
     }
 
     private void validateImageFile(MultipartFile file) {
@@ -245,6 +255,7 @@ public class ProfileService {
                 .id(profile.getId().toString())
                 .fullName(profile.getFullName())
                 .avatar(profile.getAvatarUrl())
+                .avatarVariants(ImageVariantsDto.of(profile.getAvatarUrl()))
                 .phone(profile.getPhone())
                 .location(profile.getLocation())
                 .bio(profile.getBio())
@@ -259,8 +270,10 @@ public class ProfileService {
                 .id(profile.getId().toString())
                 .fullName(profile.getFullName())
                 .avatar(profile.getAvatarUrl())
+                .avatarVariants(ImageVariantsDto.of(profile.getAvatarUrl()))
                 .companyName(profile.getCompanyName())
                 .companyLogo(profile.getCompanyLogo())
+                .companyLogoVariants(ImageVariantsDto.of(profile.getCompanyLogo()))
                 .companyType(profile.getCompanyType())
                 .industry(profile.getIndustry())
                 .companySize(profile.getCompanySize())
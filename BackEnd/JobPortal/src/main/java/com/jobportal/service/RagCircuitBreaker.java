@@ -0,0 +1,206 @@
+package com.jobportal.service;
+
+import com.jobportal.exception.ServiceUnavailableException;
+import com.jobportal.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker for calls to the RAG service.
+ *
+ * After a run of consecutive failures (connection errors, timeouts, 5xx) the circuit
+ * opens and calls fail fast with {@link ServiceUnavailableException} instead of
+ * waiting on a service that is down or hung. Once the open period has passed, a single
+ * trial call is let through (half-open): success closes the circuit, failure opens it
+ * for another period.
+ */
+@Slf4j
+@Service
+public class RagCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    @Autowired
+    public RagCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${rag.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${rag.circuit-breaker.open-duration-ms:30000}") long openDurationMs) {
+        this(meterRegistry, failureThreshold, openDurationMs, Clock.systemUTC());
+    }
+
+    // Tests drive the open period with their own clock
+    RagCircuitBreaker(MeterRegistry meterRegistry, int failureThreshold, long openDurationMs, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = Duration.ofMillis(openDurationMs);
+        this.clock = clock;
+
+        // 0 = closed, 1 = open, 2 = half-open
+        Gauge.builder("rag.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("State of the RAG service circuit breaker (0 closed, 1 open, 2 half-open)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the given call unless the circuit is open, recording its outcome.
+     */
+    public <T> Mono<T> protect(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                return Mono.error(unavailable());
+            }
+            Outcome outcome = new Outcome();
+            return Mono.defer(call)
+                    .doOnSuccess(value -> outcome.success())
+                    .doOnError(outcome::failure)
+                    .doOnCancel(outcome::abandon);
+        });
+    }
+
+    /**
+     * Streaming variant of {@link #protect(Supplier)}: the outcome is recorded when the stream terminates.
+     */
+    public <T> Flux<T> protectMany(Supplier<Flux<T>> call) {
+        return Flux.defer(() -> {
+            if (!tryAcquire()) {
+                return Flux.error(unavailable());
+            }
+            Outcome outcome = new Outcome();
+            return Flux.defer(call)
+                    .doOnComplete(outcome::success)
+                    .doOnError(outcome::failure)
+                    .doOnCancel(outcome::abandon);
+        });
+    }
+
+    /**
+     * Whether a call made now would be let through.
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> openElapsed();
+            case HALF_OPEN -> false;
+        };
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (!openElapsed()) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                log.info("RAG circuit half-open, letting a trial call through");
+                return true;
+            default:
+                // A trial call is already in flight
+                return false;
+        }
+    }
+
+    private synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            state = State.CLOSED;
+            log.info("RAG circuit closed");
+        }
+    }
+
+    private synchronized void onFailure(Throwable error) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("RAG circuit opened for {}s after {} consecutive failure(s), last: {}",
+                        openDuration.toSeconds(), consecutiveFailures, error.toString());
+            }
+            state = State.OPEN;
+            openedAt = clock.millis();
+        }
+    }
+
+    // The call ended without saying anything about the service's health
+    private synchronized void onAbandoned() {
+        if (state == State.HALF_OPEN) {
+            // Back to open with the original timestamp, so the next call becomes the trial
+            state = State.OPEN;
+        }
+    }
+
+    private boolean openElapsed() {
+        return clock.millis() - openedAt >= openDuration.toMillis();
+    }
+
+    private synchronized ServiceUnavailableException unavailable() {
+        long remainingMs = openDuration.toMillis() - (clock.millis() - openedAt);
+        long retryAfter = Math.max(1, (remainingMs + 999) / 1000);
+        return new ServiceUnavailableException(
+                "The assistant is temporarily unavailable. Please try again later.", retryAfter);
+    }
+
+    // Client errors and local rejections mean the service itself answered (or was never asked)
+    private static boolean countsAsFailure(Throwable error) {
+        if (error instanceof TooManyRequestsException) {
+            return false;
+        }
+        return !(error instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError());
+    }
+
+    // Records exactly one outcome per call
+    private final class Outcome {
+
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        void success() {
+            if (recorded.compareAndSet(false, true)) {
+                onSuccess();
+            }
+        }
+
+        void failure(Throwable error) {
+            if (recorded.compareAndSet(false, true)) {
+                if (countsAsFailure(error)) {
+                    onFailure(error);
+                } else if (error instanceof TooManyRequestsException) {
+                    onAbandoned();
+                } else {
+                    onSuccess();
+                }
+            }
+        }
+
+        void abandon() {
+            if (recorded.compareAndSet(false, true)) {
+                onAbandoned();
+            }
+        }
+    }
+}
@@ -2,26 +2,63 @@ package com.jobportal.service;
 
 import com.jobportal.dto.chatbot.ChatRequest;
 import com.jobportal.dto.chatbot.ChatResponse;
+import com.jobportal.dto.chatbot.ChatStreamEvent;
+import com.jobportal.dto.chatbot.DocumentIndexRequest;
 import com.jobportal.dto.chatbot.IndexRequest;
 import com.jobportal.dto.chatbot.IndexResponse;
+import com.jobportal.exception.ServiceUnavailableException;
+import com.jobportal.exception.TooManyRequestsException;
+import io.netty.handler.timeout.ReadTimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 @Service
 public class RagClientService {
     
     private static final Logger log = LoggerFactory.getLogger(RagClientService.class);
     private final WebClient webClient;
+    private final RagConcurrencyLimiter concurrencyLimiter;
+    private final RagCircuitBreaker circuitBreaker;
+    private final ChatAnswerCache answerCache;
+    private final Duration chatTimeout;
+    private final Duration indexTimeout;
+    private final Duration healthTimeout;
 
-    public RagClientService(WebClient webClient) {
+    // Last result of the background health probe; null until the first probe completes
+    private volatile HealthStatus lastHealth;
+
+    public RagClientService(
+            WebClient webClient,
+            RagConcurrencyLimiter concurrencyLimiter,
+            RagCircuitBreaker circuitBreaker,
+            ChatAnswerCache answerCache,
+            @Value("${rag.chat.timeout-ms:120000}") long chatTimeoutMs,
+            @Value("${rag.index.timeout-ms:60000}") long indexTimeoutMs,
+            @Value("${rag.health.timeout-ms:2000}") long healthTimeoutMs) {
         this.webClient = webClient;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.answerCache = answerCache;
+        this.chatTimeout = Duration.ofMillis(chatTimeoutMs);
+        this.indexTimeout = Duration.ofMillis(indexTimeoutMs);
+        this.healthTimeout = Duration.ofMillis(healthTimeoutMs);
     }
 
 
@@ -33,9 +70,10 @@ public class RagClientService {
                     .uri("/index")
                     .contentType(MediaType.APPLICATION_JSON)
                     .bodyValue(indexRequest)
+                    .httpRequest(responseTimeout(indexTimeout))
                     .retrieve()
                     .bodyToMono(IndexResponse.class)
-                    .block();
+                    .block(indexTimeout);
                     
         } catch (WebClientResponseException e) {
             log.error("RAG service error during indexing: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
@@ -50,60 +88,199 @@ public class RagClientService {
     }
 
 
-    public ChatResponse chat(ChatRequest chatRequest) {
+    /**
+     * Upsert and delete inline documents (e.g. job postings) in one bulk request.
+     * Blocks up to the index timeout; intended for background callers.
+     */
+    public IndexResponse indexDocuments(DocumentIndexRequest request) {
         try {
-            log.info("Processing chat question: {}", chatRequest.getQuestion());
-            
-            return webClient.post()
-                    .uri("/chat")
+            log.debug("Indexing {} document(s), removing {}",
+                    request.getDocuments().size(), request.getDeleteIds().size());
+
+            IndexResponse response = webClient.post()
+                    .uri("/index")
                     .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(chatRequest)
+                    .bodyValue(request)
+                    .httpRequest(responseTimeout(indexTimeout))
                     .retrieve()
-                    .bodyToMono(ChatResponse.class)
-                    .block();
-                    
+                    .bodyToMono(IndexResponse.class)
+                    .block(indexTimeout);
+            return response != null ? response : new IndexResponse(false, "Empty response from RAG service", 0, 0);
+
         } catch (WebClientResponseException e) {
-            log.error("RAG service error during chat: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            log.error("RAG service error during indexing: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            return new IndexResponse(false, "RAG service error: " + e.getMessage(), 0, 0);
+        } catch (WebClientRequestException e) {
+            return new IndexResponse(false, "Cannot connect to RAG service: " + e.getMessage(), 0, 0);
+        } catch (Exception e) {
+            return new IndexResponse(false, "Unexpected error: " + e.getMessage(), 0, 0);
+        }
+    }
+
+
+    /**
+     * Ask the RAG service a question without blocking the calling thread.
+     * Repeated questions are answered from the {@link ChatAnswerCache}. Calls go through the {@link RagConcurrencyLimiter}; when it is saturated the
+     * returned Mono fails with {@link TooManyRequestsException}. While the
+     * {@link RagCircuitBreaker} is open it fails fast with {@link ServiceUnavailableException}.
+     * Other failures are mapped to an error {@link ChatResponse}.
+     */
+    public Mono<ChatResponse> chat(ChatRequest chatRequest) {
+        Optional<ChatResponse> cached = answerCache.get(chatRequest);
+        if (cached.isPresent()) {
+            return Mono.just(cached.get());
+        }
+
+        return circuitBreaker.protect(() -> concurrencyLimiter.limit(() -> {
+                    log.info("Processing chat question: {}", chatRequest.getQuestion());
+
+                    return webClient.post()
+                            .uri("/chat")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(chatRequest)
+                            .httpRequest(responseTimeout(chatTimeout))
+                            .retrieve()
+                            .bodyToMono(ChatResponse.class)
+                            .timeout(chatTimeout);
+                }))
+                .doOnNext(response -> answerCache.put(chatRequest, response))
+                .onErrorResume(e -> !isRejection(e), e -> Mono.just(toErrorResponse(e)));
+    }
+
+    /**
+     * Ask the RAG service a question and relay its answer as it is generated.
+     * Emits "token" events followed by a final "done" event carrying the sources.
+     * Failures (other than limiter saturation or an open circuit) end the stream with an "error" event.
+     */
+    public Flux<ChatStreamEvent> chatStream(ChatRequest chatRequest) {
+        Optional<ChatResponse> cached = answerCache.get(chatRequest);
+        if (cached.isPresent()) {
+            ChatResponse answer = cached.get();
+            return Flux.just(
+                    ChatStreamEvent.token(answer.getAnswer()),
+                    ChatStreamEvent.done(answer.getSources(), answer.getDocumentsRetrieved(), answer.getDocumentsUsed()));
+        }
+
+        // Tokens are collected so the finished answer can be cached when "done" arrives
+        StringBuilder answer = new StringBuilder();
+        return circuitBreaker.protectMany(() -> concurrencyLimiter.limitMany(() -> {
+                    log.info("Processing streamed chat question: {}", chatRequest.getQuestion());
+
+                    return webClient.post()
+                            .uri("/chat/stream")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_NDJSON)
+                            .bodyValue(chatRequest)
+                            .httpRequest(responseTimeout(chatTimeout))
+                            .retrieve()
+                            .bodyToFlux(ChatStreamEvent.class)
+                            // Bounds the wait for the first token and between tokens
+                            .timeout(chatTimeout);
+                }))
+                .doOnNext(event -> {
+                    if (ChatStreamEvent.TOKEN.equals(event.getType()) && event.getContent() != null) {
+                        answer.append(event.getContent());
+                    } else if (ChatStreamEvent.DONE.equals(event.getType())) {
+                        answerCache.put(chatRequest, new ChatResponse(answer.toString(), event.getSources(),
+                                event.getDocumentsRetrieved(), event.getDocumentsUsed(), false, null));
+                    }
+                })
+                .onErrorResume(e -> !isRejection(e),
+                        e -> Flux.just(ChatStreamEvent.error(toErrorResponse(e).getAnswer())));
+    }
+
+    // Rejected before reaching the RAG service; surfaced to the controller as 429 / 503
+    private static boolean isRejection(Throwable e) {
+        return e instanceof TooManyRequestsException || e instanceof ServiceUnavailableException;
+    }
+
+    // Per-endpoint read timeout on the underlying Netty request (the client-wide one is a ceiling)
+    private static Consumer<ClientHttpRequest> responseTimeout(Duration timeout) {
+        return request -> request.<HttpClientRequest>getNativeRequest().responseTimeout(timeout);
+    }
+
+    private ChatResponse toErrorResponse(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            log.error("RAG service error during chat: {} - {}",
+                    responseException.getStatusCode(), responseException.getResponseBodyAsString());
             return new ChatResponse(
                     "Error: RAG service returned an error. Please try again later.",
                     List.of(), 0, 0, true, e.getMessage()
             );
-        } catch (WebClientRequestException e) {
+        }
+        if (e instanceof TimeoutException
+                || e instanceof WebClientRequestException && e.getCause() instanceof ReadTimeoutException) {
+            log.error("RAG service did not answer within {} ms", chatTimeout.toMillis());
+            return new ChatResponse(
+                    "Error: The assistant took too long to answer. Please try again.",
+                    List.of(), 0, 0, true, "Timed out"
+            );
+        }
+        if (e instanceof WebClientRequestException) {
             log.error("Cannot connect to RAG service: {}", e.getMessage());
             return new ChatResponse(
                     "Error: Cannot connect to RAG service. Please ensure it is running.",
                     List.of(), 0, 0, true, "Connection failed"
             );
-        } catch (Exception e) {
-            log.error("Unexpected error during chat: {}", e.getMessage());
-            return new ChatResponse(
-                    "Error: An unexpected error occurred. Please try again.",
-                    List.of(), 0, 0, true, e.getMessage()
-            );
         }
+        log.error("Unexpected error during chat: {}", e.getMessage());
+        return new ChatResponse(
+                "Error: An unexpected error occurred. Please try again.",
+                List.of(), 0, 0, true, e.getMessage()
+        );
     }
 
 
-    public String health() {
-        try {
-            return webClient.get()
-                    .uri("/health")
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-        } catch (Exception e) {
-            log.error("RAG service health check failed: {}", e.getMessage());
-            return "{\"status\": \"unavailable\", \"error\": \"" + e.getMessage() + "\"}";
-        }
+    /**
+     * Probe the RAG service in the background so health() and isAvailable() never
+     * wait on it. A probe that fails or exceeds the health timeout marks it unavailable.
+     */
+    @Scheduled(fixedDelayString = "${rag.health.probe-interval-ms:15000}")
+    public void probeHealth() {
+        webClient.get()
+                .uri("/health")
+                .httpRequest(responseTimeout(healthTimeout))
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(healthTimeout)
+                .map(body -> new HealthStatus(true, body))
+                .onErrorResume(e -> Mono.just(new HealthStatus(false, unavailableBody(e))))
+                .subscribe(this::recordHealth);
     }
 
+    /**
+     * Last health report of the RAG service, as returned by its /health endpoint.
+     */
+    public String health() {
+        HealthStatus status = lastHealth;
+        return status != null ? status.body() : "{\"status\": \"unknown\"}";
+    }
 
+    /**
+     * Whether the last probe succeeded and the circuit breaker lets calls through.
+     */
     public boolean isAvailable() {
-        try {
-            health();
-            return true;
-        } catch (Exception e) {
-            return false;
+        HealthStatus status = lastHealth;
+        return status != null && status.up() && circuitBreaker.isCallPermitted();
+    }
+
+    private void recordHealth(HealthStatus status) {
+        HealthStatus previous = lastHealth;
+        if (previous == null || previous.up() != status.up()) {
+            if (status.up()) {
+                log.info("RAG service is available");
+            } else {
+                log.warn("RAG service health check failed: {}", status.body());
+            }
         }
+        lastHealth = status;
+    }
+
+    private static String unavailableBody(Throwable e) {
+        String reason = e instanceof TimeoutException ? "timed out" : String.valueOf(e.getMessage());
+        return "{\"status\": \"unavailable\", \"error\": \"" + reason.replace("\"", "'") + "\"}";
+    }
+
+    private record HealthStatus(boolean up, String body) {
     }
 }
@@ -0,0 +1,152 @@
+package com.jobportal.service;
+
+import com.jobportal.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the number of in-flight calls to the RAG service. Calls beyond the limit
+ * wait in a bounded queue; once the queue is full (or a waiter times out) callers
+ * fail fast with {@link TooManyRequestsException} instead of piling up.
+ */
+@Slf4j
+@Service
+public class RagConcurrencyLimiter {
+
+    private final Semaphore permits;
+    private final int maxQueued;
+    private final Duration queueTimeout;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public RagConcurrencyLimiter(
+            @Value("${rag.limiter.max-concurrent:4}") int maxConcurrent,
+            @Value("${rag.limiter.max-queued:20}") int maxQueued,
+            @Value("${rag.limiter.queue-timeout-ms:10000}") long queueTimeoutMs) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxQueued = maxQueued;
+        this.queueTimeout = Duration.ofMillis(queueTimeoutMs);
+    }
+
+    /**
+     * Run the given call once a permit is available. The permit is returned when the
+     * call completes, fails or is cancelled.
+     */
+    public <T> Mono<T> limit(Supplier<Mono<T>> call) {
+        return Mono.usingWhen(acquire(), permit -> Mono.defer(call), permit -> Mono.fromRunnable(permit::release));
+    }
+
+    /**
+     * Streaming variant of {@link #limit(Supplier)}: the permit is held until the stream terminates.
+     */
+    public <T> Flux<T> limitMany(Supplier<Flux<T>> call) {
+        return Flux.usingWhen(acquire(), permit -> Flux.defer(call), permit -> Mono.fromRunnable(permit::release));
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.defer(() -> {
+            if (permits.tryAcquire()) {
+                return Mono.just(new Permit());
+            }
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                log.warn("RAG limiter saturated, rejecting request");
+                return Mono.error(busy());
+            }
+            return Mono.<Permit>create(sink -> {
+                Waiter waiter = new Waiter(sink);
+                sink.onCancel(waiter::cancel);
+                waiters.add(waiter);
+                // A permit may have been released between tryAcquire and enqueueing
+                dispatch();
+            }).timeout(queueTimeout)
+                    // A permit granted while the timeout fires is dropped by the operator; hand it back
+                    .doOnDiscard(Permit.class, Permit::release)
+                    .onErrorMap(TimeoutException.class, e -> busy());
+        });
+    }
+
+    // Hand free permits to queued waiters, skipping any that were cancelled
+    private void dispatch() {
+        while (!waiters.isEmpty() && permits.tryAcquire()) {
+            Waiter waiter = waiters.poll();
+            if (waiter == null || !waiter.grant()) {
+                permits.release();
+            }
+        }
+    }
+
+    private TooManyRequestsException busy() {
+        return new TooManyRequestsException("The assistant is busy. Please try again in a moment.");
+    }
+
+    private final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+                dispatch();
+            }
+        }
+    }
+
+    private final class Waiter {
+
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final MonoSink<Permit> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        // Created up front so a cancel that loses the race with grant() always finds it
+        private final Permit permit = new Permit();
+
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        boolean grant() {
+            if (!state.compareAndSet(WAITING, GRANTED)) {
+                return false;
+            }
+            queued.decrementAndGet();
+            sink.success(permit);
+            return true;
+        }
+
+        void cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                queued.decrementAndGet();
+                waiters.remove(this);
+            } else {
+                // Granted concurrently with the cancel; the permit never reached the caller.
+                // Release is idempotent, so the discard hook releasing it too is harmless.
+                permit.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.jobportal.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps uploads in a bucket of an S3-compatible object store (AWS S3, MinIO, Ceph RGW...),
+ * so any number of stateless application nodes can share them.
+ *
+ * Requests are signed with AWS Signature Version 4 (payloads unsigned, so files are streamed
+ * from disk instead of hashed twice) and use path-style addressing. Files larger than one part
+ * are sent as a multipart upload, one part at a time. Downloads are redirected to pre-signed
+ * GET URLs, so file bytes never pass through the application.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "s3")
+public class S3BlobStore implements BlobStore {
+
+    // S3 rejects multipart uploads whose parts (except the last) are smaller
+    private static final long MIN_PART_SIZE = 5 * 1024 * 1024;
+    private static final Pattern UPLOAD_ID = Pattern.compile("<UploadId>([^<]+)</UploadId>");
+    private static final Pattern ERROR_CODE = Pattern.compile("<Code>([^<]+)</Code>");
+
+    private final URI endpoint;
+    private final URI publicEndpoint;
+    private final String bucket;
+    private final S3RequestSigner signer;
+    private final long partSize;
+    private final long presignTtlSeconds;
+    private final String cacheControl;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+
+    public S3BlobStore(
+            @Value("${file.storage.s3.endpoint}") String endpoint,
+            @Value("${file.storage.s3.public-endpoint:}") String publicEndpoint,
+            @Value("${file.storage.s3.region:us-east-1}") String region,
+            @Value("${file.storage.s3.bucket}") String bucket,
+            @Value("${file.storage.s3.access-key}") String accessKey,
+            @Value("${file.storage.s3.secret-key}") String secretKey,
+            @Value("${file.storage.s3.part-size-bytes:8388608}") long partSize,
+            @Value("${file.storage.s3.presign-ttl-seconds:3600}") long presignTtlSeconds,
+            @Value("${file.storage.s3.timeout-ms:30000}") long timeoutMillis,
+            @Value("${file.cache-max-age-seconds:31536000}") long cacheMaxAgeSeconds) {
+        this.endpoint = URI.create(endpoint);
+        this.publicEndpoint = publicEndpoint.isBlank() ? this.endpoint : URI.create(publicEndpoint);
+        this.bucket = bucket;
+        this.signer = new S3RequestSigner(accessKey, secretKey, region);
+        this.partSize = Math.max(MIN_PART_SIZE, partSize);
+        this.presignTtlSeconds = presignTtlSeconds;
+        // Objects are never modified; stored with the object and returned on pre-signed downloads
+        this.cacheControl = "private, max-age=" + cacheMaxAgeSeconds + ", immutable";
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        log.info("Storing uploads in bucket {} at {}", bucket, endpoint);
+    }
+
+    @Override
+    public Optional<BlobMetadata> stat(String key) throws IOException {
+        HttpResponse<String> response = send("HEAD", key, Map.of(), Map.of(), BodyPublishers.noBody());
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        check(response, "HEAD " + key);
+        long size = response.headers().firstValueAsLong("Content-Length").orElse(0);
+        Instant lastModified = response.headers().firstValue("Last-Modified")
+                .map(value -> ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant())
+                .orElse(Instant.EPOCH);
+        return Optional.of(new BlobMetadata(size, lastModified, response.headers().firstValue("ETag").orElse(null)));
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        long size = Files.size(source);
+        if (size <= partSize) {
+            HttpResponse<String> response = send("PUT", key, Map.of(), objectHeaders(contentType),
+                    BodyPublishers.ofFile(source));
+            check(response, "PUT " + key);
+        } else {
+            putMultipart(key, source, size, contentType);
+        }
+    }
+
+    @Override
+    public void put(String key, byte[] content, String contentType) throws IOException {
+        HttpResponse<String> response = send("PUT", key, Map.of(), objectHeaders(contentType),
+                BodyPublishers.ofByteArray(content));
+        check(response, "PUT " + key);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        HttpResponse<InputStream> response = send("GET", key, Map.of(), Map.of(), BodyPublishers.noBody(),
+                BodyHandlers.ofInputStream());
+        if (response.statusCode() / 100 == 2) {
+            return response.body();
+        }
+        try (InputStream body = response.body()) {
+            if (response.statusCode() == 404) {
+                throw new NoSuchFileException(key);
+            }
+            throw failure("GET " + key, response.statusCode(), new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpResponse<String> response = send("DELETE", key, Map.of(), Map.of(), BodyPublishers.noBody());
+        if (response.statusCode() != 404) {
+            check(response, "DELETE " + key);
+        }
+    }
+
+    /**
+     * The URL is valid for at least half of {@code presign-ttl-seconds}. The signing time is rounded
+     * down to that window, so repeated views within it get the same URL and hit the browser cache.
+     */
+    @Override
+    public Optional<URI> presignedGetUrl(String key) {
+        long now = Instant.now().getEpochSecond();
+        long window = Math.max(1, presignTtlSeconds / 2);
+        Instant signedAt = Instant.ofEpochSecond(now - now % window);
+        String path = objectPath(publicEndpoint, key);
+        return Optional.of(URI.create(origin(publicEndpoint) + path + "?"
+                + signer.presignedQuery("GET", path, hostHeader(publicEndpoint), signedAt, presignTtlSeconds)));
+    }
+
+    private void putMultipart(String key, Path source, long size, String contentType) throws IOException {
+        HttpResponse<String> created = send("POST", key, Map.of("uploads", ""), objectHeaders(contentType),
+                BodyPublishers.noBody());
+        check(created, "create multipart upload of " + key);
+        Matcher uploadIdMatcher = UPLOAD_ID.matcher(created.body());
+        if (!uploadIdMatcher.find()) {
+            throw new IOException("No UploadId in multipart upload response for " + key);
+        }
+        String uploadId = uploadIdMatcher.group(1);
+
+        try {
+            StringBuilder parts = new StringBuilder("<CompleteMultipartUpload>");
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                long length = Math.min(partSize, size - offset);
+                HttpResponse<String> part = send("PUT", key,
+                        Map.of("partNumber", String.valueOf(partNumber), "uploadId", uploadId), Map.of(),
+                        filePart(source, offset, length));
+                check(part, "upload part " + partNumber + " of " + key);
+                String etag = part.headers().firstValue("ETag")
+                        .orElseThrow(() -> new IOException("No ETag for part of " + key));
+                parts.append("<Part><PartNumber>").append(partNumber).append("</PartNumber><ETag>")
+                        .append(etag.replace("\"", "&quot;")).append("</ETag></Part>");
+            }
+            parts.append("</CompleteMultipartUpload>");
+
+            HttpResponse<String> completed = send("POST", key, Map.of("uploadId", uploadId),
+                    Map.of("content-type", "application/xml"), BodyPublishers.ofString(parts.toString()));
+            check(completed, "complete multipart upload of " + key);
+            // Completion can fail after the 200 status line has been sent
+            if (completed.body().contains("<Error>")) {
+                throw failure("complete multipart upload of " + key, completed.statusCode(), completed.body());
+            }
+        } catch (IOException | RuntimeException e) {
+            abortMultipart(key, uploadId, e);
+            throw e;
+        }
+    }
+
+    // Otherwise the uploaded parts are kept (and billed) until a bucket lifecycle rule removes them
+    private void abortMultipart(String key, String uploadId, Exception cause) {
+        try {
+            send("DELETE", key, Map.of("uploadId", uploadId), Map.of(), BodyPublishers.noBody());
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private Map<String, String> objectHeaders(String contentType) {
+        return Map.of("content-type", contentType, "cache-control", cacheControl);
+    }
+
+    private HttpResponse<String> send(String method, String key, Map<String, String> query,
+            Map<String, String> headers, BodyPublisher body) throws IOException {
+        return send(method, key, query, headers, body, BodyHandlers.ofString());
+    }
+
+    private <T> HttpResponse<T> send(String method, String key, Map<String, String> query,
+            Map<String, String> headers, BodyPublisher body, BodyHandler<T> handler) throws IOException {
+        Instant now = Instant.now();
+        String path = objectPath(endpoint, key);
+        String queryString = S3RequestSigner.canonicalQuery(query);
+
+        Map<String, String> signedHeaders = new TreeMap<>(headers);
+        signedHeaders.put("host", hostHeader(endpoint));
+        signedHeaders.put("x-amz-content-sha256", S3RequestSigner.UNSIGNED_PAYLOAD);
+        signedHeaders.put("x-amz-date", S3RequestSigner.AMZ_DATE.format(now));
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create(origin(endpoint) + path + (queryString.isEmpty() ? "" : "?" + queryString)))
+                .timeout(timeout)
+                .method(method, body)
+                .header("Authorization", signer.authorization(method, path, query, signedHeaders,
+                        S3RequestSigner.UNSIGNED_PAYLOAD, now));
+        // Host is set by the client itself
+        signedHeaders.forEach((name, value) -> {
+            if (!name.equals("host")) {
+                request.header(name, value);
+            }
+        });
+
+        try {
+            return httpClient.send(request.build(), handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(method + " " + key + " interrupted");
+        }
+    }
+
+    private String objectPath(URI base, String key) {
+        String basePath = base.getRawPath() == null ? "" : base.getRawPath().replaceAll("/+$", "");
+        return basePath + "/" + S3RequestSigner.encode(bucket, false) + "/" + S3RequestSigner.encode(key, true);
+    }
+
+    private static String origin(URI uri) {
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    // As sent by HttpClient: the port is only included when it is not the scheme's default
+    private static String hostHeader(URI uri) {
+        int defaultPort = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        return uri.getPort() == -1 || uri.getPort() == defaultPort ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+    }
+
+    private static void check(HttpResponse<String> response, String action) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw failure(action, response.statusCode(), response.body());
+        }
+    }
+
+    private static IOException failure(String action, int status, String body) {
+        Matcher code = ERROR_CODE.matcher(body == null ? "" : body);
+        return new IOException("S3 " + action + " failed: HTTP " + status + (code.find() ? " " + code.group(1) : ""));
+    }
+
+    // One part of a file, streamed from disk when the request is sent
+    private static BodyPublisher filePart(Path source, long offset, long length) {
+        return BodyPublishers.fromPublisher(BodyPublishers.ofInputStream(() -> {
+            try {
+                InputStream in = Files.newInputStream(source);
+                in.skipNBytes(offset);
+                return new BoundedInputStream(in, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }), length);
+    }
+
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+    }
+}
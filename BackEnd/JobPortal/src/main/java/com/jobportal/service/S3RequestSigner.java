@@ -0,0 +1,131 @@
+package com.jobportal.service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * AWS Signature Version 4 for S3 requests: Authorization headers and pre-signed query strings.
+ * Callers pass the request path already percent-encoded with {@link #encode(String, boolean)}.
+ */
+final class S3RequestSigner {
+
+    static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    static final DateTimeFormatter AMZ_DATE =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter SCOPE_DATE =
+            DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+
+    S3RequestSigner(String accessKey, String secretKey, String region) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+    }
+
+    /**
+     * The Authorization header of a request. {@code headers} are the headers to sign, with
+     * lower-case names; they must include host, x-amz-date and x-amz-content-sha256.
+     */
+    String authorization(String method, String path, Map<String, String> query, Map<String, String> headers,
+            String payloadHash, Instant time) {
+        Map<String, String> signedHeaders = new TreeMap<>(headers);
+        String headerNames = String.join(";", signedHeaders.keySet());
+        String canonicalRequest = method + "\n" + path + "\n" + canonicalQuery(query) + "\n"
+                + signedHeaders.entrySet().stream()
+                        .map(header -> header.getKey() + ":" + header.getValue().trim() + "\n")
+                        .collect(Collectors.joining())
+                + "\n" + headerNames + "\n" + payloadHash;
+        return ALGORITHM + " Credential=" + accessKey + "/" + scope(time)
+                + ", SignedHeaders=" + headerNames + ", Signature=" + signature(time, canonicalRequest);
+    }
+
+    /**
+     * The query string (including X-Amz-Signature) of a pre-signed request signed at {@code time},
+     * valid for {@code expiresSeconds}. Only the host header is signed.
+     */
+    String presignedQuery(String method, String path, String host, Instant time, long expiresSeconds) {
+        Map<String, String> query = new TreeMap<>();
+        query.put("X-Amz-Algorithm", ALGORITHM);
+        query.put("X-Amz-Credential", accessKey + "/" + scope(time));
+        query.put("X-Amz-Date", AMZ_DATE.format(time));
+        query.put("X-Amz-Expires", String.valueOf(expiresSeconds));
+        query.put("X-Amz-SignedHeaders", "host");
+        String queryString = canonicalQuery(query);
+
+        String canonicalRequest = method + "\n" + path + "\n" + queryString + "\n"
+                + "host:" + host + "\n\n"
+                + "host\n" + UNSIGNED_PAYLOAD;
+        return queryString + "&X-Amz-Signature=" + signature(time, canonicalRequest);
+    }
+
+    private String signature(Instant time, String canonicalRequest) {
+        String stringToSign = ALGORITHM + "\n" + AMZ_DATE.format(time) + "\n" + scope(time) + "\n"
+                + sha256Hex(canonicalRequest);
+        byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), SCOPE_DATE.format(time));
+        key = hmac(key, region);
+        key = hmac(key, "s3");
+        key = hmac(key, "aws4_request");
+        return HexFormat.of().formatHex(hmac(key, stringToSign));
+    }
+
+    private String scope(Instant time) {
+        return SCOPE_DATE.format(time) + "/" + region + "/s3/aws4_request";
+    }
+
+    /**
+     * Parameters sorted by name, names and values percent-encoded; a parameter without a value is "name=".
+     */
+    static String canonicalQuery(Map<String, String> query) {
+        return new TreeMap<>(query).entrySet().stream()
+                .map(parameter -> encode(parameter.getKey(), false) + "=" + encode(parameter.getValue(), false))
+                .collect(Collectors.joining("&"));
+    }
+
+    // RFC 3986 percent-encoding as SigV4 expects it: only unreserved characters are left as is
+    static String encode(String value, boolean keepSlash) {
+        StringBuilder encoded = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || (keepSlash && c == '/')) {
+                encoded.append(c);
+            } else {
+                encoded.append('%').append(String.format("%02X", b & 0xff));
+            }
+        }
+        return encoded.toString();
+    }
+
+    static String sha256Hex(String value) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String value) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
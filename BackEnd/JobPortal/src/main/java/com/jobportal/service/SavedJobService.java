@@ -7,19 +7,21 @@ import com.jobportal.entity.EmployerProfile;
 import com.jobportal.entity.Job;
 import com.jobportal.entity.SavedJob;
 import com.jobportal.entity.User;
+import com.jobportal.event.SavedJobsChangedEvent;
 import com.jobportal.exception.ResourceNotFoundException;
-import com.jobportal.repository.EmployerProfileRepository;
 import com.jobportal.repository.JobRepository;
 import com.jobportal.repository.SavedJobRepository;
 import com.jobportal.repository.UserRepository;
 import com.jobportal.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -31,8 +33,9 @@ public class SavedJobService {
     private final SavedJobRepository savedJobRepository;
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
-    private final EmployerProfileRepository employerProfileRepository;
     private final SecurityUtils securityUtils;
+    private final CompanyInfoLoader companyInfoLoader;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void saveJob(UUID jobId) {
@@ -56,6 +59,7 @@ public class SavedJobService {
                 .build();
 
         savedJobRepository.save(savedJob);
+        eventPublisher.publishEvent(new SavedJobsChangedEvent(userId, jobId));
     }
 
     @Transactional
@@ -68,16 +72,20 @@ public class SavedJobService {
         }
 
         savedJobRepository.deleteByUserIdAndJobId(userId, jobId);
+        eventPublisher.publishEvent(new SavedJobsChangedEvent(userId, jobId));
     }
 
     @Transactional(readOnly = true)
     public SavedJobListResponse getSavedJobs() {
         UUID userId = securityUtils.getCurrentUserId();
 
-        List<SavedJob> savedJobs = savedJobRepository.findByUserId(userId);
+        List<SavedJob> savedJobs = savedJobRepository.findByUserIdWithJob(userId);
+        Map<UUID, EmployerProfile> profiles = companyInfoLoader.loadProfiles(
+                savedJobs.stream().map(SavedJob::getJob).collect(Collectors.toList()));
 
         List<SavedJobDto> savedJobDtos = savedJobs.stream()
-                .map(this::mapToSavedJobDto)
+                .map(savedJob -> mapToSavedJobDto(savedJob,
+                        profiles.get(savedJob.getJob().getEmployer().getId())))
                 .collect(Collectors.toList());
 
         return SavedJobListResponse.builder()
@@ -85,23 +93,13 @@ public class SavedJobService {
                 .build();
     }
 
-    private SavedJobDto mapToSavedJobDto(SavedJob savedJob) {
+    private SavedJobDto mapToSavedJobDto(SavedJob savedJob, EmployerProfile profile) {
         Job job = savedJob.getJob();
-        EmployerProfile profile = employerProfileRepository.findByUser(job.getEmployer()).orElse(null);
-
-        JobListItemDto.CompanyInfo companyInfo = null;
-        if (profile != null) {
-            companyInfo = JobListItemDto.CompanyInfo.builder()
-                    .id(profile.getId().toString())
-                    .name(profile.getCompanyName())
-                    .logo(profile.getCompanyLogo())
-                    .build();
-        }
 
         JobListItemDto jobDto = JobListItemDto.builder()
                 .id(job.getId().toString())
                 .title(job.getTitle())
-                .company(companyInfo)
+                .company(CompanyInfoLoader.toCompanyInfo(profile))
                 .location(job.getLocation())
                 .type(job.getType().getValue())
                 .category(job.getCategory())
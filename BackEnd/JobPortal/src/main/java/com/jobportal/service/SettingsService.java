@@ -2,23 +2,40 @@ package com.jobportal.service;
 
 import com.jobportal.dto.admin.SettingDto;
 import com.jobportal.entity.SystemSetting;
+import com.jobportal.event.SettingsChangedEvent;
 import com.jobportal.repository.SystemSettingRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * System settings editable from the admin panel.
+ *
+ * Reads (getSetting, getIntSetting, getBooleanSetting) are served from an immutable
+ * in-memory snapshot that is replaced as a whole: after this node commits an update,
+ * and when the background version check sees a change committed elsewhere (another
+ * node, or a manual edit of system_settings).
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SettingsService {
 
     private final SystemSettingRepository settingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Swapped atomically; null until the first load
+    private volatile Snapshot snapshot;
 
     // Default settings
     private static final Map<String, SettingDto> DEFAULT_SETTINGS = new HashMap<>();
@@ -85,6 +102,7 @@ public class SettingsService {
                 log.info("Created default setting: {}", dto.getKey());
             }
         }
+        reload();
     }
 
     /**
@@ -100,9 +118,12 @@ public class SettingsService {
      * Get a setting by key
      */
     public SettingDto getSetting(String key) {
-        return settingRepository.findByKey(key)
-                .map(this::toDto)
-                .orElse(DEFAULT_SETTINGS.get(key));
+        SettingDto setting = currentSnapshot().settings().get(key);
+        if (setting == null) {
+            setting = DEFAULT_SETTINGS.get(key);
+        }
+        // Snapshot entries are shared between readers; hand out a copy
+        return setting != null ? copy(setting) : null;
     }
 
     /**
@@ -110,8 +131,8 @@ public class SettingsService {
      */
     public int getIntSetting(String key, int defaultValue) {
         try {
-            SettingDto setting = getSetting(key);
-            return setting != null ? Integer.parseInt(setting.getValue()) : defaultValue;
+            String value = getValue(key);
+            return value != null ? Integer.parseInt(value) : defaultValue;
         } catch (NumberFormatException e) {
             return defaultValue;
         }
@@ -121,8 +142,8 @@ public class SettingsService {
      * Get setting value as boolean
      */
     public boolean getBooleanSetting(String key, boolean defaultValue) {
-        SettingDto setting = getSetting(key);
-        return setting != null ? Boolean.parseBoolean(setting.getValue()) : defaultValue;
+        String value = getValue(key);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
     }
 
     /**
@@ -136,6 +157,7 @@ public class SettingsService {
         setting.setValue(value);
         SystemSetting saved = settingRepository.save(setting);
         log.info("Updated setting {} to {}", key, value);
+        eventPublisher.publishEvent(new SettingsChangedEvent(List.of(key)));
         return toDto(saved);
     }
 
@@ -144,16 +166,81 @@ public class SettingsService {
      */
     @Transactional
     public List<SettingDto> updateSettings(List<SettingDto> settings) {
+        List<String> updatedKeys = new ArrayList<>();
         for (SettingDto dto : settings) {
             settingRepository.findByKey(dto.getKey()).ifPresent(setting -> {
                 setting.setValue(dto.getValue());
                 settingRepository.save(setting);
+                updatedKeys.add(dto.getKey());
                 log.info("Updated setting {} to {}", dto.getKey(), dto.getValue());
             });
         }
+        if (!updatedKeys.isEmpty()) {
+            eventPublisher.publishEvent(new SettingsChangedEvent(updatedKeys));
+        }
         return getAllSettings();
     }
 
+    // Runs after commit, so the reload sees the new values
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSettingsChanged(SettingsChangedEvent event) {
+        reload();
+    }
+
+    /**
+     * Pick up changes committed by other nodes. One aggregate query per interval;
+     * the table is only re-read when the hash of its content changed.
+     */
+    @Scheduled(fixedDelayString = "${settings.refresh-interval-ms:10000}",
+            initialDelayString = "${settings.refresh-interval-ms:10000}")
+    public void refreshIfChanged() {
+        Snapshot current = snapshot;
+        try {
+            String version = settingRepository.findVersion();
+            if (current == null || !current.version().equals(version)) {
+                reload();
+                log.info("Settings reloaded after change detected ({} settings)", snapshot.settings().size());
+            }
+        } catch (Exception e) {
+            // Keep serving the last snapshot
+            log.warn("Settings version check failed: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void reload() {
+        // Version first: a change landing between the two queries triggers one extra reload, never a missed one
+        String version = settingRepository.findVersion();
+        Map<String, SettingDto> settings = settingRepository.findAllByOrderByKeyAsc().stream()
+                .collect(Collectors.toUnmodifiableMap(SystemSetting::getKey, this::toDto));
+        snapshot = new Snapshot(settings, version);
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            reload();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private String getValue(String key) {
+        SettingDto setting = currentSnapshot().settings().get(key);
+        if (setting == null) {
+            setting = DEFAULT_SETTINGS.get(key);
+        }
+        return setting != null ? setting.getValue() : null;
+    }
+
+    private static SettingDto copy(SettingDto setting) {
+        return SettingDto.builder()
+                .key(setting.getKey())
+                .value(setting.getValue())
+                .description(setting.getDescription())
+                .type(setting.getType())
+                .build();
+    }
+
     private SettingDto toDto(SystemSetting setting) {
         return SettingDto.builder()
                 .key(setting.getKey())
@@ -162,4 +249,7 @@ public class SettingsService {
                 .type(setting.getType())
                 .build();
     }
+
+    private record Snapshot(Map<String, SettingDto> settings, String version) {
+    }
 }
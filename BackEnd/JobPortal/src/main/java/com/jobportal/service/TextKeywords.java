@@ -0,0 +1,49 @@
+package com.jobportal.service;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cheap keyword extraction shared by the chatbot answer cache and context assembly:
+ * lowercased words with punctuation and stop words removed and plurals folded.
+ */
+final class TextKeywords {
+
+    // Dropped from keyword sets; negations are deliberately kept
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "the", "i", "me", "my", "you", "your", "we", "our", "it", "its",
+            "do", "does", "did", "can", "could", "would", "should", "will", "shall", "may", "might",
+            "is", "are", "am", "was", "were", "be", "been", "to", "of", "in", "on", "for", "at", "by",
+            "with", "and", "or", "please", "how", "what", "there", "this", "that", "some", "any");
+
+    private TextKeywords() {
+    }
+
+    static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}\\s]", " ")
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+
+    static Set<String> keywords(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(normalize(text).split(" "))
+                .filter(word -> !word.isEmpty() && !STOP_WORDS.contains(word))
+                .map(TextKeywords::stem)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    // Crude plural folding ("jobs" -> "job") so trivial rewordings match
+    private static String stem(String word) {
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
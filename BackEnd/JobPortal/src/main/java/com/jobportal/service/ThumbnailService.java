@@ -0,0 +1,198 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.common.ImageVariantsDto;
+import com.jobportal.event.ImageUploadedEvent;
+import com.jobportal.exception.BadRequestException;
+import com.jobportal.service.FileStorageService.StoredFile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the fixed-size thumbnails of uploaded images ({@link ImageVariantsDto#SIZES})
+ * in the background, so lists show a small file instead of the full-size upload.
+ *
+ * Thumbnails are requested after an upload commits, and again whenever a missing one
+ * is viewed (covers images uploaded before thumbnails existed). Work runs on a small
+ * bounded pool; when its queue is full the request is dropped and retried on the next view.
+ * Only formats the JDK's ImageIO can read are supported (no WebP).
+ */
+@Slf4j
+@Service
+public class ThumbnailService {
+
+    private static final int MAX_FAILED_ENTRIES = 10_000;
+
+    private final FileStorageService fileStorageService;
+    private final long maxSourcePixels;
+    private final ThreadPoolExecutor executor;
+
+    // Originals with work queued or running, and originals that could not be decoded
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+
+    public ThumbnailService(
+            FileStorageService fileStorageService,
+            @Value("${images.thumbnails.threads:2}") int threads,
+            @Value("${images.thumbnails.queue-capacity:100}") int queueCapacity,
+            @Value("${images.thumbnails.max-source-pixels:40000000}") long maxSourcePixels) {
+        this.fileStorageService = fileStorageService;
+        this.maxSourcePixels = maxSourcePixels;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImageUploaded(ImageUploadedEvent event) {
+        fileStorageService.findFile(event.imageUrl()).ifPresent(this::requestThumbnails);
+    }
+
+    /**
+     * The thumbnail of an uploaded image, or empty if it is not generated yet (generation is then queued).
+     */
+    public Optional<StoredFile> findThumbnail(StoredFile original, int size) {
+        if (!ImageVariantsDto.SIZES.contains(size)) {
+            throw new BadRequestException("Unsupported image size: " + size);
+        }
+        Optional<StoredFile> thumbnail = fileStorageService.findFile(fileStorageService.thumbnailUrl(original, size));
+        if (thumbnail.isEmpty()) {
+            requestThumbnails(original);
+        }
+        return thumbnail;
+    }
+
+    private void requestThumbnails(StoredFile original) {
+        if (failed.contains(original.etag()) || !pending.add(original.key())) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(original);
+                } finally {
+                    pending.remove(original.key());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(original.key());
+            log.debug("Thumbnail queue full, skipped {}", original.key());
+        }
+    }
+
+    private void generate(StoredFile original) {
+        try {
+            BufferedImage source = read(original);
+            if (source == null) {
+                markFailed(original);
+                return;
+            }
+            for (int size : ImageVariantsDto.SIZES) {
+                String thumbnailUrl = fileStorageService.thumbnailUrl(original, size);
+                if (fileStorageService.findFile(thumbnailUrl).isEmpty()) {
+                    fileStorageService.storeThumbnail(thumbnailUrl, encode(scale(source, size), thumbnailUrl));
+                }
+            }
+            log.debug("Generated thumbnails for {}", original.key());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Thumbnail generation failed for {}: {}", original.key(), e.getMessage());
+            markFailed(original);
+        }
+    }
+
+    // Decode the first image, refusing images whose pixel count could exhaust the heap
+    private BufferedImage read(StoredFile original) throws IOException {
+        try (InputStream content = fileStorageService.open(original);
+             ImageInputStream in = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                log.debug("No image reader for {}", original.key());
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxSourcePixels) {
+                    log.warn("Image too large for thumbnails ({} pixels): {}", pixels, original.key());
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Fit within size x size, never upscaling. Halving steps keep downscaled photos smooth.
+    private static BufferedImage scale(BufferedImage source, int size) {
+        double ratio = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(current, 0, 0, width, height, null);
+            graphics.dispose();
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // Thumbnails are a few KB, so they are encoded in memory and stored in one write
+    private static byte[] encode(BufferedImage image, String thumbnailUrl) throws IOException {
+        String format = thumbnailUrl.endsWith(".jpg") ? "jpg" : "png";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, format, out)) {
+            throw new IOException("No " + format + " writer");
+        }
+        return out.toByteArray();
+    }
+
+    private void markFailed(StoredFile original) {
+        if (failed.size() >= MAX_FAILED_ENTRIES) {
+            failed.clear();
+        }
+        failed.add(original.etag());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,66 @@
+package com.jobportal.service;
+
+import com.jobportal.repository.DriftedCounter;
+import com.jobportal.repository.UnreadCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Periodically compares unread_counters with the messages table and repairs drift
+ * (e.g. counters touched by manual SQL or a failed write path).
+ *
+ * Each drifted counter is recounted in its own transaction while its row is locked, so a
+ * message sent or read meanwhile is either counted or applied on top, never overwritten.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UnreadCounterReconciler {
+
+    private final UnreadCounterRepository unreadCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(initialDelayString = "${messages.unread-reconcile-interval-ms:3600000}",
+            fixedDelayString = "${messages.unread-reconcile-interval-ms:3600000}")
+    public int reconcile() {
+        List<DriftedCounter> drifted = unreadCounterRepository.findDrifted();
+
+        int corrected = 0;
+        for (DriftedCounter counter : drifted) {
+            Boolean repaired = transactionTemplate.execute(status ->
+                    repair(counter.userId(), counter.conversationId()));
+            if (Boolean.TRUE.equals(repaired)) {
+                corrected++;
+            }
+        }
+
+        if (corrected > 0) {
+            log.warn("Unread counter drift repaired: {} counters corrected", corrected);
+        } else {
+            log.debug("Unread counters consistent with messages");
+        }
+        return corrected;
+    }
+
+    // Same lock order as the write paths: the unread messages, then the counter
+    private boolean repair(UUID userId, UUID conversationId) {
+        unreadCounterRepository.lockUnreadMessages(userId, conversationId);
+        unreadCounterRepository.insertIfMissing(userId, conversationId);
+        long current = unreadCounterRepository.lockCount(userId, conversationId);
+
+        // Fresh snapshot taken under the counter lock: every increment or reset not visible
+        // here is still waiting for the lock and will apply on top of the repaired value
+        long actual = unreadCounterRepository.countUnreadMessages(userId, conversationId);
+        if (current == actual) {
+            return false;
+        }
+        unreadCounterRepository.setCount(userId, conversationId, actual);
+        return true;
+    }
+}
@@ -0,0 +1,4 @@
+-- Keyset feed: ORDER BY posted_at DESC, id DESC and the (posted_at, id) < cursor seek read this index
+-- in order, without a sort for jobs sharing a posted_at. It also covers what idx_jobs_posted_at served.
+CREATE INDEX IF NOT EXISTS idx_jobs_posted_at_id ON jobs(posted_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_jobs_posted_at;
@@ -0,0 +1,27 @@
+-- A job's search document, weighted title > skills > description. The trigger and the
+-- backfill below both call it, so stored vectors and newly written ones cannot differ.
+CREATE OR REPLACE FUNCTION job_search_vector(p_title TEXT, p_skills JSONB, p_description TEXT)
+RETURNS TSVECTOR AS $$
+    SELECT setweight(to_tsvector('english', COALESCE(p_title, '')), 'A') ||
+        setweight(to_tsvector('english', COALESCE(
+            array_to_string(ARRAY(SELECT jsonb_array_elements_text(COALESCE(p_skills, '[]'::jsonb))), ' '),
+            '')), 'B') ||
+        setweight(to_tsvector('english', COALESCE(p_description, '')), 'C');
+$$ language 'sql' IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION update_jobs_search_vector()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector := job_search_vector(NEW.title, NEW.skills, NEW.description);
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+-- Set the column directly: the search vector trigger is not needed, and updated_at fires on
+-- any update, so it is off for the backfill (the V3 backfill touched every row's updated_at)
+ALTER TABLE jobs DISABLE TRIGGER update_jobs_updated_at;
+
+UPDATE jobs SET search_vector = job_search_vector(title, skills, description)
+WHERE search_vector IS DISTINCT FROM job_search_vector(title, skills, description);
+
+ALTER TABLE jobs ENABLE TRIGGER update_jobs_updated_at;
@@ -0,0 +1,23 @@
+-- Full-text search for jobs: weighted tsvector maintained by trigger (title > skills > description)
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS search_vector TSVECTOR;
+
+CREATE OR REPLACE FUNCTION update_jobs_search_vector()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('english', COALESCE(NEW.title, '')), 'A') ||
+        setweight(to_tsvector('english', COALESCE(
+            array_to_string(ARRAY(SELECT jsonb_array_elements_text(COALESCE(NEW.skills, '[]'::jsonb))), ' '),
+            '')), 'B') ||
+        setweight(to_tsvector('english', COALESCE(NEW.description, '')), 'C');
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER update_jobs_search_vector BEFORE INSERT OR UPDATE OF title, skills, description ON jobs
+    FOR EACH ROW EXECUTE FUNCTION update_jobs_search_vector();
+
+-- Backfill existing rows (fires the trigger above)
+UPDATE jobs SET title = title;
+
+CREATE INDEX idx_jobs_search ON jobs USING GIN(search_vector);
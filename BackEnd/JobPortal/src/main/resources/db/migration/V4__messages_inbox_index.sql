@@ -0,0 +1,2 @@
+-- Latest message per conversation for the inbox query (LATERAL ... ORDER BY sent_at DESC LIMIT 1)
+CREATE INDEX IF NOT EXISTS idx_messages_conversation_sent_at ON messages(conversation_id, sent_at DESC);
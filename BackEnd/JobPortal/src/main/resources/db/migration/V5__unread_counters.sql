@@ -0,0 +1,19 @@
+-- Denormalized unread message counts per recipient and conversation
+CREATE TABLE unread_counters (
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    conversation_id UUID NOT NULL REFERENCES conversations(id) ON DELETE CASCADE,
+    unread_count INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, conversation_id)
+);
+
+CREATE INDEX idx_unread_counters_conversation_id ON unread_counters(conversation_id);
+
+-- Backfill from existing unread messages (recipient = the participant who did not send)
+INSERT INTO unread_counters (user_id, conversation_id, unread_count)
+SELECT CASE WHEN m.sender_id = c.participant_1 THEN c.participant_2 ELSE c.participant_1 END,
+       m.conversation_id,
+       COUNT(*)
+FROM messages m
+JOIN conversations c ON c.id = m.conversation_id
+WHERE m.is_read = FALSE
+GROUP BY 1, 2;
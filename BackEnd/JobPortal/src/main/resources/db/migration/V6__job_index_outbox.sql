@@ -0,0 +1,18 @@
+-- Outbox of job changes to push to the RAG index. Rows are written in the same
+-- transaction as the job change and deleted once the RAG service has accepted them.
+CREATE TABLE job_index_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    job_id UUID NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    claim_token UUID,
+    last_error TEXT
+);
+
+CREATE INDEX idx_job_index_outbox_next_attempt ON job_index_outbox(next_attempt_at, id);
+CREATE INDEX idx_job_index_outbox_claim_token ON job_index_outbox(claim_token);
+
+-- Index every existing active job once
+INSERT INTO job_index_outbox (job_id)
+SELECT id FROM jobs WHERE status = 'active';
@@ -0,0 +1,112 @@
+-- Per-employer dashboard counters ("my jobs" stats), maintained by triggers on jobs and applications
+CREATE TABLE employer_stats (
+    employer_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    total_jobs INTEGER NOT NULL DEFAULT 0,
+    active_jobs INTEGER NOT NULL DEFAULT 0,
+    total_applicants INTEGER NOT NULL DEFAULT 0,
+    hired_count INTEGER NOT NULL DEFAULT 0
+);
+
+CREATE OR REPLACE FUNCTION bump_employer_stats(
+    p_employer_id UUID, d_total INTEGER, d_active INTEGER, d_applicants INTEGER, d_hired INTEGER)
+RETURNS VOID AS $$
+BEGIN
+    -- Most job updates (views, descriptions) change none of the counters
+    IF p_employer_id IS NULL OR (d_total = 0 AND d_active = 0 AND d_applicants = 0 AND d_hired = 0) THEN
+        RETURN;
+    END IF;
+    INSERT INTO employer_stats (employer_id, total_jobs, active_jobs, total_applicants, hired_count)
+    VALUES (p_employer_id, d_total, d_active, d_applicants, d_hired)
+    ON CONFLICT (employer_id) DO UPDATE SET
+        total_jobs = employer_stats.total_jobs + EXCLUDED.total_jobs,
+        active_jobs = employer_stats.active_jobs + EXCLUDED.active_jobs,
+        total_applicants = employer_stats.total_applicants + EXCLUDED.total_applicants,
+        hired_count = employer_stats.hired_count + EXCLUDED.hired_count;
+END;
+$$ language 'plpgsql';
+
+-- Jobs: count, active status and applicants_count (itself kept by the applicant-count triggers in V1)
+CREATE OR REPLACE FUNCTION update_employer_stats_for_job()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM bump_employer_stats(NEW.employer_id, 1,
+            CASE WHEN NEW.status = 'active' THEN 1 ELSE 0 END, COALESCE(NEW.applicants_count, 0), 0);
+        RETURN NEW;
+    ELSIF TG_OP = 'DELETE' THEN
+        -- BEFORE DELETE: the cascaded applications are still visible here, and their own
+        -- trigger can no longer find the job, so the job's hires are removed now
+        PERFORM bump_employer_stats(OLD.employer_id, -1,
+            CASE WHEN OLD.status = 'active' THEN -1 ELSE 0 END, -COALESCE(OLD.applicants_count, 0),
+            -(SELECT COUNT(*)::INTEGER FROM applications WHERE job_id = OLD.id AND status = 'hired'));
+        RETURN OLD;
+    END IF;
+
+    IF NEW.employer_id IS DISTINCT FROM OLD.employer_id THEN
+        PERFORM bump_employer_stats(OLD.employer_id, -1,
+            CASE WHEN OLD.status = 'active' THEN -1 ELSE 0 END, -COALESCE(OLD.applicants_count, 0),
+            -(SELECT COUNT(*)::INTEGER FROM applications WHERE job_id = OLD.id AND status = 'hired'));
+        PERFORM bump_employer_stats(NEW.employer_id, 1,
+            CASE WHEN NEW.status = 'active' THEN 1 ELSE 0 END, COALESCE(NEW.applicants_count, 0),
+            (SELECT COUNT(*)::INTEGER FROM applications WHERE job_id = NEW.id AND status = 'hired'));
+    ELSE
+        PERFORM bump_employer_stats(NEW.employer_id, 0,
+            (CASE WHEN NEW.status = 'active' THEN 1 ELSE 0 END) - (CASE WHEN OLD.status = 'active' THEN 1 ELSE 0 END),
+            COALESCE(NEW.applicants_count, 0) - COALESCE(OLD.applicants_count, 0), 0);
+    END IF;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER employer_stats_job_insert AFTER INSERT ON jobs
+    FOR EACH ROW EXECUTE FUNCTION update_employer_stats_for_job();
+
+CREATE TRIGGER employer_stats_job_update AFTER UPDATE OF employer_id, status, applicants_count ON jobs
+    FOR EACH ROW EXECUTE FUNCTION update_employer_stats_for_job();
+
+CREATE TRIGGER employer_stats_job_delete BEFORE DELETE ON jobs
+    FOR EACH ROW EXECUTE FUNCTION update_employer_stats_for_job();
+
+-- Applications: hires (transitions into and out of 'hired')
+CREATE OR REPLACE FUNCTION update_employer_stats_for_application()
+RETURNS TRIGGER AS $$
+DECLARE
+    d_hired INTEGER := 0;
+    v_job_id UUID;
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.status = 'hired' THEN
+        d_hired := d_hired - 1;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.status = 'hired' THEN
+        d_hired := d_hired + 1;
+    END IF;
+
+    IF d_hired <> 0 THEN
+        v_job_id := CASE WHEN TG_OP = 'DELETE' THEN OLD.job_id ELSE NEW.job_id END;
+        -- No row when the job itself is being deleted (handled by the jobs trigger)
+        PERFORM bump_employer_stats(j.employer_id, 0, 0, 0, d_hired)
+        FROM jobs j WHERE j.id = v_job_id;
+    END IF;
+
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER employer_stats_application_change AFTER INSERT OR UPDATE OF status OR DELETE ON applications
+    FOR EACH ROW EXECUTE FUNCTION update_employer_stats_for_application();
+
+-- Backfill from existing rows
+INSERT INTO employer_stats (employer_id, total_jobs, active_jobs, total_applicants, hired_count)
+SELECT j.employer_id,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE j.status = 'active'),
+       COALESCE(SUM(j.applicants_count), 0),
+       COALESCE(SUM(h.hired), 0)
+FROM jobs j
+LEFT JOIN (
+    SELECT job_id, COUNT(*) AS hired FROM applications WHERE status = 'hired' GROUP BY job_id
+) h ON h.job_id = j.id
+GROUP BY j.employer_id;
@@ -0,0 +1,94 @@
+-- Content-addressed uploads (/uploads/blobs/ab/cd/<sha256>.<ext>) with reference counts.
+-- A blob is referenced by every profile/application column holding its URL; the counts are kept
+-- by triggers so cascaded deletes (user, job) release their files too. Unreferenced blobs are
+-- removed by FileStorageService's sweep.
+CREATE TABLE stored_blobs (
+    url VARCHAR(500) PRIMARY KEY,
+    sha256 CHAR(64) NOT NULL,
+    size BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_stored_blobs_unreferenced ON stored_blobs(updated_at) WHERE ref_count <= 0;
+
+CREATE OR REPLACE FUNCTION move_blob_ref(old_url VARCHAR, new_url VARCHAR)
+RETURNS VOID AS $$
+BEGIN
+    -- Most updates leave the file columns alone; URLs outside blobs/ have no row and are ignored
+    IF old_url IS NOT DISTINCT FROM new_url THEN
+        RETURN;
+    END IF;
+    IF old_url IS NOT NULL THEN
+        UPDATE stored_blobs SET ref_count = ref_count - 1, updated_at = CURRENT_TIMESTAMP WHERE url = old_url;
+    END IF;
+    IF new_url IS NOT NULL THEN
+        UPDATE stored_blobs SET ref_count = ref_count + 1, updated_at = CURRENT_TIMESTAMP WHERE url = new_url;
+    END IF;
+END;
+$$ language 'plpgsql';
+
+CREATE OR REPLACE FUNCTION update_blob_refs_for_job_seeker_profile()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM move_blob_ref(NULL, NEW.avatar_url);
+        PERFORM move_blob_ref(NULL, NEW.cv_file_url);
+        RETURN NEW;
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM move_blob_ref(OLD.avatar_url, NULL);
+        PERFORM move_blob_ref(OLD.cv_file_url, NULL);
+        RETURN OLD;
+    END IF;
+    PERFORM move_blob_ref(OLD.avatar_url, NEW.avatar_url);
+    PERFORM move_blob_ref(OLD.cv_file_url, NEW.cv_file_url);
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+CREATE OR REPLACE FUNCTION update_blob_refs_for_employer_profile()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM move_blob_ref(NULL, NEW.avatar_url);
+        PERFORM move_blob_ref(NULL, NEW.company_logo);
+        RETURN NEW;
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM move_blob_ref(OLD.avatar_url, NULL);
+        PERFORM move_blob_ref(OLD.company_logo, NULL);
+        RETURN OLD;
+    END IF;
+    PERFORM move_blob_ref(OLD.avatar_url, NEW.avatar_url);
+    PERFORM move_blob_ref(OLD.company_logo, NEW.company_logo);
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+-- Applications keep the CV they were submitted with, even after the profile's CV is replaced
+CREATE OR REPLACE FUNCTION update_blob_refs_for_application()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM move_blob_ref(NULL, NEW.cv_url);
+        RETURN NEW;
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM move_blob_ref(OLD.cv_url, NULL);
+        RETURN OLD;
+    END IF;
+    PERFORM move_blob_ref(OLD.cv_url, NEW.cv_url);
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER blob_refs_job_seeker_profile
+    AFTER INSERT OR DELETE OR UPDATE OF avatar_url, cv_file_url ON job_seeker_profiles
+    FOR EACH ROW EXECUTE FUNCTION update_blob_refs_for_job_seeker_profile();
+
+CREATE TRIGGER blob_refs_employer_profile
+    AFTER INSERT OR DELETE OR UPDATE OF avatar_url, company_logo ON employer_profiles
+    FOR EACH ROW EXECUTE FUNCTION update_blob_refs_for_employer_profile();
+
+CREATE TRIGGER blob_refs_application
+    AFTER INSERT OR DELETE OR UPDATE OF cv_url ON applications
+    FOR EACH ROW EXECUTE FUNCTION update_blob_refs_for_application();
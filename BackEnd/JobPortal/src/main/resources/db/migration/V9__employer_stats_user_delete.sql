@@ -0,0 +1,20 @@
+-- Deleting an employer cascades to their jobs, whose delete trigger would re-create the
+-- employer_stats row the same cascade just removed. Counters of deleted users are skipped.
+CREATE OR REPLACE FUNCTION bump_employer_stats(
+    p_employer_id UUID, d_total INTEGER, d_active INTEGER, d_applicants INTEGER, d_hired INTEGER)
+RETURNS VOID AS $$
+BEGIN
+    -- Most job updates (views, descriptions) change none of the counters
+    IF p_employer_id IS NULL OR (d_total = 0 AND d_active = 0 AND d_applicants = 0 AND d_hired = 0) THEN
+        RETURN;
+    END IF;
+    INSERT INTO employer_stats (employer_id, total_jobs, active_jobs, total_applicants, hired_count)
+    SELECT p_employer_id, d_total, d_active, d_applicants, d_hired
+    WHERE EXISTS (SELECT 1 FROM users WHERE id = p_employer_id)
+    ON CONFLICT (employer_id) DO UPDATE SET
+        total_jobs = employer_stats.total_jobs + EXCLUDED.total_jobs,
+        active_jobs = employer_stats.active_jobs + EXCLUDED.active_jobs,
+        total_applicants = employer_stats.total_applicants + EXCLUDED.total_applicants,
+        hired_count = employer_stats.hired_count + EXCLUDED.hired_count;
+END;
+$$ language 'plpgsql';
@@ -0,0 +1,90 @@
+package com.jobportal.controller;
+
+import com.jobportal.dto.chatbot.ChatStreamEvent;
+import com.jobportal.exception.GlobalExceptionHandler;
+import com.jobportal.exception.ServiceUnavailableException;
+import com.jobportal.exception.TooManyRequestsException;
+import com.jobportal.service.ChatContextService;
+import com.jobportal.service.RagClientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The answer stream is rejected with a status before its first event when the RAG service
+ * cannot take the request, instead of a 200 stream carrying an error event.
+ */
+class ChatbotControllerTest {
+
+    private final RagClientService ragClientService = mock(RagClientService.class);
+    private final ChatContextService chatContextService = mock(ChatContextService.class);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ChatbotController(ragClientService, chatContextService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void saturatedLimiterIsAnswered429WithRetryAfter() throws Exception {
+        when(ragClientService.chatStream(any())).thenReturn(Flux.error(new TooManyRequestsException("busy")));
+
+        mockMvc.perform(asyncDispatch(askStream()))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void openCircuitIsAnswered503WithRetryAfter() throws Exception {
+        when(ragClientService.chatStream(any())).thenReturn(Flux.error(new ServiceUnavailableException("down", 12)));
+
+        mockMvc.perform(asyncDispatch(askStream()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "12"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void answerIsStreamed() throws Exception {
+        when(ragClientService.chatStream(any())).thenReturn(Flux.just(ChatStreamEvent.token("Hi"),
+                ChatStreamEvent.done(List.of(), 1, 1)));
+
+        mockMvc.perform(asyncDispatch(askStream()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("event:token")))
+                .andExpect(content().string(containsString("event:done")));
+    }
+
+    private MvcResult askStream() throws Exception {
+        return mockMvc.perform(post("/api/chatbot/ask/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content("{\"question\": \"Which jobs have I saved?\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
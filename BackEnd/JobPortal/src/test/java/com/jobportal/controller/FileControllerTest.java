@@ -0,0 +1,207 @@
+package com.jobportal.controller;
+
+import com.jobportal.exception.GlobalExceptionHandler;
+import com.jobportal.service.FileStorageService;
+import com.jobportal.service.FileStorageService.StoredFile;
+import com.jobportal.service.ThumbnailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class FileControllerTest {
+
+    private static final String PATH = "/uploads/blobs/ab/cd/abcd.pdf";
+    private static final String ETAG = "\"abcd\"";
+    private static final Instant LAST_MODIFIED = Instant.parse("2026-01-02T03:04:05Z");
+    private static final int SIZE = 100;
+
+    @TempDir
+    Path uploadDir;
+
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private final ThumbnailService thumbnailService = mock(ThumbnailService.class);
+
+    private MockMvc mockMvc;
+    private byte[] content;
+    private StoredFile file;
+
+    @BeforeEach
+    void storeFile() throws IOException {
+        content = new byte[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            content[i] = (byte) i;
+        }
+        Path local = Files.write(uploadDir.resolve("abcd.pdf"), content);
+        file = new StoredFile("blobs/ab/cd/abcd.pdf", SIZE, LAST_MODIFIED, ETAG);
+        when(fileStorageService.findFile(anyString())).thenReturn(Optional.empty());
+        when(fileStorageService.findFile(PATH)).thenReturn(Optional.of(file));
+        when(fileStorageService.localPath(file)).thenReturn(Optional.of(local));
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new FileController(fileStorageService, thumbnailService, 31536000))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void servesWholeFileWithValidators() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("path", PATH))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED.toEpochMilli()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, SIZE))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/pdf"))
+                .andExpect(content().bytes(content));
+    }
+
+    @Test
+    void answersMatchingEntityTagWithNotModified() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("path", PATH).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void answersUnchangedDateWithNotModified() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("path", PATH)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 02 Jan 2026 03:04:05 GMT"))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void servesSingleRangeAsPartialContent() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("path", PATH).header(HttpHeaders.RANGE, "bytes=10-19"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/100"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 10, 20)));
+    }
+
+    @Test
+    void servesSuffixAndOpenEndedRanges() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("path", PATH).header(HttpHeaders.RANGE, "bytes=-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 95-99/100"))
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 95, 100)));
+        // An end past the file is clamped to its last byte
+        mockMvc.perform(get("/api/files/download").param("path", PATH).header(HttpHeaders.RANGE, "bytes=90-500"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 90-99/100"))
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 90, 100)));
+    }
+
+    @Test
+    void rejectsRangeStartingPastTheEnd() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("path", PATH).header(HttpHeaders.RANGE, "bytes=100-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */100"))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void servesWholeFileForMultipleOrMalformedRanges() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("path", PATH).header(HttpHeaders.RANGE, "bytes=0-1,5-6"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(content));
+        mockMvc.perform(get("/api/files/download").param("path", PATH).header(HttpHeaders.RANGE, "lines=1-2"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(content));
+    }
+
+    @Test
+    void honoursRangeOnlyWhileIfRangeStillMatches() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("path", PATH)
+                        .header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, ETAG))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 0, 10)));
+        mockMvc.perform(get("/api/files/download").param("path", PATH)
+                        .header(HttpHeaders.RANGE, "bytes=0-9")
+                        .header(HttpHeaders.IF_RANGE, "Fri, 02 Jan 2026 03:04:05 GMT"))
+                .andExpect(status().isPartialContent());
+        mockMvc.perform(get("/api/files/download").param("path", PATH)
+                        .header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(content));
+    }
+
+    @Test
+    void headSendsHeadersWithoutBody() throws Exception {
+        mockMvc.perform(head("/api/files/download").param("path", PATH).header(HttpHeaders.RANGE, "bytes=0-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void handsLargeRangesToSendfile() throws Exception {
+        byte[] large = new byte[64 * 1024];
+        Path local = Files.write(uploadDir.resolve("large.pdf"), large);
+        StoredFile largeFile = new StoredFile("blobs/ef/gh/large.pdf", large.length, LAST_MODIFIED, "\"large\"");
+        when(fileStorageService.findFile("/uploads/blobs/ef/gh/large.pdf")).thenReturn(Optional.of(largeFile));
+        when(fileStorageService.localPath(largeFile)).thenReturn(Optional.of(local));
+
+        mockMvc.perform(get("/api/files/download").param("path", "/uploads/blobs/ef/gh/large.pdf")
+                        .requestAttr("org.apache.tomcat.sendfile.support", true)
+                        .header(HttpHeaders.RANGE, "bytes=1000-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.filename",
+                        local.toFile().getCanonicalPath()))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 1000L))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.end", (long) large.length))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void redirectsToPresignedUrlWhenStoreHasNoLocalFiles() throws Exception {
+        when(fileStorageService.localPath(file)).thenReturn(Optional.empty());
+        when(fileStorageService.presignedUrl(file))
+                .thenReturn(Optional.of(URI.create("https://s3.example.com/jobportal/blobs/ab/cd/abcd.pdf?X-Amz-Signature=1")));
+
+        mockMvc.perform(get("/api/files/download").param("path", PATH))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrl("https://s3.example.com/jobportal/blobs/ab/cd/abcd.pdf?X-Amz-Signature=1"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+    }
+
+    @Test
+    void servesOriginalWithoutLongLivedCachingUntilThumbnailIsReady() throws Exception {
+        when(thumbnailService.findThumbnail(any(), any(Integer.class))).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/files/view").param("path", PATH).param("size", "48"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().bytes(content));
+    }
+
+    @Test
+    void missingFileIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("path", "/uploads/blobs/missing.pdf"))
+                .andExpect(status().isNotFound());
+    }
+}
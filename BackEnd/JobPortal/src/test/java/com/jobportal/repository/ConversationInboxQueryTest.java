@@ -0,0 +1,131 @@
+package com.jobportal.repository;
+
+import com.jobportal.support.JdbcFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The native inbox query mapped onto the ConversationSummary record: counterpart name and
+ * avatar by role, job title, last message, unread count and order.
+ */
+@SpringBootTest
+@Transactional
+class ConversationInboxQueryTest {
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcFixtures fixtures;
+    private UUID employerId;
+    private UUID seekerId;
+    private UUID jobId;
+
+    @BeforeEach
+    void createParticipants() {
+        fixtures = new JdbcFixtures(jdbcTemplate);
+        employerId = fixtures.insertUser("EMPLOYER");
+        seekerId = fixtures.insertUser("JOB_SEEKER");
+        jobId = fixtures.insertJob(employerId, "active");
+        jdbcTemplate.update("INSERT INTO employer_profiles (user_id, full_name, company_name, avatar_url) " +
+                "VALUES (?, 'Jane Doe', 'Acme Corp', '/uploads/blobs/employer.png')", employerId);
+        jdbcTemplate.update("INSERT INTO job_seeker_profiles (user_id, full_name, avatar_url) " +
+                "VALUES (?, 'John Smith', '/uploads/blobs/seeker.png')", seekerId);
+    }
+
+    @Test
+    void rowCarriesTheCounterpartJobLastMessageAndUnreadCount() {
+        UUID conversationId = insertConversation(employerId, seekerId, jobId, "1 hour");
+        insertMessage(conversationId, seekerId, "Hello", "2 hours");
+        insertMessage(conversationId, seekerId, "Any news?", "1 hour");
+        jdbcTemplate.update("INSERT INTO unread_counters (user_id, conversation_id, unread_count) VALUES (?, ?, 2)",
+                employerId, conversationId);
+
+        ConversationSummary summary = inbox(employerId).get(0);
+
+        assertThat(summary.id()).isEqualTo(conversationId);
+        assertThat(summary.jobId()).isEqualTo(jobId);
+        assertThat(summary.jobTitle()).isEqualTo("Job");
+        assertThat(summary.counterpartId()).isEqualTo(seekerId);
+        assertThat(summary.counterpartName()).isEqualTo("John Smith");
+        assertThat(summary.counterpartAvatar()).isEqualTo("/uploads/blobs/seeker.png");
+        assertThat(summary.lastMessageContent()).isEqualTo("Any news?");
+        assertThat(summary.lastMessageSentAt()).isNotNull();
+        assertThat(summary.lastMessageIsRead()).isFalse();
+        assertThat(summary.unreadCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void employerIsNamedByCompanyAndPerson() {
+        insertConversation(seekerId, employerId, jobId, "1 hour");
+
+        ConversationSummary summary = inbox(seekerId).get(0);
+
+        assertThat(summary.counterpartName()).isEqualTo("Acme Corp (Jane Doe)");
+        assertThat(summary.counterpartAvatar()).isEqualTo("/uploads/blobs/employer.png");
+    }
+
+    @Test
+    void employerWithoutAFullNameKeepsTheCompanyName() {
+        // full_name is NOT NULL today; the query must not lose the company name if that is relaxed.
+        // DDL is transactional in PostgreSQL, so this rolls back with the test.
+        jdbcTemplate.execute("ALTER TABLE employer_profiles ALTER COLUMN full_name DROP NOT NULL");
+        jdbcTemplate.update("UPDATE employer_profiles SET full_name = NULL WHERE user_id = ?", employerId);
+        insertConversation(seekerId, employerId, jobId, "1 hour");
+
+        assertThat(inbox(seekerId).get(0).counterpartName()).isEqualTo("Acme Corp");
+    }
+
+    @Test
+    void conversationWithoutMessagesOrProfileHasDefaults() {
+        UUID stranger = fixtures.insertUser("EMPLOYER");
+        insertConversation(seekerId, stranger, null, "1 hour");
+
+        ConversationSummary summary = inbox(seekerId).get(0);
+
+        assertThat(summary.counterpartName()).isEqualTo("User");
+        assertThat(summary.counterpartAvatar()).isNull();
+        assertThat(summary.jobId()).isNull();
+        assertThat(summary.jobTitle()).isNull();
+        assertThat(summary.lastMessageContent()).isNull();
+        assertThat(summary.lastMessageSentAt()).isNull();
+        assertThat(summary.unreadCount()).isZero();
+    }
+
+    @Test
+    void mostRecentConversationComesFirstAndPagesFollow() {
+        UUID older = insertConversation(seekerId, employerId, jobId, "2 hours");
+        UUID newer = insertConversation(seekerId, fixtures.insertUser("EMPLOYER"), null, "1 hour");
+
+        assertThat(inbox(seekerId)).extracting(ConversationSummary::id).containsExactly(newer, older);
+        assertThat(conversationRepository.findInboxByParticipant(seekerId, 1, 1))
+                .extracting(ConversationSummary::id).containsExactly(older);
+    }
+
+    private List<ConversationSummary> inbox(UUID userId) {
+        return conversationRepository.findInboxByParticipant(userId, 20, 0);
+    }
+
+    private UUID insertConversation(UUID participant1, UUID participant2, UUID job, String lastMessageAgo) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO conversations (participant_1, participant_2, job_id, last_message_at) " +
+                        "VALUES (?, ?, ?, now() - CAST(? AS interval)) RETURNING id",
+                UUID.class, participant1, participant2, job, lastMessageAgo);
+    }
+
+    private void insertMessage(UUID conversationId, UUID senderId, String content, String ago) {
+        jdbcTemplate.update("INSERT INTO messages (conversation_id, sender_id, content, sent_at) " +
+                "VALUES (?, ?, ?, now() - CAST(? AS interval))", conversationId, senderId, content, ago);
+    }
+}
@@ -0,0 +1,109 @@
+package com.jobportal.repository;
+
+import com.jobportal.support.JdbcFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The employer_stats counters (V7) are kept by triggers on jobs and applications, so they are
+ * exercised with plain SQL here, including the cascades that never pass through the entities.
+ */
+@SpringBootTest
+@Transactional
+class EmployerStatsTriggerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcFixtures fixtures;
+    private UUID employerId;
+
+    @BeforeEach
+    void createEmployer() {
+        fixtures = new JdbcFixtures(jdbcTemplate);
+        employerId = fixtures.insertUser("EMPLOYER");
+    }
+
+    @Test
+    void jobInsertsCountTotalAndActiveJobs() {
+        fixtures.insertJob(employerId, "active");
+        fixtures.insertJob(employerId, "draft");
+
+        assertThat(stats()).containsExactly(2, 1, 0, 0);
+    }
+
+    @Test
+    void statusChangesMoveTheActiveCount() {
+        UUID jobId = fixtures.insertJob(employerId, "draft");
+
+        jdbcTemplate.update("UPDATE jobs SET status = 'active' WHERE id = ?", jobId);
+        assertThat(stats()).containsExactly(1, 1, 0, 0);
+
+        jdbcTemplate.update("UPDATE jobs SET status = 'closed' WHERE id = ?", jobId);
+        assertThat(stats()).containsExactly(1, 0, 0, 0);
+    }
+
+    @Test
+    void applicationsAndHiresAreCountedAndReleased() {
+        UUID jobId = fixtures.insertJob(employerId, "active");
+        UUID first = insertApplication(jobId);
+        insertApplication(jobId);
+        assertThat(stats()).containsExactly(1, 1, 2, 0);
+
+        jdbcTemplate.update("UPDATE applications SET status = 'hired' WHERE id = ?", first);
+        assertThat(stats()).containsExactly(1, 1, 2, 1);
+
+        jdbcTemplate.update("UPDATE applications SET status = 'rejected' WHERE id = ?", first);
+        assertThat(stats()).containsExactly(1, 1, 2, 0);
+
+        jdbcTemplate.update("UPDATE applications SET status = 'hired' WHERE id = ?", first);
+        jdbcTemplate.update("DELETE FROM applications WHERE id = ?", first);
+        assertThat(stats()).containsExactly(1, 1, 1, 0);
+    }
+
+    @Test
+    void jobDeleteReleasesItsCascadedApplicationsAndHires() {
+        UUID kept = fixtures.insertJob(employerId, "active");
+        UUID deleted = fixtures.insertJob(employerId, "active");
+        insertApplication(kept);
+        UUID hired = insertApplication(deleted);
+        insertApplication(deleted);
+        jdbcTemplate.update("UPDATE applications SET status = 'hired' WHERE id = ?", hired);
+        assertThat(stats()).containsExactly(2, 2, 3, 1);
+
+        jdbcTemplate.update("DELETE FROM jobs WHERE id = ?", deleted);
+
+        assertThat(stats()).containsExactly(1, 1, 1, 0);
+    }
+
+    @Test
+    void employerDeleteRemovesTheRow() {
+        fixtures.insertJob(employerId, "active");
+
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", employerId);
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM employer_stats WHERE employer_id = ?", Integer.class, employerId)).isZero();
+    }
+
+    // total_jobs, active_jobs, total_applicants, hired_count
+    private Integer[] stats() {
+        return jdbcTemplate.queryForObject(
+                "SELECT total_jobs, active_jobs, total_applicants, hired_count FROM employer_stats WHERE employer_id = ?",
+                (rs, rowNum) -> new Integer[]{rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4)},
+                employerId);
+    }
+
+    // One application per job and applicant, so each comes from a new job seeker
+    private UUID insertApplication(UUID jobId) {
+        return fixtures.insertApplication(jobId, fixtures.insertUser("JOB_SEEKER"), "/uploads/cvs/cv.pdf");
+    }
+}
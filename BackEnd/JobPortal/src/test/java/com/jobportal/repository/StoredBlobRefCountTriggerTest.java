@@ -0,0 +1,129 @@
+package com.jobportal.repository;
+
+import com.jobportal.support.JdbcFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The stored_blobs reference counts (V8) follow every profile and application column holding a
+ * blob URL, including rows removed by cascades.
+ */
+@SpringBootTest
+@Transactional
+class StoredBlobRefCountTriggerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StoredBlobRepository storedBlobRepository;
+
+    private JdbcFixtures fixtures;
+    private String avatar;
+    private String cv;
+    private String newCv;
+
+    @BeforeEach
+    void registerBlobs() {
+        fixtures = new JdbcFixtures(jdbcTemplate);
+        avatar = register("png");
+        cv = register("pdf");
+        newCv = register("pdf");
+    }
+
+    @Test
+    void profileColumnsTakeAndMoveReferences() {
+        UUID seekerId = fixtures.insertUser("JOB_SEEKER");
+        jdbcTemplate.update("INSERT INTO job_seeker_profiles (user_id, full_name, avatar_url, cv_file_url) " +
+                "VALUES (?, 'Seeker', ?, ?)", seekerId, avatar, cv);
+        assertThat(refCounts()).containsExactly(1, 1, 0);
+
+        jdbcTemplate.update("UPDATE job_seeker_profiles SET cv_file_url = ? WHERE user_id = ?", newCv, seekerId);
+        assertThat(refCounts()).containsExactly(1, 0, 1);
+
+        jdbcTemplate.update("UPDATE job_seeker_profiles SET avatar_url = NULL WHERE user_id = ?", seekerId);
+        assertThat(refCounts()).containsExactly(0, 0, 1);
+    }
+
+    @Test
+    void employerAvatarAndLogoMaySharePath() {
+        UUID employerId = fixtures.insertUser("EMPLOYER");
+        jdbcTemplate.update("INSERT INTO employer_profiles (user_id, full_name, company_name, avatar_url, company_logo) " +
+                "VALUES (?, 'Employer', 'Company', ?, ?)", employerId, avatar, avatar);
+        assertThat(refCount(avatar)).isEqualTo(2);
+
+        jdbcTemplate.update("DELETE FROM employer_profiles WHERE user_id = ?", employerId);
+        assertThat(refCount(avatar)).isZero();
+    }
+
+    @Test
+    void applicationsKeepTheirCvAfterTheProfileMovesOn() {
+        UUID seekerId = fixtures.insertUser("JOB_SEEKER");
+        jdbcTemplate.update("INSERT INTO job_seeker_profiles (user_id, full_name, cv_file_url) VALUES (?, 'Seeker', ?)",
+                seekerId, cv);
+        UUID jobId = fixtures.insertJob(fixtures.insertUser("EMPLOYER"), "active");
+        fixtures.insertApplication(jobId, seekerId, cv);
+        assertThat(refCount(cv)).isEqualTo(2);
+
+        jdbcTemplate.update("UPDATE job_seeker_profiles SET cv_file_url = ? WHERE user_id = ?", newCv, seekerId);
+
+        assertThat(refCount(cv)).isEqualTo(1);
+        assertThat(refCount(newCv)).isEqualTo(1);
+    }
+
+    @Test
+    void cascadedDeletesReleaseTheirReferences() {
+        UUID seekerId = fixtures.insertUser("JOB_SEEKER");
+        jdbcTemplate.update("INSERT INTO job_seeker_profiles (user_id, full_name, avatar_url, cv_file_url) " +
+                "VALUES (?, 'Seeker', ?, ?)", seekerId, avatar, cv);
+        UUID employerId = fixtures.insertUser("EMPLOYER");
+        fixtures.insertApplication(fixtures.insertJob(employerId, "active"), seekerId, cv);
+        assertThat(refCounts()).containsExactly(1, 2, 0);
+
+        // Employer delete cascades to the job and its applications
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", employerId);
+        assertThat(refCounts()).containsExactly(1, 1, 0);
+
+        // Job seeker delete cascades to the profile
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", seekerId);
+        assertThat(refCounts()).containsExactly(0, 0, 0);
+    }
+
+    @Test
+    void urlsWithoutABlobRowAreIgnored() {
+        UUID seekerId = fixtures.insertUser("JOB_SEEKER");
+
+        jdbcTemplate.update("INSERT INTO job_seeker_profiles (user_id, full_name, cv_file_url) VALUES (?, 'Seeker', ?)",
+                seekerId, "/uploads/cvs/legacy.pdf");
+        jdbcTemplate.update("UPDATE job_seeker_profiles SET cv_file_url = ? WHERE user_id = ?", cv, seekerId);
+
+        assertThat(refCount(cv)).isEqualTo(1);
+        assertThat(storedBlobRepository.existsById("/uploads/cvs/legacy.pdf")).isFalse();
+    }
+
+    // avatar, cv, newCv
+    private Integer[] refCounts() {
+        return new Integer[]{refCount(avatar), refCount(cv), refCount(newCv)};
+    }
+
+    private int refCount(String url) {
+        return jdbcTemplate.queryForObject("SELECT ref_count FROM stored_blobs WHERE url = ?", Integer.class, url);
+    }
+
+    private String register(String extension) {
+        String sha256 = (UUID.randomUUID().toString() + UUID.randomUUID()).replace("-", "");
+        String url = "/uploads/blobs/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/"
+                + sha256 + "." + extension;
+        // Not register(): it commits on its own, and these rows must roll back with the test
+        jdbcTemplate.update("INSERT INTO stored_blobs (url, sha256, size) VALUES (?, ?, 100)", url, sha256);
+        return url;
+    }
+}
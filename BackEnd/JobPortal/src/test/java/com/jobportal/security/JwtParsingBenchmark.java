@@ -0,0 +1,157 @@
+package com.jobportal.security;
+
+import com.jobportal.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work of authenticating one request. The baseline replays what the filter did before
+ * claims were parsed once: validateToken, isAccessToken and getUserIdFromToken, each building
+ * a new parser and verifying the signature. The other cases run JwtAuthenticationFilter itself,
+ * with a token seen for the first time and with a token already in the claims cache.
+ * Database lookups are left out: the account status is served from a warm UserAccessCache.
+ *
+ * Not part of the test run. Run with:
+ * mvn -B test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     -Dexec.args="-cp %classpath com.jobportal.security.JwtParsingBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long-for-hs256";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private SecretKey key;
+    private String token;
+    private JwtAuthenticationFilter firstSeenFilter;
+    private JwtAuthenticationFilter cachedFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void createFilters() throws Exception {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findVerifiedById(Mockito.any())).thenReturn(Optional.of(true));
+        UserAccessCache userAccessCache = new UserAccessCache(userRepository, TimeUnit.HOURS.toMillis(1),
+                TimeUnit.HOURS.toMillis(1));
+
+        JwtTokenProvider cachingProvider = provider(10_000);
+        firstSeenFilter = filter(provider(0), userAccessCache);
+        cachedFilter = filter(cachingProvider, userAccessCache);
+
+        token = cachingProvider.generateAccessToken(UUID.randomUUID(), "seeker@example.com", "JOB_SEEKER");
+        request = new MockHttpServletRequest("GET", "/api/jobs");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+
+        // Warm the claims cache and the account status, as the first request with a token would
+        cachedFilter.doFilter(request, response, NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public UUID baselineSeparateChecks() {
+        if (!baselineValidateToken(token) || !baselineIsAccessToken(token)) {
+            return null;
+        }
+        return baselineGetUserIdFromToken(token);
+    }
+
+    @Benchmark
+    public Authentication filterFirstSeenToken() throws Exception {
+        return authenticate(firstSeenFilter);
+    }
+
+    @Benchmark
+    public Authentication filterCachedToken() throws Exception {
+        return authenticate(cachedFilter);
+    }
+
+    private Authentication authenticate(JwtAuthenticationFilter filter) throws Exception {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    // The three provider calls the filter made per request before this change
+
+    private boolean baselineValidateToken(String token) {
+        try {
+            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+            return true;
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    private boolean baselineIsAccessToken(String token) {
+        try {
+            Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+            return !"refresh".equals(claims.get("type", String.class));
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    private UUID baselineGetUserIdFromToken(String token) {
+        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        return UUID.fromString(claims.getSubject());
+    }
+
+    private static JwtTokenProvider provider(int claimsCacheMaxSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "accessTokenExpiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(provider, "refreshTokenExpiration", TimeUnit.DAYS.toMillis(7));
+        ReflectionTestUtils.setField(provider, "claimsCacheMaxSize", claimsCacheMaxSize);
+        provider.init();
+        return provider;
+    }
+
+    private static JwtAuthenticationFilter filter(JwtTokenProvider provider, UserAccessCache userAccessCache) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(provider, null, userAccessCache);
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", true);
+        return filter;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtParsingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,44 @@
+package com.jobportal.service;
+
+import com.jobportal.support.JdbcFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class AdminServiceTest {
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void deletingAnEmployerQueuesRemovalOfTheirJobsFromTheIndex() {
+        JdbcFixtures fixtures = new JdbcFixtures(jdbcTemplate);
+        UUID employerId = fixtures.insertUser("EMPLOYER");
+        List<UUID> jobIds = List.of(fixtures.insertJob(employerId, "active"), fixtures.insertJob(employerId, "draft"));
+
+        adminService.deleteUser(employerId);
+        entityManager.flush();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM jobs WHERE employer_id = ?",
+                Integer.class, employerId)).isZero();
+        List<UUID> queued = jdbcTemplate.queryForList(
+                "SELECT job_id FROM job_index_outbox WHERE job_id IN (?, ?)", UUID.class, jobIds.get(0), jobIds.get(1));
+        assertThat(queued).containsExactlyInAnyOrderElementsOf(jobIds);
+    }
+}
@@ -0,0 +1,52 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.chatbot.ChatRequest;
+import com.jobportal.dto.chatbot.ChatResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatAnswerCacheTest {
+
+    private final ChatAnswerCache cache = new ChatAnswerCache(new SimpleMeterRegistry(), 3_600_000, 100, true);
+
+    @Test
+    void rewordedQuestionSharesTheAnswer() {
+        cache.put(request("How do I upload my CV?"), answer("Use the profile page."));
+
+        assertThat(cache.get(request("how can I upload a CV"))).map(ChatResponse::getAnswer)
+                .contains("Use the profile page.");
+    }
+
+    @Test
+    void questionsWithFewerThanTwoKeywordsMatchOnlyExactly() {
+        cache.put(request("Is it remote?"), answer("Yes, fully remote."));
+        cache.put(request("Why?"), answer("Because."));
+
+        assertThat(cache.get(request("is it remote"))).isPresent();
+        // Same single keyword, different question
+        assertThat(cache.get(request("Remote?"))).isEmpty();
+        assertThat(cache.get(request("Why not?"))).isEmpty();
+        // No fingerprint entries: one entry per question
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void errorsAreNotCached() {
+        cache.put(request("How do I upload my CV?"),
+                new ChatResponse("", List.of(), 0, 0, true, "RAG service unavailable"));
+
+        assertThat(cache.get(request("How do I upload my CV?"))).isEmpty();
+    }
+
+    private static ChatRequest request(String question) {
+        return new ChatRequest(question, null, null, null, null, null);
+    }
+
+    private static ChatResponse answer(String text) {
+        return new ChatResponse(text, List.of(), 1, 1, false, null);
+    }
+}
@@ -0,0 +1,110 @@
+package com.jobportal.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatContextAssemblerTest {
+
+    private static final String APPLICATIONS = "YOUR APPLICATIONS (2 total):";
+    private static final String SAVED = "YOUR SAVED JOBS (1 total):";
+
+    private final List<ContextSection> sections = List.of(
+            ContextSection.of(APPLICATIONS, List.of("Pending: 1, Rejected: 1"),
+                    List.of("- Designer at Beta Studio (rejected)", "- Backend Developer at Acme Corp (pending)"),
+                    Set.of("application", "applied")),
+            ContextSection.of(SAVED, List.of(),
+                    List.of("- Data Engineer at Gamma Labs, Remote"),
+                    Set.of("saved")));
+
+    @Test
+    void onlyMatchingSectionsAreIncluded() {
+        String context = assembler(800).assemble("Which jobs have I saved?", sections);
+
+        assertThat(context).contains(SAVED, "Data Engineer at Gamma Labs");
+        assertThat(context).doesNotContain(APPLICATIONS);
+    }
+
+    @Test
+    void sectionsKeepTheirOrderWhateverTheirScore() {
+        // Saved scores higher (topic and entry words), applications only on its topic
+        String context = assembler(800).assemble("My applications and my saved Gamma data job", sections);
+
+        assertThat(context.indexOf(APPLICATIONS)).isNotNegative().isLessThan(context.indexOf(SAVED));
+    }
+
+    @Test
+    void highestScoredEntryIsKeptWhenOnlyOneFits() {
+        String question = "What is the status of my application at Acme?";
+        // Header, footer, the applications heading and room for exactly one entry
+        int budget = frameTokens() + headingTokens(sections.get(0))
+                + tokens("- Backend Developer at Acme Corp (pending)") + 1;
+
+        String context = assembler(budget).assemble(question, sections);
+
+        // Second in the section, but the only entry that also matches "acme"
+        assertThat(context).contains("Backend Developer at Acme Corp").doesNotContain("Designer at Beta Studio");
+        assertThat(tokens(context)).isLessThanOrEqualTo(budget);
+    }
+
+    @Test
+    void neverExceedsTheBudget() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            lines.add("- Application " + i + " for Backend Developer at Company " + i + " (pending)");
+        }
+        List<ContextSection> many = List.of(ContextSection.of(APPLICATIONS, List.of(), lines, Set.of("application")));
+
+        for (int budget : new int[]{50, 100, 250, 600}) {
+            String context = assembler(budget).assemble("Show my applications", many);
+
+            assertThat(tokens(context)).isLessThanOrEqualTo(budget);
+            assertThat(context).contains("Application 0 ");
+        }
+    }
+
+    @Test
+    void questionMatchingNothingGetsSectionsInPriorityOrder() {
+        String all = assembler(800).assemble("Hello there", sections);
+        assertThat(all).contains(APPLICATIONS, SAVED, "Designer at Beta Studio", "Data Engineer at Gamma Labs");
+
+        // Room for the first section only
+        int budget = frameTokens() + headingTokens(sections.get(0))
+                + tokens("- Designer at Beta Studio (rejected)") + 1
+                + tokens("- Backend Developer at Acme Corp (pending)") + 1;
+        String first = assembler(budget).assemble("Hello there", sections);
+        assertThat(first).contains(APPLICATIONS, "Designer at Beta Studio", "Backend Developer at Acme Corp");
+        assertThat(first).doesNotContain(SAVED);
+    }
+
+    @Test
+    void nothingFitsGivesNoContext() {
+        assertThat(assembler(5).assemble("Show my applications", sections)).isEmpty();
+    }
+
+    private static ChatContextAssembler assembler(int tokenBudget) {
+        return new ChatContextAssembler(new SimpleMeterRegistry(), tokenBudget);
+    }
+
+    // The assembler's estimate: four characters per token, rounded up
+    private static int tokens(String text) {
+        return (text.length() + 3) / 4;
+    }
+
+    private static int frameTokens() {
+        return tokens("=== APPLICATION DATA CONTEXT ===\n\n") + tokens("\n=== END OF CONTEXT ===\n");
+    }
+
+    private static int headingTokens(ContextSection section) {
+        int tokens = tokens(section.title()) + 2;
+        for (String line : section.summary()) {
+            tokens += tokens(line) + 1;
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,70 @@
+package com.jobportal.service;
+
+import com.jobportal.repository.StoredBlobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: what matters is what is left committed once the caller's transaction is gone.
+ */
+@SpringBootTest
+class FileStorageServiceTest {
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private StoredBlobRepository storedBlobRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String url;
+
+    @AfterEach
+    void removeBlob() throws IOException {
+        if (url != null) {
+            blobStore.delete(url.substring("/uploads/".length()));
+            jdbcTemplate.update("DELETE FROM stored_blobs WHERE url = ?", url);
+        }
+    }
+
+    @Test
+    void blobStoredForARolledBackReferenceIsLeftForTheSweep() {
+        MockMultipartFile upload = new MockMultipartFile("cv", "cv.pdf", "application/pdf",
+                ("%PDF-1.4 " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            url = fileStorageService.storeFile(upload);
+            // e.g. saving the profile failed after the upload
+            status.setRollbackOnly();
+        });
+
+        assertThat(fileStorageService.findFile(url)).isPresent();
+        assertThat(jdbcTemplate.queryForObject("SELECT ref_count FROM stored_blobs WHERE url = ?", Integer.class, url))
+                .isZero();
+        // Due for the sweep once the grace period has passed
+        List<String> due = transactionTemplate.execute(status ->
+                storedBlobRepository.lockUnreferenced(LocalDateTime.now().plusSeconds(1), 10_000));
+        assertThat(due).contains(url);
+    }
+}
@@ -0,0 +1,93 @@
+package com.jobportal.service;
+
+import com.jobportal.service.BlobStore.BlobMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileSystemBlobStoreTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @TempDir
+    Path stagingDir;
+
+    private FileSystemBlobStore store;
+
+    @BeforeEach
+    void createStore() {
+        store = new FileSystemBlobStore(uploadDir.toString());
+    }
+
+    @Test
+    void putMovesSourceFileIntoPlace() throws IOException {
+        Path source = Files.writeString(stagingDir.resolve("upload.part"), "cv");
+
+        store.put("blobs/ab/cd/abcd.pdf", source, "application/pdf");
+
+        assertThat(source).doesNotExist();
+        assertThat(uploadDir.resolve("blobs/ab/cd/abcd.pdf")).hasContent("cv");
+        assertThat(store.localPath("blobs/ab/cd/abcd.pdf")).contains(uploadDir.resolve("blobs/ab/cd/abcd.pdf"));
+    }
+
+    @Test
+    void putWritesContentAndStatDescribesIt() throws IOException {
+        store.put("thumbs/ab/cd/abcd-48.png", new byte[]{1, 2, 3}, "image/png");
+
+        Optional<BlobMetadata> metadata = store.stat("thumbs/ab/cd/abcd-48.png");
+
+        assertThat(metadata).isPresent();
+        assertThat(metadata.get().size()).isEqualTo(3);
+        assertThat(metadata.get().etag()).isNull();
+        // No temp files are left next to the object
+        try (var files = Files.list(uploadDir.resolve("thumbs/ab/cd"))) {
+            assertThat(files).containsExactly(uploadDir.resolve("thumbs/ab/cd/abcd-48.png"));
+        }
+    }
+
+    @Test
+    void statIsEmptyForMissingFilesAndDirectories() throws IOException {
+        Files.createDirectories(uploadDir.resolve("blobs"));
+
+        assertThat(store.stat("blobs/missing.pdf")).isEmpty();
+        assertThat(store.stat("blobs")).isEmpty();
+    }
+
+    @Test
+    void openReadsContentOrFailsWhenMissing() throws IOException {
+        store.put("cvs/a.pdf", "content".getBytes(StandardCharsets.UTF_8), "application/pdf");
+
+        try (InputStream in = store.open("cvs/a.pdf")) {
+            assertThat(in.readAllBytes()).asString(StandardCharsets.UTF_8).isEqualTo("content");
+        }
+        assertThatThrownBy(() -> store.open("cvs/missing.pdf")).isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void deleteRemovesFileAndIgnoresMissingOnes() throws IOException {
+        store.put("cvs/a.pdf", new byte[]{1}, "application/pdf");
+
+        store.delete("cvs/a.pdf");
+        store.delete("cvs/a.pdf");
+
+        assertThat(uploadDir.resolve("cvs/a.pdf")).doesNotExist();
+    }
+
+    @Test
+    void rejectsKeysOutsideTheUploadDirectory() {
+        assertThatThrownBy(() -> store.stat("../outside.txt")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.delete("blobs/../../outside.txt")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
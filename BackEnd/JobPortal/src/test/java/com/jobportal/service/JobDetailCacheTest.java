@@ -0,0 +1,64 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.common.ImageVariantsDto;
+import com.jobportal.dto.job.JobDto;
+import com.jobportal.event.JobChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobDetailCacheTest {
+
+    private final JobDetailCache cache = new JobDetailCache(new SimpleMeterRegistry(), 60_000, 100);
+    private final UUID jobId = UUID.randomUUID();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void changesToAReturnedJobDoNotReachOtherCallers() {
+        JobDto first = cache.get(jobId, this::load);
+        first.setTitle("Changed");
+        first.getSkills().add("Changed");
+        first.getCompany().setName("Changed");
+        first.getCompany().getLogoVariants().setSmall("Changed");
+
+        JobDto second = cache.get(jobId, this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.getTitle()).isEqualTo("Backend Developer");
+        assertThat(second.getSkills()).containsExactly("Java");
+        assertThat(second.getCompany().getName()).isEqualTo("Acme");
+        assertThat(second.getCompany().getLogoVariants().getSmall()).isEqualTo("/small");
+    }
+
+    @Test
+    void jobChangedDuringItsLoadIsNotCached() {
+        cache.get(jobId, () -> {
+            JobDto job = load();
+            cache.onJobChanged(new JobChangedEvent(jobId, UUID.randomUUID()));
+            return job;
+        });
+
+        cache.get(jobId, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private JobDto load() {
+        loads.incrementAndGet();
+        return JobDto.builder()
+                .id(jobId.toString())
+                .title("Backend Developer")
+                .skills(new ArrayList<>(List.of("Java")))
+                .company(JobDto.CompanyDto.builder()
+                        .name("Acme")
+                        .logoVariants(ImageVariantsDto.builder().small("/small").build())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.job.JobListItemDto;
+import com.jobportal.dto.job.JobListResponse;
+import com.jobportal.entity.Job;
+import com.jobportal.entity.JobStatus;
+import com.jobportal.entity.JobType;
+import com.jobportal.entity.User;
+import com.jobportal.entity.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walking the keyset feed with nextCursor returns every job exactly once, in feed order,
+ * including runs of jobs posted at the same instant that straddle a page boundary.
+ */
+@SpringBootTest
+@Transactional
+class JobFeedPaginationTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Unique per run so the feed only holds this test's jobs
+    private final String category = "feed-" + UUID.randomUUID();
+
+    @BeforeEach
+    void createJobs() {
+        User employer = User.builder()
+                .email("employer-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("x")
+                .role(UserRole.EMPLOYER)
+                .build();
+        entityManager.persist(employer);
+
+        // Database precision, so the cursor round-trips exactly
+        LocalDateTime sameInstant = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        for (int i = 0; i < 7; i++) {
+            persistJob(employer, sameInstant);
+        }
+        persistJob(employer, sameInstant.plusMinutes(1));
+        persistJob(employer, sameInstant.minusMinutes(1));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagesHaveNoDuplicatesOrGaps() {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JobListResponse page = jobService.getJobsByCursor(cursor, PAGE_SIZE, null, null, null, category, null);
+            page.getJobs().stream().map(JobListItemDto::getId).forEach(seen::add);
+            cursor = page.getPagination().getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        List<String> expected = jdbcTemplate.queryForList(
+                "SELECT CAST(id AS varchar) FROM jobs WHERE category = ? ORDER BY posted_at DESC, id DESC",
+                String.class, category);
+        assertThat(expected).hasSize(9);
+        assertThat(seen).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    private void persistJob(User employer, LocalDateTime postedAt) {
+        entityManager.persist(Job.builder()
+                .employer(employer)
+                .title("Job")
+                .description("Description")
+                .location("Remote")
+                .type(JobType.FULL_TIME)
+                .category(category)
+                .status(JobStatus.ACTIVE)
+                .postedAt(postedAt)
+                .build());
+    }
+}
@@ -0,0 +1,170 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.chatbot.DocumentIndexRequest;
+import com.jobportal.dto.chatbot.IndexResponse;
+import com.jobportal.entity.Job;
+import com.jobportal.entity.JobIndexOutboxEntry;
+import com.jobportal.entity.JobStatus;
+import com.jobportal.entity.User;
+import com.jobportal.repository.JobIndexOutboxRepository;
+import com.jobportal.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobIndexOutboxServiceTest {
+
+    private static final long BASE_DELAY_MS = 5_000;
+    private static final long MAX_DELAY_MS = 600_000;
+
+    private final JobIndexOutboxRepository outboxRepository = mock(JobIndexOutboxRepository.class);
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final CompanyInfoLoader companyInfoLoader = mock(CompanyInfoLoader.class);
+    private final RagClientService ragClientService = mock(RagClientService.class);
+
+    private final JobIndexOutboxService service = new JobIndexOutboxService(outboxRepository, jobRepository,
+            companyInfoLoader, ragClientService, true, 100, 120_000, BASE_DELAY_MS, MAX_DELAY_MS, "documents");
+
+    private final User employer = User.builder().id(UUID.randomUUID()).build();
+
+    @BeforeEach
+    void stubProfiles() {
+        when(companyInfoLoader.loadProfiles(anyCollection())).thenReturn(Map.of());
+    }
+
+    @Test
+    void severalChangesToOneJobBecomeOneUpsert() {
+        Job job = job(JobStatus.ACTIVE);
+        claim(entry(1, job.getId(), 0), entry(2, job.getId(), 0), entry(3, job.getId(), 0));
+        found(job);
+        pushSucceeds();
+
+        service.processOutbox();
+
+        DocumentIndexRequest request = pushed();
+        assertThat(request.getDocuments()).extracting(DocumentIndexRequest.Document::id)
+                .containsExactly("job:" + job.getId());
+        assertThat(request.getDeleteIds()).isEmpty();
+        verify(outboxRepository).deleteByIdIn(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void onlyActiveJobsAreIndexedAndEverythingElseIsRemoved() {
+        Job active = job(JobStatus.ACTIVE);
+        Job closed = job(JobStatus.CLOSED);
+        Job draft = job(JobStatus.DRAFT);
+        UUID deleted = UUID.randomUUID();
+        claim(entry(1, active.getId(), 0), entry(2, closed.getId(), 0), entry(3, draft.getId(), 0),
+                entry(4, deleted, 0));
+        found(active, closed, draft);
+        pushSucceeds();
+
+        service.processOutbox();
+
+        DocumentIndexRequest request = pushed();
+        assertThat(request.getDocuments()).extracting(DocumentIndexRequest.Document::id)
+                .containsExactly("job:" + active.getId());
+        assertThat(request.getDeleteIds())
+                .containsExactly("job:" + closed.getId(), "job:" + draft.getId(), "job:" + deleted);
+    }
+
+    @Test
+    void failedPushIsRetriedWithExponentialBackoff() {
+        assertThat(retryDelayAfterFailure(0)).isCloseTo(BASE_DELAY_MS, within(1_000L));
+        assertThat(retryDelayAfterFailure(3)).isCloseTo(BASE_DELAY_MS * 8, within(1_000L));
+        // Capped
+        assertThat(retryDelayAfterFailure(30)).isCloseTo(MAX_DELAY_MS, within(1_000L));
+    }
+
+    @Test
+    void unreachableServiceIsRetriedLikeARejectedPush() {
+        Job job = job(JobStatus.ACTIVE);
+        claim(entry(1, job.getId(), 1));
+        found(job);
+        when(ragClientService.indexDocuments(any())).thenThrow(new IllegalStateException("connection refused"));
+
+        service.processOutbox();
+
+        verify(outboxRepository).markFailed(eq(List.of(1L)), any(), eq("connection refused"));
+        verify(outboxRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void nothingDueMeansNoPush() {
+        when(outboxRepository.claim(any(), any(), any(), anyInt())).thenReturn(0);
+
+        service.processOutbox();
+
+        verify(ragClientService, never()).indexDocuments(any());
+    }
+
+    // Millis between now and the retry time set after a rejected push of entries already tried `attempts` times
+    private long retryDelayAfterFailure(int attempts) {
+        Job job = job(JobStatus.ACTIVE);
+        claim(entry(attempts + 1, job.getId(), attempts));
+        found(job);
+        when(ragClientService.indexDocuments(any())).thenReturn(new IndexResponse(false, "index down", 0, 0));
+
+        LocalDateTime before = LocalDateTime.now();
+        service.processOutbox();
+
+        ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).markFailed(eq(List.of(attempts + 1L)), retryAt.capture(), anyString());
+        verify(outboxRepository, never()).deleteByIdIn(List.of(attempts + 1L));
+        return Duration.between(before, retryAt.getValue()).toMillis();
+    }
+
+    private void claim(JobIndexOutboxEntry... entries) {
+        when(outboxRepository.claim(any(), any(), any(), anyInt())).thenReturn(entries.length);
+        when(outboxRepository.findByClaimToken(any())).thenReturn(Arrays.asList(entries));
+    }
+
+    private void found(Job... jobs) {
+        when(jobRepository.findAllById(any())).thenReturn(Arrays.asList(jobs));
+    }
+
+    private void pushSucceeds() {
+        when(ragClientService.indexDocuments(any())).thenReturn(new IndexResponse(true, "ok", 1, 0));
+    }
+
+    private DocumentIndexRequest pushed() {
+        ArgumentCaptor<DocumentIndexRequest> request = ArgumentCaptor.forClass(DocumentIndexRequest.class);
+        verify(ragClientService).indexDocuments(request.capture());
+        return request.getValue();
+    }
+
+    private static JobIndexOutboxEntry entry(long id, UUID jobId, int attempts) {
+        return JobIndexOutboxEntry.builder().id(id).jobId(jobId).attempts(attempts).build();
+    }
+
+    private Job job(JobStatus status) {
+        return Job.builder()
+                .id(UUID.randomUUID())
+                .employer(employer)
+                .title("Backend Developer")
+                .description("Description")
+                .location("Remote")
+                .category("Engineering")
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.job.JobListItemDto;
+import com.jobportal.dto.job.JobListResponse;
+import com.jobportal.entity.EmployerProfile;
+import com.jobportal.entity.Job;
+import com.jobportal.entity.JobStatus;
+import com.jobportal.entity.JobType;
+import com.jobportal.entity.User;
+import com.jobportal.entity.UserRole;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A page of the public job list costs a fixed number of statements, however many employers it shows:
+ * the page, its count, and one batched lookup of the employers' profiles.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class JobListQueryCountTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Unique per run so the page only holds this test's jobs
+    private final String category = "query-count-" + UUID.randomUUID();
+
+    @BeforeEach
+    void createJobsOfDistinctEmployers() {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            User employer = User.builder()
+                    .email("employer-" + UUID.randomUUID() + "@example.com")
+                    .passwordHash("x")
+                    .role(UserRole.EMPLOYER)
+                    .build();
+            entityManager.persist(employer);
+            entityManager.persist(EmployerProfile.builder()
+                    .user(employer)
+                    .fullName("Employer " + i)
+                    .companyName("Company " + i)
+                    .build());
+            entityManager.persist(Job.builder()
+                    .employer(employer)
+                    .title("Job " + i)
+                    .description("Description")
+                    .location("Remote")
+                    .type(JobType.FULL_TIME)
+                    .category(category)
+                    .status(JobStatus.ACTIVE)
+                    .postedAt(LocalDateTime.now().minusMinutes(i))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listPageLoadsEmployerProfilesInOneBatch() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        JobListResponse response = jobService.getJobs(1, PAGE_SIZE, null, null, null, category, null, null, null);
+
+        assertThat(response.getJobs()).hasSize(PAGE_SIZE);
+        assertThat(response.getJobs()).extracting(JobListItemDto::getCompany).doesNotContainNull();
+        assertThat(response.getJobs()).extracting(job -> job.getCompany().getName())
+                .allMatch(name -> name.startsWith("Company "));
+        // Page + count + employer profiles; was 2 + one profile query per job
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+}
@@ -0,0 +1,120 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.job.JobListItemDto;
+import com.jobportal.entity.Job;
+import com.jobportal.entity.JobStatus;
+import com.jobportal.entity.JobType;
+import com.jobportal.entity.User;
+import com.jobportal.entity.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full-text job search over search_vector: matches, title > skills > description ranking,
+ * and the trigger agreeing with job_search_vector().
+ */
+@SpringBootTest
+@Transactional
+class JobSearchTest {
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Unique per run so searches only see this test's jobs
+    private final String category = "search-" + UUID.randomUUID();
+
+    private User employer;
+    private UUID inTitle;
+    private UUID inSkills;
+    private UUID inDescription;
+
+    @BeforeEach
+    void createJobs() {
+        employer = User.builder()
+                .email("employer-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("x")
+                .role(UserRole.EMPLOYER)
+                .build();
+        entityManager.persist(employer);
+
+        // Newest last: relevance has to beat recency
+        LocalDateTime now = LocalDateTime.now();
+        inTitle = persistJob("Kotlin Developer", List.of(), "Building our booking platform.",
+                JobStatus.ACTIVE, now.minusDays(3));
+        inSkills = persistJob("Backend Engineer", List.of("Kotlin", "PostgreSQL"), "Building our booking platform.",
+                JobStatus.ACTIVE, now.minusDays(2));
+        inDescription = persistJob("Mobile Engineer", List.of("Swift"), "Some Kotlin experience is a plus.",
+                JobStatus.ACTIVE, now.minusDays(1));
+        persistJob("Accountant", List.of("Excel"), "Month-end close and reporting.", JobStatus.ACTIVE, now);
+        persistJob("Kotlin Lead", List.of("Kotlin"), "Kotlin everywhere.", JobStatus.DRAFT, now);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void relevanceRanksTitleOverSkillsOverDescription() {
+        assertThat(search("kotlin", "relevance")).containsExactly(inTitle, inSkills, inDescription);
+    }
+
+    @Test
+    void matchesAreStemmedAndOnlyActiveJobsAreFound() {
+        assertThat(search("developers", null)).containsExactly(inTitle);
+        assertThat(search("postgresql OR swift", null)).containsExactlyInAnyOrder(inSkills, inDescription);
+        assertThat(search("kotlin -mobile", "relevance")).containsExactly(inTitle, inSkills);
+    }
+
+    @Test
+    void updatedSkillsAreSearchable() {
+        jdbcTemplate.update("UPDATE jobs SET skills = '[\"Kotlin\", \"Rust\"]'::jsonb WHERE id = ?", inSkills);
+
+        assertThat(search("rust", null)).containsExactly(inSkills);
+    }
+
+    @Test
+    void triggerWritesWhatTheSharedFunctionComputes() {
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM jobs WHERE search_vector IS DISTINCT FROM job_search_vector(title, skills, description)",
+                Integer.class)).isZero();
+    }
+
+    private List<UUID> search(String query, String sortBy) {
+        return jobService.getJobs(1, 10, query, null, null, category, null, sortBy, null).getJobs().stream()
+                .map(JobListItemDto::getId)
+                .map(UUID::fromString)
+                .toList();
+    }
+
+    private UUID persistJob(String title, List<String> skills, String description, JobStatus status,
+            LocalDateTime postedAt) {
+        Job job = Job.builder()
+                .employer(employer)
+                .title(title)
+                .skills(skills)
+                .description(description)
+                .location("Remote")
+                .type(JobType.FULL_TIME)
+                .category(category)
+                .status(status)
+                .postedAt(postedAt)
+                .build();
+        entityManager.persist(job);
+        return job.getId();
+    }
+}
@@ -0,0 +1,136 @@
+package com.jobportal.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobViewCounterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final List<List<Object>> flushedParams = new ArrayList<>();
+    private final List<String> flushThreads = new ArrayList<>();
+    private JobViewCounter counter;
+
+    @AfterEach
+    void drain() {
+        if (counter != null) {
+            counter.drain();
+        }
+    }
+
+    @Test
+    void flushAppliesBufferedViewsInOneStatement() {
+        recordUpdates(null);
+        counter = new JobViewCounter(jdbcTemplate, 10);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        counter.record(first);
+        counter.record(first);
+        counter.record(second);
+        counter.flush();
+
+        assertThat(flushedParams).hasSize(1);
+        assertThat(flushedParams.get(0)).containsExactlyInAnyOrder(first, 2L, second, 1L);
+    }
+
+    @Test
+    void fullBufferIsFlushedInTheBackgroundWithoutLosingViews() {
+        CountDownLatch releaseFlush = new CountDownLatch(1);
+        recordUpdates(releaseFlush);
+        counter = new JobViewCounter(jdbcTemplate, 2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        counter.record(first);
+
+        // Fills the buffer: returns while the flush it started is still held up in the database
+        counter.record(second);
+        verify(jdbcTemplate, timeout(5_000)).update(anyString(), any(Object[].class));
+        assertThat(releaseFlush.getCount()).isEqualTo(1);
+        assertThat(flushThreads).containsExactly("job-view-flush");
+
+        // Buffered, not dropped, while that flush is running
+        counter.record(third);
+        releaseFlush.countDown();
+        counter.flush();
+
+        assertThat(flushedTotals()).containsExactlyInAnyOrderEntriesOf(Map.of(first, 1L, second, 1L, third, 1L));
+    }
+
+    @Test
+    void failedFlushIsRequeuedWithoutGrowingTheBufferPastItsSize() {
+        counter = new JobViewCounter(jdbcTemplate, 3);
+        UUID lost = UUID.randomUUID();
+        UUID merged = UUID.randomUUID();
+        UUID late = UUID.randomUUID();
+        UUID later = UUID.randomUUID();
+        AtomicBoolean failed = new AtomicBoolean();
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            if (failed.compareAndSet(false, true)) {
+                // Views recorded while the failing flush is in the database fill the buffer again
+                counter.record(merged);
+                counter.record(late);
+                counter.record(later);
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            synchronized (flushedParams) {
+                flushedParams.add(Arrays.asList((Object[]) invocation.getRawArguments()[1]));
+            }
+            return 1;
+        });
+        counter.record(lost);
+        counter.record(merged);
+
+        counter.flush();
+        counter.flush();
+
+        // merged: one view re-queued onto the buffered job; lost: no room for a new job
+        assertThat(flushedTotals()).containsExactlyInAnyOrderEntriesOf(Map.of(merged, 2L, late, 1L, later, 1L));
+    }
+
+    // Views applied per job, over all flushes
+    private Map<UUID, Long> flushedTotals() {
+        Map<UUID, Long> totals = new HashMap<>();
+        synchronized (flushedParams) {
+            for (List<Object> params : flushedParams) {
+                for (int i = 0; i < params.size(); i += 2) {
+                    totals.merge((UUID) params.get(i), ((Number) params.get(i + 1)).longValue(), Long::sum);
+                }
+            }
+        }
+        return totals;
+    }
+
+    private void recordUpdates(CountDownLatch release) {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            synchronized (flushedParams) {
+                flushedParams.add(Arrays.asList((Object[]) invocation.getRawArguments()[1]));
+                flushThreads.add(Thread.currentThread().getName());
+            }
+            if (release != null) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return 1;
+        });
+    }
+}
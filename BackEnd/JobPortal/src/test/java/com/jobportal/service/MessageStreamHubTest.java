@@ -0,0 +1,165 @@
+package com.jobportal.service;
+
+import com.jobportal.controller.MessageController;
+import com.jobportal.dto.message.MessageDto;
+import com.jobportal.dto.message.MessageStreamEvent;
+import com.jobportal.event.MessageSentEvent;
+import com.jobportal.repository.UnreadCounterRepository;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Streams opened through GET /api/messages/stream: registration, removal when the container
+ * ends the request (completion, timeout, error), the per-user limit, and replay ordering.
+ */
+class MessageStreamHubTest {
+
+    private static final int MAX_STREAMS_PER_USER = 2;
+
+    private final UnreadCounterRepository unreadCounterRepository = mock(UnreadCounterRepository.class);
+    private final MessageService messageService = mock(MessageService.class);
+    private final MessageStreamHub hub = new MessageStreamHub(unreadCounterRepository, 100, MAX_STREAMS_PER_USER,
+            60_000, 1);
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID conversationId = UUID.randomUUID();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void openStreamsThroughTheController() {
+        when(messageService.openStream(any())).thenAnswer(invocation -> hub.subscribe(userId, List.of()));
+        mockMvc = MockMvcBuilders.standaloneSetup(new MessageController(messageService)).build();
+    }
+
+    @AfterEach
+    void shutdown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void streamIsRegisteredUntilItCompletes() throws Exception {
+        MvcResult stream = open(null);
+        assertThat(hub.getSubscriberCount()).isEqualTo(1);
+        // Nothing left to send, so only the container's callback can remove it
+        awaitBody(stream, ":connected");
+
+        for (AsyncListener listener : listeners(stream)) {
+            listener.onComplete(new AsyncEvent(stream.getRequest().getAsyncContext()));
+        }
+
+        assertThat(hub.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void streamIsRemovedWhenItTimesOut() throws Exception {
+        MvcResult stream = open(null);
+        awaitBody(stream, ":connected");
+
+        for (AsyncListener listener : listeners(stream)) {
+            listener.onTimeout(new AsyncEvent(stream.getRequest().getAsyncContext()));
+        }
+
+        assertThat(hub.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void streamIsRemovedWhenTheConnectionFails() throws Exception {
+        MvcResult stream = open(null);
+        awaitBody(stream, ":connected");
+
+        for (AsyncListener listener : listeners(stream)) {
+            listener.onError(new AsyncEvent(stream.getRequest().getAsyncContext(), new IOException("Broken pipe")));
+        }
+
+        assertThat(hub.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void oldestStreamIsClosedAtThePerUserLimit() throws Exception {
+        MvcResult oldest = open(null);
+        MvcResult second = open(null);
+
+        MvcResult third = open(null);
+
+        assertThat(hub.getSubscriberCount()).isEqualTo(MAX_STREAMS_PER_USER);
+        // Completed by the hub: the request is dispatched back to the container to finish
+        oldest.getAsyncResult(5_000);
+        String messageId = UUID.randomUUID().toString();
+        hub.onMessageSent(new MessageSentEvent(userId, conversationId, message(messageId)));
+        awaitBody(second, "id:" + messageId);
+        awaitBody(third, "id:" + messageId);
+        assertThat(oldest.getResponse().getContentAsString()).doesNotContain(messageId);
+    }
+
+    @Test
+    void replayIsSentInOrderBeforeLiveMessages() throws Exception {
+        String lastEventId = UUID.randomUUID().toString();
+        List<String> missed = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        // What MessageService replays for a Last-Event-ID: messages received since, oldest first
+        when(messageService.openStream(lastEventId)).thenAnswer(invocation -> hub.subscribe(userId,
+                missed.stream().map(id -> MessageStreamHub.messageEvent(
+                        MessageStreamEvent.builder().conversationId(conversationId.toString()).message(message(id))
+                                .build())).toList()));
+        MvcResult stream = open(lastEventId);
+
+        String live = UUID.randomUUID().toString();
+        hub.onMessageSent(new MessageSentEvent(userId, conversationId, message(live)));
+
+        String body = awaitBody(stream, "id:" + live);
+        int connected = body.indexOf(":connected");
+        int first = body.indexOf("id:" + missed.get(0));
+        int second = body.indexOf("id:" + missed.get(1));
+        assertThat(connected).isNotNegative();
+        assertThat(first).isGreaterThan(connected);
+        assertThat(second).isGreaterThan(first);
+        assertThat(body.indexOf("id:" + live)).isGreaterThan(second);
+    }
+
+    private MvcResult open(String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder stream = get("/api/messages/stream");
+        if (lastEventId != null) {
+            stream.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(stream).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    // The container's lifecycle callbacks for the stream's async request
+    private static List<AsyncListener> listeners(MvcResult stream) {
+        return ((MockAsyncContext) stream.getRequest().getAsyncContext()).getListeners();
+    }
+
+    // Events are written by the hub's sender thread
+    private static String awaitBody(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = stream.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            body = stream.getResponse().getContentAsString();
+        }
+        assertThat(body).contains(expected);
+        return body;
+    }
+
+    private MessageDto message(String id) {
+        return MessageDto.builder().id(id).senderId(UUID.randomUUID().toString()).content("Hello").build();
+    }
+}
@@ -0,0 +1,179 @@
+package com.jobportal.service;
+
+import com.jobportal.exception.ServiceUnavailableException;
+import com.jobportal.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RagCircuitBreakerTest {
+
+    private static final int THRESHOLD = 3;
+    private static final long OPEN_MS = 30_000;
+
+    private final MutableClock clock = new MutableClock();
+    private final RagCircuitBreaker breaker = new RagCircuitBreaker(new SimpleMeterRegistry(), THRESHOLD, OPEN_MS, clock);
+
+    @Test
+    void opensAfterConsecutiveFailuresOnly() {
+        fail();
+        fail();
+        succeed();
+        fail();
+        fail();
+        assertThat(breaker.getState()).isEqualTo(RagCircuitBreaker.State.CLOSED);
+
+        fail();
+
+        assertThat(breaker.getState()).isEqualTo(RagCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void openCircuitFailsFastWithoutCallingTheService() {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> breaker.protect(() -> {
+            calls.incrementAndGet();
+            return Mono.just("answer");
+        }).block())
+                .isInstanceOfSatisfying(ServiceUnavailableException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(20));
+        assertThat(calls).hasValue(0);
+        assertThat(breaker.isCallPermitted()).isFalse();
+    }
+
+    @Test
+    void halfOpenAdmitsASingleProbeAndClosesOnSuccess() {
+        open();
+        clock.advance(Duration.ofMillis(OPEN_MS));
+        assertThat(breaker.isCallPermitted()).isTrue();
+
+        Sinks.One<String> probe = Sinks.one();
+        breaker.protect(probe::asMono).subscribe();
+        assertThat(breaker.getState()).isEqualTo(RagCircuitBreaker.State.HALF_OPEN);
+        assertThatThrownBy(() -> breaker.protect(() -> Mono.just("second")).block())
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        probe.tryEmitValue("answer");
+
+        assertThat(breaker.getState()).isEqualTo(RagCircuitBreaker.State.CLOSED);
+        assertThat(breaker.protect(() -> Mono.just("next")).block()).isEqualTo("next");
+    }
+
+    @Test
+    void failedProbeReopensForAnotherFullPeriod() {
+        open();
+        clock.advance(Duration.ofMillis(OPEN_MS));
+
+        fail();
+
+        assertThat(breaker.getState()).isEqualTo(RagCircuitBreaker.State.OPEN);
+        clock.advance(Duration.ofMillis(OPEN_MS - 1));
+        assertThat(breaker.isCallPermitted()).isFalse();
+        clock.advance(Duration.ofMillis(1));
+        assertThat(breaker.isCallPermitted()).isTrue();
+    }
+
+    @Test
+    void abandonedProbeLetsTheNextCallProbe() {
+        open();
+        clock.advance(Duration.ofMillis(OPEN_MS));
+        Disposable probe = breaker.protect(() -> Mono.never()).subscribe();
+        assertThat(breaker.getState()).isEqualTo(RagCircuitBreaker.State.HALF_OPEN);
+
+        probe.dispose();
+
+        // Open with the original timestamp, so no new wait
+        assertThat(breaker.getState()).isEqualTo(RagCircuitBreaker.State.OPEN);
+        assertThat(breaker.isCallPermitted()).isTrue();
+        succeed();
+        assertThat(breaker.getState()).isEqualTo(RagCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void streamCancelledAfterItsAnswerCountsOnce() {
+        open();
+        clock.advance(Duration.ofMillis(OPEN_MS));
+
+        // Success is recorded on the value; the cancel take(1) sends upstream afterwards is ignored
+        assertThat(breaker.protect(() -> Mono.just("answer")).flux().take(1).blockLast()).isEqualTo("answer");
+        assertThat(breaker.getState()).isEqualTo(RagCircuitBreaker.State.CLOSED);
+
+        open();
+        clock.advance(Duration.ofMillis(OPEN_MS));
+        // A stream cut short says nothing about the service: abandoned, not success
+        assertThat(breaker.protectMany(() -> Flux.just("a", "b")).take(1).blockLast()).isEqualTo("a");
+        assertThat(breaker.getState()).isEqualTo(RagCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void clientErrorsAndLocalRejectionsDoNotCount() {
+        for (int i = 0; i < THRESHOLD; i++) {
+            assertThatThrownBy(() -> breaker.protect(() -> Mono.error(
+                    WebClientResponseException.create(HttpStatus.BAD_REQUEST.value(), "Bad Request", null, null, null)))
+                    .block())
+                    .isInstanceOf(WebClientResponseException.class);
+            assertThatThrownBy(() -> breaker.protect(() -> Mono.error(new TooManyRequestsException("busy"))).block())
+                    .isInstanceOf(TooManyRequestsException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(RagCircuitBreaker.State.CLOSED);
+    }
+
+    private void open() {
+        for (int i = 0; i < THRESHOLD; i++) {
+            fail();
+        }
+        assertThat(breaker.getState()).isEqualTo(RagCircuitBreaker.State.OPEN);
+    }
+
+    private void fail() {
+        assertThatThrownBy(() -> breaker.protect(() -> Mono.error(new IllegalStateException("down"))).block())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void succeed() {
+        assertThat(breaker.protect(() -> Mono.just("ok")).block()).isEqualTo("ok");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
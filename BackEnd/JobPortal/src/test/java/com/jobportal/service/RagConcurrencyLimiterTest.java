@@ -0,0 +1,91 @@
+package com.jobportal.service;
+
+import com.jobportal.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RagConcurrencyLimiterTest {
+
+    @Test
+    void queuesCallsBeyondTheLimitAndRejectsWhenQueueIsFull() {
+        RagConcurrencyLimiter limiter = new RagConcurrencyLimiter(1, 1, 10_000);
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+
+        Disposable running = limiter.limit(first::asMono).subscribe();
+        List<String> results = new ArrayList<>();
+        limiter.limit(second::asMono).subscribe(results::add);
+
+        assertThat(limiter.getAvailablePermits()).isZero();
+        assertThat(limiter.getQueuedCount()).isEqualTo(1);
+        assertThatThrownBy(() -> limiter.limit(() -> Mono.just("third")).block())
+                .isInstanceOf(TooManyRequestsException.class);
+
+        first.tryEmitValue("first");
+        second.tryEmitValue("second");
+
+        assertThat(results).containsExactly("second");
+        assertThat(limiter.getAvailablePermits()).isEqualTo(1);
+        assertThat(limiter.getQueuedCount()).isZero();
+        running.dispose();
+    }
+
+    @Test
+    void cancelledWaiterLeavesTheQueue() {
+        RagConcurrencyLimiter limiter = new RagConcurrencyLimiter(1, 5, 10_000);
+        Sinks.One<String> first = Sinks.one();
+        limiter.limit(first::asMono).subscribe();
+
+        Disposable waiting = limiter.limit(() -> Mono.just("waiting")).subscribe();
+        waiting.dispose();
+        first.tryEmitValue("first");
+
+        assertThat(limiter.getQueuedCount()).isZero();
+        assertThat(limiter.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void permitsAreNotLostWhenCancelsAndTimeoutsRaceWithGrants() throws InterruptedException {
+        int maxConcurrent = 2;
+        int calls = 2_000;
+        RagConcurrencyLimiter limiter = new RagConcurrencyLimiter(maxConcurrent, calls, 5);
+        CountDownLatch done = new CountDownLatch(calls);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        for (int i = 0; i < calls; i++) {
+            Disposable call = limiter.limit(() -> Mono.fromRunnable(() -> maxInFlight.accumulateAndGet(
+                                    inFlight.incrementAndGet(), Math::max))
+                            .then(Mono.delay(Duration.ofNanos(ThreadLocalRandom.current().nextLong(200_000))))
+                            // Before the signal reaches the limiter (doFinally would run after the release)
+                            .doOnTerminate(inFlight::decrementAndGet)
+                            .doOnCancel(inFlight::decrementAndGet))
+                    .doFinally(signal -> done.countDown())
+                    .subscribe(value -> { }, error -> { });
+            if (ThreadLocalRandom.current().nextInt(3) == 0) {
+                Mono.delay(Duration.ofNanos(ThreadLocalRandom.current().nextLong(500_000)))
+                        .subscribe(tick -> call.dispose());
+            }
+        }
+
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        // Releases run after the callers' finally hooks
+        Thread.sleep(100);
+        assertThat(limiter.getAvailablePermits()).isEqualTo(maxConcurrent);
+        assertThat(limiter.getQueuedCount()).isZero();
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(maxConcurrent);
+    }
+}
@@ -0,0 +1,194 @@
+package com.jobportal.service;
+
+import com.jobportal.service.BlobStore.BlobMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class S3BlobStoreTest {
+
+    private static final String ACCESS_KEY = "test-access-key";
+    private static final String SECRET_KEY = "test-secret-key";
+    private static final String BUCKET = "jobportal";
+    // The smallest part size S3 accepts
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private S3StandIn s3;
+    private S3BlobStore store;
+
+    @BeforeEach
+    void startStandIn() throws IOException {
+        s3 = new S3StandIn(ACCESS_KEY, SECRET_KEY, "us-east-1");
+        store = store(SECRET_KEY);
+    }
+
+    @AfterEach
+    void stopStandIn() {
+        s3.close();
+    }
+
+    @Test
+    void putStoresSmallFileWithSinglePut() throws IOException {
+        byte[] content = randomBytes(1000);
+        Path source = write("cv.pdf", content);
+
+        store.put("blobs/ab/cd/abcd.pdf", source, "application/pdf");
+
+        S3StandIn.StoredObject object = s3.object(BUCKET + "/blobs/ab/cd/abcd.pdf");
+        assertThat(object).isNotNull();
+        assertThat(object.content()).isEqualTo(content);
+        assertThat(object.contentType()).isEqualTo("application/pdf");
+        assertThat(object.cacheControl()).isEqualTo("private, max-age=60, immutable");
+        assertThat(s3.requests()).containsExactly("PUT /" + BUCKET + "/blobs/ab/cd/abcd.pdf");
+    }
+
+    @Test
+    void putStreamsLargeFileAsMultipartUpload() throws IOException {
+        byte[] content = randomBytes(2 * PART_SIZE + 123);
+        Path source = write("large.pdf", content);
+
+        store.put("blobs/large.pdf", source, "application/pdf");
+
+        assertThat(s3.object(BUCKET + "/blobs/large.pdf").content()).isEqualTo(content);
+        assertThat(s3.object(BUCKET + "/blobs/large.pdf").contentType()).isEqualTo("application/pdf");
+        List<String> requests = s3.requests();
+        assertThat(requests).hasSize(5);
+        assertThat(requests.get(0)).isEqualTo("POST /" + BUCKET + "/blobs/large.pdf?uploads=");
+        assertThat(requests.subList(1, 4)).allMatch(request -> request.startsWith("PUT ") && request.contains("partNumber="));
+        assertThat(requests.get(4)).startsWith("POST /" + BUCKET + "/blobs/large.pdf?uploadId=");
+        assertThat(s3.pendingUploads()).isZero();
+    }
+
+    @Test
+    void putAbortsMultipartUploadWhenAPartFails() throws IOException {
+        Path source = write("large.pdf", randomBytes(2 * PART_SIZE + 123));
+        s3.failPart(2);
+
+        assertThatThrownBy(() -> store.put("blobs/large.pdf", source, "application/pdf"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("upload part 2")
+                .hasMessageContaining("InternalError");
+
+        assertThat(s3.object(BUCKET + "/blobs/large.pdf")).isNull();
+        assertThat(s3.pendingUploads()).isZero();
+        assertThat(s3.requests()).last().asString().startsWith("DELETE /" + BUCKET + "/blobs/large.pdf?uploadId=");
+    }
+
+    @Test
+    void statReturnsMetadataOrEmptyWhenMissing() throws IOException {
+        Instant before = Instant.now().minusSeconds(1);
+        store.put("thumbs/a-48.png", randomBytes(321), "image/png");
+
+        Optional<BlobMetadata> metadata = store.stat("thumbs/a-48.png");
+
+        assertThat(metadata).isPresent();
+        assertThat(metadata.get().size()).isEqualTo(321);
+        assertThat(metadata.get().etag()).startsWith("\"");
+        assertThat(metadata.get().lastModified()).isAfter(before);
+        assertThat(store.stat("thumbs/missing-48.png")).isEmpty();
+    }
+
+    @Test
+    void openReadsObjectOrFailsWhenMissing() throws IOException {
+        byte[] content = randomBytes(4096);
+        store.put("blobs/a.jpg", content, "image/jpeg");
+
+        try (InputStream in = store.open("blobs/a.jpg")) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+        assertThatThrownBy(() -> store.open("blobs/missing.jpg")).isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void deleteRemovesObjectAndIgnoresMissingOnes() throws IOException {
+        store.put("blobs/a.jpg", randomBytes(10), "image/jpeg");
+
+        store.delete("blobs/a.jpg");
+        store.delete("blobs/a.jpg");
+
+        assertThat(s3.object(BUCKET + "/blobs/a.jpg")).isNull();
+        assertThat(store.stat("blobs/a.jpg")).isEmpty();
+    }
+
+    @Test
+    void keysAreEncodedAsSigned() throws IOException {
+        byte[] content = "legacy".getBytes(StandardCharsets.UTF_8);
+        String key = "cvs/user 1/CV (final)+v2 é.pdf";
+
+        store.put(key, content, "application/pdf");
+
+        assertThat(s3.object(BUCKET + "/" + key).content()).isEqualTo(content);
+        try (InputStream in = store.open(key)) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void presignedGetUrlDownloadsTheObjectWithoutCredentials() throws Exception {
+        byte[] content = randomBytes(70_000);
+        store.put("blobs/ab/cd/abcd.png", content, "image/png");
+
+        URI url = store.presignedGetUrl("blobs/ab/cd/abcd.png").orElseThrow();
+        HttpClient client = HttpClient.newHttpClient();
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(url).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo(content);
+        assertThat(response.headers().firstValue("Content-Type")).contains("image/png");
+        // Signed at the start of the TTL window, so repeated views reuse the browser's cached copy
+        assertThat(store.presignedGetUrl("blobs/ab/cd/abcd.png")).contains(url);
+
+        String tampered = url.toString().replace("blobs/ab/cd/abcd.png", "blobs/ab/cd/other.png");
+        assertThat(client.send(HttpRequest.newBuilder(URI.create(tampered)).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(403);
+    }
+
+    @Test
+    void requestsSignedWithAnotherSecretAreRejected() {
+        S3BlobStore wrongSecret = store("not-the-secret");
+
+        assertThatThrownBy(() -> wrongSecret.put("blobs/a.jpg", randomBytes(10), "image/jpeg"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("HTTP 403 SignatureDoesNotMatch");
+        assertThat(s3.object(BUCKET + "/blobs/a.jpg")).isNull();
+    }
+
+    private S3BlobStore store(String secretKey) {
+        return new S3BlobStore(s3.endpoint(), "", "us-east-1", BUCKET, ACCESS_KEY, secretKey,
+                PART_SIZE, 3600, Duration.ofSeconds(10).toMillis(), 60);
+    }
+
+    private Path write(String name, byte[] content) throws IOException {
+        return Files.write(tempDir.resolve(name), content);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,329 @@
+package com.jobportal.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * In-process stand-in for an S3-compatible store (MinIO) in tests: path-style object PUT, GET,
+ * HEAD, DELETE and multipart uploads, kept in memory.
+ *
+ * Every request's Signature Version 4 (Authorization header or pre-signed query) is recomputed
+ * from the request as received, and answered with 403 SignatureDoesNotMatch when it differs.
+ */
+class S3StandIn implements AutoCloseable {
+
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final Map<String, MultipartUpload> uploads = new ConcurrentHashMap<>();
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+    private volatile int failingPartNumber = -1;
+
+    S3StandIn(String accessKey, String secretKey, String region) throws IOException {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /** The object stored at a path ("bucket/key"), or null. */
+    StoredObject object(String path) {
+        return objects.get(path);
+    }
+
+    /** Requests received, as "METHOD /raw/path?raw-query". */
+    List<String> requests() {
+        return List.copyOf(requests);
+    }
+
+    /** Multipart uploads created and neither completed nor aborted. */
+    int pendingUploads() {
+        return uploads.size();
+    }
+
+    /** Answer uploads of this part number with 500. */
+    void failPart(int partNumber) {
+        this.failingPartNumber = partNumber;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String rawPath = exchange.getRequestURI().getRawPath();
+            String rawQuery = exchange.getRequestURI().getRawQuery();
+            requests.add(method + " " + rawPath + (rawQuery != null ? "?" + rawQuery : ""));
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            Map<String, String> query = parseQuery(rawQuery);
+
+            String signatureError = verifySignature(exchange, method, rawPath, query);
+            if (signatureError != null) {
+                error(exchange, 403, "SignatureDoesNotMatch", signatureError);
+                return;
+            }
+
+            String path = percentDecode(rawPath.substring(1));
+            if (method.equals("POST") && query.containsKey("uploads")) {
+                String uploadId = UUID.randomUUID().toString();
+                uploads.put(uploadId, new MultipartUpload(path, header(exchange, "content-type"),
+                        header(exchange, "cache-control"), new ConcurrentHashMap<>()));
+                respond(exchange, 200, Map.of(), ("<InitiateMultipartUploadResult><UploadId>" + uploadId
+                        + "</UploadId></InitiateMultipartUploadResult>").getBytes(StandardCharsets.UTF_8));
+            } else if (method.equals("PUT") && query.containsKey("uploadId")) {
+                MultipartUpload upload = uploads.get(query.get("uploadId"));
+                int partNumber = Integer.parseInt(query.get("partNumber"));
+                if (upload == null) {
+                    error(exchange, 404, "NoSuchUpload", query.get("uploadId"));
+                } else if (partNumber == failingPartNumber) {
+                    error(exchange, 500, "InternalError", "part " + partNumber);
+                } else {
+                    upload.parts().put(partNumber, body);
+                    respond(exchange, 200, Map.of("ETag", etag(body)), new byte[0]);
+                }
+            } else if (method.equals("POST") && query.containsKey("uploadId")) {
+                MultipartUpload upload = uploads.remove(query.get("uploadId"));
+                if (upload == null) {
+                    error(exchange, 404, "NoSuchUpload", query.get("uploadId"));
+                    return;
+                }
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                new TreeMap<>(upload.parts()).values().forEach(content::writeBytes);
+                String completeRequest = new String(body, StandardCharsets.UTF_8);
+                for (Map.Entry<Integer, byte[]> part : upload.parts().entrySet()) {
+                    String expected = "<PartNumber>" + part.getKey() + "</PartNumber><ETag>"
+                            + etag(part.getValue()).replace("\"", "&quot;") + "</ETag>";
+                    if (!completeRequest.contains(expected)) {
+                        error(exchange, 400, "InvalidPart", "part " + part.getKey());
+                        return;
+                    }
+                }
+                objects.put(upload.path(), new StoredObject(content.toByteArray(), upload.contentType(),
+                        upload.cacheControl(), "\"multipart-" + upload.parts().size() + "\"", Instant.now()));
+                respond(exchange, 200, Map.of(), "<CompleteMultipartUploadResult/>".getBytes(StandardCharsets.UTF_8));
+            } else if (method.equals("DELETE") && query.containsKey("uploadId")) {
+                uploads.remove(query.get("uploadId"));
+                respond(exchange, 204, Map.of(), null);
+            } else if (method.equals("PUT")) {
+                objects.put(path, new StoredObject(body, header(exchange, "content-type"),
+                        header(exchange, "cache-control"), etag(body), Instant.now()));
+                respond(exchange, 200, Map.of("ETag", etag(body)), new byte[0]);
+            } else if (method.equals("DELETE")) {
+                objects.remove(path);
+                respond(exchange, 204, Map.of(), null);
+            } else if (method.equals("GET") || method.equals("HEAD")) {
+                StoredObject object = objects.get(path);
+                if (object == null) {
+                    error(exchange, 404, "NoSuchKey", path);
+                    return;
+                }
+                Map<String, String> headers = new TreeMap<>();
+                headers.put("ETag", object.etag());
+                headers.put("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME
+                        .format(object.lastModified().atZone(ZoneOffset.UTC)));
+                if (object.contentType() != null) {
+                    headers.put("Content-Type", object.contentType());
+                }
+                if (object.cacheControl() != null) {
+                    headers.put("Cache-Control", object.cacheControl());
+                }
+                if (method.equals("HEAD")) {
+                    headers.put("Content-Length", String.valueOf(object.content().length));
+                    respond(exchange, 200, headers, null);
+                } else {
+                    respond(exchange, 200, headers, object.content());
+                }
+            } else {
+                error(exchange, 405, "MethodNotAllowed", method);
+            }
+        }
+    }
+
+    // Returns null if the request is correctly signed, else the canonical request that was expected
+    private String verifySignature(HttpExchange exchange, String method, String rawPath, Map<String, String> query) {
+        List<String> signedHeaders;
+        String amzDate;
+        String signature;
+        String payloadHash;
+        Map<String, String> signedQuery = new TreeMap<>(query);
+
+        if (query.containsKey("X-Amz-Signature")) {
+            signature = signedQuery.remove("X-Amz-Signature");
+            signedHeaders = List.of(query.get("X-Amz-SignedHeaders").split(";"));
+            amzDate = query.get("X-Amz-Date");
+            payloadHash = "UNSIGNED-PAYLOAD";
+            if (!query.get("X-Amz-Credential").startsWith(accessKey + "/")) {
+                return "unknown access key";
+            }
+            Instant signedAt = LocalDateTime.parse(amzDate, AMZ_DATE).toInstant(ZoneOffset.UTC);
+            if (Instant.now().isAfter(signedAt.plusSeconds(Long.parseLong(query.get("X-Amz-Expires"))))) {
+                return "expired";
+            }
+        } else {
+            String authorization = header(exchange, "authorization");
+            if (authorization == null || !authorization.startsWith("AWS4-HMAC-SHA256 ")) {
+                return "missing authorization";
+            }
+            Map<String, String> fields = new TreeMap<>();
+            for (String field : authorization.substring("AWS4-HMAC-SHA256 ".length()).split(",")) {
+                String[] pair = field.trim().split("=", 2);
+                fields.put(pair[0], pair[1]);
+            }
+            if (!fields.get("Credential").startsWith(accessKey + "/")) {
+                return "unknown access key";
+            }
+            signature = fields.get("Signature");
+            signedHeaders = List.of(fields.get("SignedHeaders").split(";"));
+            amzDate = header(exchange, "x-amz-date");
+            payloadHash = header(exchange, "x-amz-content-sha256");
+        }
+
+        String canonicalRequest = method + "\n" + rawPath + "\n"
+                + signedQuery.entrySet().stream()
+                        .map(parameter -> uriEncode(parameter.getKey()) + "=" + uriEncode(parameter.getValue()))
+                        .collect(Collectors.joining("&")) + "\n"
+                + signedHeaders.stream()
+                        .map(name -> name + ":" + String.valueOf(header(exchange, name)).trim() + "\n")
+                        .collect(Collectors.joining()) + "\n"
+                + String.join(";", signedHeaders) + "\n"
+                + payloadHash;
+        String date = amzDate.substring(0, 8);
+        String stringToSign = "AWS4-HMAC-SHA256\n" + amzDate + "\n" + date + "/" + region + "/s3/aws4_request\n"
+                + HexFormat.of().formatHex(sha256(canonicalRequest.getBytes(StandardCharsets.UTF_8)));
+        byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+        for (String part : List.of(region, "s3", "aws4_request")) {
+            key = hmac(key, part);
+        }
+        String expected = HexFormat.of().formatHex(hmac(key, stringToSign));
+        return expected.equals(signature) ? null : canonicalRequest;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new TreeMap<>();
+        if (rawQuery != null && !rawQuery.isEmpty()) {
+            for (String parameter : rawQuery.split("&")) {
+                String[] pair = parameter.split("=", 2);
+                query.put(percentDecode(pair[0]), pair.length > 1 ? percentDecode(pair[1]) : "");
+            }
+        }
+        return query;
+    }
+
+    private static String percentDecode(String value) {
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%') {
+                decoded.write(Integer.parseInt(value.substring(i + 1, i + 3), 16));
+                i += 2;
+            } else {
+                decoded.write(c);
+            }
+        }
+        return decoded.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String uriEncode(String value) {
+        StringBuilder encoded = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            if (Character.isLetterOrDigit(b) || "-_.~".indexOf(b) >= 0) {
+                encoded.append((char) b);
+            } else {
+                encoded.append(String.format("%%%02X", b & 0xff));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static String header(HttpExchange exchange, String name) {
+        return exchange.getRequestHeaders().getFirst(name);
+    }
+
+    private static void error(HttpExchange exchange, int status, String code, String message) throws IOException {
+        respond(exchange, status, Map.of("Content-Type", "application/xml"),
+                ("<Error><Code>" + code + "</Code><Message>" + message + "</Message></Error>")
+                        .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int status, Map<String, String> headers, byte[] body)
+            throws IOException {
+        headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+        boolean noBody = body == null || exchange.getRequestMethod().equals("HEAD");
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+        if (!noBody && body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static String etag(byte[] content) {
+        return "\"" + HexFormat.of().formatHex(sha256(content)).substring(0, 32) + "\"";
+    }
+
+    private static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String value) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record StoredObject(byte[] content, String contentType, String cacheControl, String etag, Instant lastModified) {
+    }
+
+    private record MultipartUpload(String path, String contentType, String cacheControl, Map<Integer, byte[]> parts) {
+    }
+}
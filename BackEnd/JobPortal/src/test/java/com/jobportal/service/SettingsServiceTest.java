@@ -0,0 +1,73 @@
+package com.jobportal.service;
+
+import com.jobportal.repository.SystemSettingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Changes committed outside this node (plain SQL here) reach the in-memory snapshot through
+ * the background version check. Not transactional: the check must see committed rows.
+ */
+@SpringBootTest
+class SettingsServiceTest {
+
+    private static final String KEY = "max_login_attempts";
+
+    @Autowired
+    private SettingsService settingsService;
+
+    @Autowired
+    private SystemSettingRepository systemSettingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Map<String, Object> original;
+
+    @BeforeEach
+    void rememberSetting() {
+        settingsService.initializeDefaultSettings();
+        original = jdbcTemplate.queryForMap(
+                "SELECT setting_value, description, updated_at FROM system_settings WHERE setting_key = ?", KEY);
+        settingsService.refreshIfChanged();
+    }
+
+    @AfterEach
+    void restoreSetting() {
+        jdbcTemplate.update("UPDATE system_settings SET setting_value = ?, description = ?, updated_at = ? " +
+                "WHERE setting_key = ?", original.get("setting_value"), original.get("description"),
+                original.get("updated_at"), KEY);
+        settingsService.refreshIfChanged();
+    }
+
+    @Test
+    void picksUpValueChangedWithoutMovingCountOrLatestUpdate() {
+        int before = settingsService.getIntSetting(KEY, -1);
+        // Same row count, and updated_at kept as it was, so MAX(updated_at) does not move either
+        jdbcTemplate.update("UPDATE system_settings SET setting_value = ?, updated_at = ? WHERE setting_key = ?",
+                String.valueOf(before + 1), (Timestamp) original.get("updated_at"), KEY);
+
+        settingsService.refreshIfChanged();
+
+        assertThat(settingsService.getIntSetting(KEY, -1)).isEqualTo(before + 1);
+    }
+
+    @Test
+    void versionMovesWhenAColumnBecomesNull() {
+        jdbcTemplate.update("UPDATE system_settings SET description = '' WHERE setting_key = ?", KEY);
+        String empty = systemSettingRepository.findVersion();
+
+        jdbcTemplate.update("UPDATE system_settings SET description = NULL WHERE setting_key = ?", KEY);
+
+        assertThat(systemSettingRepository.findVersion()).isNotEqualTo(empty);
+    }
+}
@@ -0,0 +1,135 @@
+package com.jobportal.service;
+
+import com.jobportal.repository.MessageRepository;
+import com.jobportal.repository.UnreadCounterRepository;
+import com.jobportal.support.JdbcFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The reconciler against a send or mark-as-read that is still in flight. Not transactional: the two
+ * sides run in their own transactions on separate connections.
+ */
+@SpringBootTest
+class UnreadCounterReconcilerTest {
+
+    @Autowired
+    private UnreadCounterReconciler reconciler;
+
+    @Autowired
+    private UnreadCounterRepository unreadCounterRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID seekerId;
+    private UUID employerId;
+    private UUID conversationId;
+
+    @BeforeEach
+    void createConversation() {
+        JdbcFixtures fixtures = new JdbcFixtures(jdbcTemplate);
+        seekerId = fixtures.insertUser("JOB_SEEKER");
+        employerId = fixtures.insertUser("EMPLOYER");
+        conversationId = jdbcTemplate.queryForObject(
+                "INSERT INTO conversations (participant_1, participant_2) VALUES (?, ?) RETURNING id",
+                UUID.class, seekerId, employerId);
+    }
+
+    @AfterEach
+    void removeUsers() {
+        // Cascades to the conversation, its messages and counters
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", seekerId, employerId);
+    }
+
+    @Test
+    void repairDoesNotUndoAResetCommittedWhileItRuns() throws Exception {
+        insertMessage("A");
+        insertMessage("B");
+        // Drifted: two unread messages, counter says five
+        insertCounter(5);
+
+        reconcileWhileInFlight(() -> {
+            messageRepository.markAsRead(conversationId, seekerId);
+            unreadCounterRepository.reset(seekerId, conversationId);
+        });
+
+        assertThat(unreadCounterRepository.findCount(seekerId, conversationId)).isZero();
+    }
+
+    @Test
+    void repairDoesNotLoseAnIncrementCommittedWhileItRuns() throws Exception {
+        // Drifted: no unread messages, counter says five
+        insertCounter(5);
+
+        reconcileWhileInFlight(() -> {
+            insertMessage("New");
+            unreadCounterRepository.increment(seekerId, conversationId);
+        });
+
+        assertThat(unreadCounterRepository.findCount(seekerId, conversationId)).isEqualTo(1);
+    }
+
+    // Runs the write in a transaction that commits only once the reconciler is waiting on its locks
+    private void reconcileWhileInFlight(Runnable write) throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            write.run();
+            written.countDown();
+            await(commit);
+        }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> repair = CompletableFuture.supplyAsync(reconciler::reconcile);
+        awaitBlockedOnLock();
+        commit.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+        repair.get(10, TimeUnit.SECONDS);
+    }
+
+    // The reconciler is waiting on rows held by the in-flight write
+    private void awaitBlockedOnLock() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_locks WHERE NOT granted", Integer.class) == 0) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void insertCounter(int count) {
+        jdbcTemplate.update("INSERT INTO unread_counters (user_id, conversation_id, unread_count) VALUES (?, ?, ?)",
+                seekerId, conversationId, count);
+    }
+
+    private void insertMessage(String content) {
+        jdbcTemplate.update("INSERT INTO messages (conversation_id, sender_id, content) VALUES (?, ?, ?)",
+                conversationId, employerId, content);
+    }
+}
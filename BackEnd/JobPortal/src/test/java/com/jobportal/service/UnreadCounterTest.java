@@ -0,0 +1,126 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.message.SendMessageRequest;
+import com.jobportal.entity.Conversation;
+import com.jobportal.entity.Message;
+import com.jobportal.entity.User;
+import com.jobportal.entity.UserRole;
+import com.jobportal.repository.UnreadCounterRepository;
+import com.jobportal.security.UserPrincipal;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The per-conversation unread counters (V5) follow the messages: sending increments the recipient's
+ * counter, reading resets it, and the reconciler repairs counters that drifted from the messages.
+ */
+@SpringBootTest
+@Transactional
+class UnreadCounterTest {
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private UnreadCounterReconciler reconciler;
+
+    @Autowired
+    private UnreadCounterRepository unreadCounterRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User seeker;
+    private User employer;
+    private Conversation conversation;
+
+    @BeforeEach
+    void createConversation() {
+        seeker = persistUser(UserRole.JOB_SEEKER);
+        employer = persistUser(UserRole.EMPLOYER);
+        conversation = Conversation.builder()
+                .participant1(seeker)
+                .participant2(employer)
+                .build();
+        entityManager.persist(conversation);
+        entityManager.flush();
+    }
+
+    @AfterEach
+    void clearPrincipal() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sendingIncrementsOnlyTheRecipientsCounter() {
+        signIn(employer);
+        messageService.sendMessage(conversation.getId(), new SendMessageRequest("First"));
+        messageService.sendMessage(conversation.getId(), new SendMessageRequest("Second"));
+
+        assertThat(unreadCounterRepository.findCount(seeker.getId(), conversation.getId())).isEqualTo(2);
+        assertThat(unreadCounterRepository.findCount(employer.getId(), conversation.getId())).isZero();
+        assertThat(unreadCounterRepository.sumByUserId(seeker.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void readingResetsTheReadersCounter() {
+        signIn(employer);
+        messageService.sendMessage(conversation.getId(), new SendMessageRequest("Hello"));
+        signIn(seeker);
+        messageService.sendMessage(conversation.getId(), new SendMessageRequest("Hi"));
+
+        messageService.markConversationAsRead(conversation.getId());
+
+        assertThat(unreadCounterRepository.findCount(seeker.getId(), conversation.getId())).isZero();
+        // The other side's unread message is untouched
+        assertThat(unreadCounterRepository.findCount(employer.getId(), conversation.getId())).isEqualTo(1);
+        assertThat(messageService.getTotalUnreadCount()).isZero();
+    }
+
+    @Test
+    void reconcilerRepairsCountersThatDriftedFromTheMessages() {
+        // Messages written without going through the service, and a counter left behind by a lost reset
+        entityManager.persist(Message.builder().conversation(conversation).sender(employer).content("A").build());
+        entityManager.persist(Message.builder().conversation(conversation).sender(employer).content("B").build());
+        entityManager.flush();
+        jdbcTemplate.update("INSERT INTO unread_counters (user_id, conversation_id, unread_count) VALUES (?, ?, 5)",
+                employer.getId(), conversation.getId());
+
+        int corrected = reconciler.reconcile();
+
+        assertThat(corrected).isGreaterThanOrEqualTo(2);
+        assertThat(unreadCounterRepository.findCount(seeker.getId(), conversation.getId())).isEqualTo(2);
+        assertThat(unreadCounterRepository.findCount(employer.getId(), conversation.getId())).isZero();
+    }
+
+    private User persistUser(UserRole role) {
+        User user = User.builder()
+                .email(role.name().toLowerCase() + "-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("x")
+                .role(role)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private static void signIn(User user) {
+        UserPrincipal principal = UserPrincipal.fromClaims(user.getId(), user.getEmail(), user.getRole(), true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.jobportal.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+/**
+ * Minimal rows inserted with plain SQL, for tests that exercise triggers and cascades
+ * below the entities. Rows join the caller's transaction, if any.
+ */
+public class JdbcFixtures {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcFixtures(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * User with a unique email; {@code role} as stored, e.g. "EMPLOYER" or "JOB_SEEKER".
+     */
+    public UUID insertUser(String role) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, password_hash, role) VALUES (?, 'x', ?) RETURNING id",
+                UUID.class, role.toLowerCase() + "-" + UUID.randomUUID() + "@example.com", role);
+    }
+
+    /**
+     * Full-time Engineering job; {@code status} as stored, e.g. "active" or "draft".
+     */
+    public UUID insertJob(UUID employerId, String status) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO jobs (employer_id, title, description, location, type, category, status) " +
+                        "VALUES (?, 'Job', 'Description', 'Remote', 'full-time', 'Engineering', ?) RETURNING id",
+                UUID.class, employerId, status);
+    }
+
+    public UUID insertApplication(UUID jobId, UUID applicantId, String cvUrl) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO applications (job_id, applicant_id, cv_url) VALUES (?, ?, ?) RETURNING id",
+                UUID.class, jobId, applicantId, cvUrl);
+    }
+}
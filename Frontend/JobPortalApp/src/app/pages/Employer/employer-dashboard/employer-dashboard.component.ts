@@ -100,7 +100,7 @@ export class EmployerDashboardComponent implements OnInit {
         console.log('Profile data:', profile);
         console.log('Avatar from profile:', profile.avatar);
 
-        const avatarUrl = this.profileService.getFileUrl(profile.avatar);
+        const avatarUrl = this.profileService.getImageUrl(profile.avatar, profile.avatarVariants);
         console.log('Constructed avatar URL:', avatarUrl);
 
         this.user.set({
@@ -198,7 +198,7 @@ export class EmployerDashboardComponent implements OnInit {
           }
 
           // Get proper avatar URL using profileService
-          const avatarUrl = this.profileService.getFileUrl(app.applicant?.avatar);
+          const avatarUrl = this.profileService.getImageUrl(app.applicant?.avatar, app.applicant?.avatarVariants);
 
           return {
             id: app.id,
@@ -217,7 +217,7 @@ export class JobApplicationsComponent implements OnInit {
         const profile = data.profile || {};
         const userInfo = data.user || {};
 
-        const avatarUrl = this.profileService.getFileUrl(profile.avatar);
+        const avatarUrl = this.profileService.getImageUrl(profile.avatar, profile.avatarVariants);
 
         this.user.set({
           name: profile.fullName || profile.companyName || userInfo.email || 'User',
@@ -273,7 +273,7 @@ export class JobApplicationsComponent implements OnInit {
         const mappedApplicants = applications.map((app: any) => {
           console.log('Mapping applicant:', app);
           // Get proper avatar URL
-          const avatarUrl = this.profileService.getFileUrl(app.applicant?.avatar);
+          const avatarUrl = this.profileService.getImageUrl(app.applicant?.avatar, app.applicant?.avatarVariants);
           // Get proper CV URL
           const cvUrl = app.cvUrl ? this.profileService.getViewUrl(app.cvUrl) : null;
 
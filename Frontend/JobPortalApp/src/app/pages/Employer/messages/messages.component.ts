@@ -115,7 +115,7 @@ export class MessagesComponent implements OnInit {
         const profile = data.profile || {};
         const userInfo = data.user || {};
         
-        const avatarUrl = this.profileService.getFileUrl(profile.avatar);
+        const avatarUrl = this.profileService.getImageUrl(profile.avatar, profile.avatarVariants);
         
         this.user.set({
           name: profile.fullName || profile.companyName || userInfo.email || 'User',
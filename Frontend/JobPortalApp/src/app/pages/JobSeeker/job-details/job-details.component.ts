@@ -186,7 +186,7 @@ export class JobDetailsComponent implements OnInit, AfterViewInit {
         const profile = data.profile || {};
         const userInfo = data.user || {};
 
-        const avatarUrl = this.profileService.getFileUrl(profile.avatar);
+        const avatarUrl = this.profileService.getImageUrl(profile.avatar, profile.avatarVariants);
         const fullName = profile.fullName || userInfo.email || 'User';
 
         this.user.set({
@@ -240,7 +240,7 @@ export class JobDetailsComponent implements OnInit, AfterViewInit {
           benefits: jobData.benefits || [],
           experienceLevel: jobData.experienceLevel || 'Not specified',
           logoColor: 'bg-blue-600',
-          companyLogo: this.profileService.getFileUrl(jobData.company?.logo) || null,
+          companyLogo: this.profileService.getImageUrl(jobData.company?.logo, jobData.company?.logoVariants) || null,
           companyDescription: jobData.company?.description || null,
           companySize: jobData.company?.size || null,
           companyIndustry: jobData.company?.industry || null,
@@ -117,7 +117,7 @@ export class JobSeekerDashboardComponent implements AfterViewInit, OnInit {
         const profile = data.profile || {};
         const userInfo = data.user || {};
 
-        const avatarUrl = this.profileService.getFileUrl(profile.avatar);
+        const avatarUrl = this.profileService.getImageUrl(profile.avatar, profile.avatarVariants);
         const fullName = profile.fullName || userInfo.email || 'User';
 
         this.user.set({
@@ -203,7 +203,8 @@ export class JobSeekerDashboardComponent implements AfterViewInit, OnInit {
           }
 
           const jobId = apiJob.id?.toString() || '';
-          const hasApplied = appliedIds.has(jobId);
+          // The list carries per-user flags for a signed-in job seeker
+          const hasApplied = apiJob.hasApplied ?? appliedIds.has(jobId);
           const applicationStatusMap = this.applicationStatusMap();
           const appStatus = applicationStatusMap.get(jobId);
 
@@ -217,7 +218,7 @@ export class JobSeekerDashboardComponent implements AfterViewInit, OnInit {
             id: jobId,
             title: apiJob.title || 'Untitled',
             company: apiJob.company?.name || 'Unknown Company',
-            companyLogo: apiJob.company?.logo || null,
+            companyLogo: this.profileService.getImageUrl(apiJob.company?.logo, apiJob.company?.logoVariants, 'small'),
             logoColor: 'bg-blue-600',
             location: apiJob.location || 'Remote',
             type: this.formatJobType(apiJob.type || 'full_time'),
@@ -225,7 +226,7 @@ export class JobSeekerDashboardComponent implements AfterViewInit, OnInit {
             postedDate: apiJob.postedAt ? new Date(apiJob.postedAt).toLocaleDateString() : 'Recently',
             salary: salaryDisplay,
             status: displayStatus,
-            bookmarked: savedIds.has(jobId)
+            bookmarked: apiJob.isSaved ?? savedIds.has(jobId)
           } as Job;
         });
 
@@ -123,7 +123,7 @@ export class JobSeekerMessagesComponent implements AfterViewInit, OnInit {
         const profile = data.profile || {};
         const userInfo = data.user || {};
 
-        const avatarUrl = this.profileService.getFileUrl(profile.avatar);
+        const avatarUrl = this.profileService.getImageUrl(profile.avatar, profile.avatarVariants);
         const fullName = profile.fullName || userInfo.email || 'User';
 
         this.user.set({
@@ -110,7 +110,7 @@ export class SavedJobsComponent implements AfterViewInit, OnInit {
         const profile = data.profile || {};
         const userInfo = data.user || {};
         
-        const avatarUrl = this.profileService.getFileUrl(profile.avatar);
+        const avatarUrl = this.profileService.getImageUrl(profile.avatar, profile.avatarVariants);
         const fullName = profile.fullName || userInfo.email || 'User';
         
         this.user.set({
@@ -150,7 +150,7 @@ export class SavedJobsComponent implements AfterViewInit, OnInit {
             id: job.id,
             title: job.title || 'Untitled',
             company: job.company?.name || 'Unknown Company',
-            companyLogo: job.company?.logo || null,
+            companyLogo: this.profileService.getImageUrl(job.company?.logo, job.company?.logoVariants, 'small'),
             logoColor: 'bg-blue-500',
             location: job.location || 'Remote',
             type: this.formatJobType(job.type || 'full_time'),
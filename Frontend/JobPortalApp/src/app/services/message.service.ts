@@ -2,6 +2,7 @@ import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '../../environments/environment';
+import { ImageVariants } from './profile.service';
 
 export interface StartConversationRequest {
   recipientId: string;
@@ -27,6 +28,7 @@ export interface ConversationDto {
     id: string;
     name: string;
     avatar?: string;
+    avatarVariants?: ImageVariants;
   };
   job?: {
     id: string;
@@ -24,6 +24,13 @@ export interface UpdateJobSeekerProfileRequest {
   experience?: string;
 }
 
+/** Thumbnail URLs of an uploaded image (48, 128 and 256 px) */
+export interface ImageVariants {
+  small: string;
+  medium: string;
+  large: string;
+}
+
 export interface ChangePasswordRequest {
   currentPassword: string;
   newPassword: string;
@@ -49,6 +56,16 @@ export class ProfileService {
     return `${this.baseUrl}${path}`;
   }
 
+  /**
+   * Get URL of an image thumbnail (avatar, logo) when the API provides size variants,
+   * falling back to the full image
+   */
+  getImageUrl(path: string | null | undefined, variants?: ImageVariants | null,
+    size: keyof ImageVariants = 'medium'): string | null {
+    const variant = variants?.[size];
+    return variant ? `${this.baseUrl}${variant}` : this.getFileUrl(path);
+  }
+
   /**
    * Get URL to view a file in browser (for PDFs)
    */